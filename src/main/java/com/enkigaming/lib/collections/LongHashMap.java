@@ -0,0 +1,253 @@
+package com.enkigaming.lib.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * Map from primitive longs to objects, held in parallel open-addressed arrays rather than as entry objects with boxed
+ * keys, so that very large maps take a fraction of the memory a HashMap<Long, V> would.
+ * 
+ * Not thread-safe. Doesn't allow null values, so that get can return null for absent keys.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <V> The type of the values held.
+ */
+public class LongHashMap<V>
+{
+    public LongHashMap()
+    { this(LongHashSet.defaultExpectedSize); }
+    
+    /**
+     * Constructor.
+     * @param expectedSize The number of entries the map should be able to hold without needing to grow.
+     */
+    public LongHashMap(int expectedSize)
+    {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("The expected size can't be negative. (was " + expectedSize + ")");
+        
+        int capacity = LongHashSet.capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+    
+    // 0 marks empty slots, so the value for 0 is held separately.
+    long[] keys;
+    Object[] values;
+    int mask;
+    V zeroValue = null;
+    int size = 0;
+    
+    /**
+     * Gets the value associated with the passed key.
+     * @param key The key to get the value of.
+     * @return The value associated with the key, or null if there isn't one.
+     */
+    public V get(long key)
+    {
+        if(key == 0)
+            return zeroValue;
+        
+        return (V)values[LongHashSet.findSlot(keys, mask, key)];
+    }
+    
+    public boolean containsKey(long key)
+    { return get(key) != null; }
+    
+    /**
+     * Associates a value with the passed key, replacing any value it was previously associated with.
+     * @param key The key to associate the value with.
+     * @param value The value to associate with the key. Mustn't be null.
+     * @return The value that was previously associated with the key, or null if there wasn't one.
+     */
+    public V put(long key, V value)
+    {
+        if(value == null)
+            throw new IllegalArgumentException("LongHashMap doesn't accept null values.");
+        
+        if(key == 0)
+        {
+            V previous = zeroValue;
+            zeroValue = value;
+            
+            if(previous == null)
+                size++;
+            
+            return previous;
+        }
+        
+        int slot = LongHashSet.findSlot(keys, mask, key);
+        V previous = (V)values[slot];
+        keys[slot] = key;
+        values[slot] = value;
+        
+        if(previous == null && ++size > keys.length * LongHashSet.loadFactor)
+            grow();
+        
+        return previous;
+    }
+    
+    /**
+     * Removes the value associated with the passed key.
+     * @param key The key to remove the value of.
+     * @return The value that was associated with the key, or null if there wasn't one.
+     */
+    public V remove(long key)
+    {
+        if(key == 0)
+        {
+            V previous = zeroValue;
+            zeroValue = null;
+            
+            if(previous != null)
+                size--;
+            
+            return previous;
+        }
+        
+        int slot = LongHashSet.findSlot(keys, mask, key);
+        V previous = (V)values[slot];
+        
+        if(previous != null)
+        {
+            removeAt(slot);
+            size--;
+        }
+        
+        return previous;
+    }
+    
+    public int size()
+    { return size; }
+    
+    public boolean isEmpty()
+    { return size == 0; }
+    
+    public void clear()
+    {
+        for(int i = 0; i < keys.length; i++)
+        {
+            keys[i] = 0;
+            values[i] = null;
+        }
+        
+        zeroValue = null;
+        size = 0;
+    }
+    
+    /**
+     * Gets the keys in the map.
+     * @return A new set containing each key in the map.
+     */
+    public LongHashSet keySet()
+    {
+        LongHashSet result = new LongHashSet(size);
+        
+        for(LongIterator i = keyIterator(); i.hasNext();)
+            result.add(i.next());
+        
+        return result;
+    }
+    
+    /**
+     * Gets the values in the map, in no particular order.
+     * @return A new collection containing each value in the map.
+     */
+    public Collection<V> values()
+    {
+        Collection<V> result = new ArrayList<V>(size);
+        
+        if(zeroValue != null)
+            result.add(zeroValue);
+        
+        for(Object i : values)
+            if(i != null)
+                result.add((V)i);
+        
+        return result;
+    }
+    
+    /**
+     * Gets an iterator over the keys in the map, in no particular order. The map mustn't be changed while it's being
+     * iterated over.
+     * @return An iterator over the map's keys.
+     */
+    public LongIterator keyIterator()
+    {
+        return new LongIterator()
+        {
+            boolean zeroProduced = zeroValue == null;
+            int nextSlot = nextOccupiedSlot(0);
+            
+            @Override
+            public boolean hasNext()
+            { return !zeroProduced || nextSlot < keys.length; }
+            
+            @Override
+            public long next()
+            {
+                if(!zeroProduced)
+                {
+                    zeroProduced = true;
+                    return 0;
+                }
+                
+                if(nextSlot >= keys.length)
+                    throw new NoSuchElementException();
+                
+                long result = keys[nextSlot];
+                nextSlot = nextOccupiedSlot(nextSlot + 1);
+                return result;
+            }
+        };
+    }
+    
+    int nextOccupiedSlot(int from)
+    {
+        while(from < values.length && values[from] == null)
+            from++;
+        
+        return from;
+    }
+    
+    void grow()
+    {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new Object[oldKeys.length << 1];
+        mask = keys.length - 1;
+        
+        for(int i = 0; i < oldKeys.length; i++)
+        {
+            if(oldValues[i] != null)
+            {
+                int slot = LongHashSet.findSlot(keys, mask, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    void removeAt(int slot)
+    {
+        // As in LongHashSet.removeAt.
+        int gap = slot;
+        
+        for(int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask)
+        {
+            int ideal = LongHashSet.hash(keys[i]) & mask;
+            
+            if(((i - ideal) & mask) >= ((i - gap) & mask))
+            {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+}
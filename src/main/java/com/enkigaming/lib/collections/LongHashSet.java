@@ -0,0 +1,299 @@
+package com.enkigaming.lib.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Set of primitive longs, held in a single open-addressed array rather than as boxed values in entry objects, so that
+ * very large sets take a fraction of the memory a HashSet<Long> would.
+ * 
+ * Not thread-safe.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class LongHashSet
+{
+    public LongHashSet()
+    { this(defaultExpectedSize); }
+    
+    /**
+     * Constructor.
+     * @param expectedSize The number of values the set should be able to hold without needing to grow.
+     */
+    public LongHashSet(int expectedSize)
+    {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("The expected size can't be negative. (was " + expectedSize + ")");
+        
+        keys = new long[capacityFor(expectedSize)];
+        mask = keys.length - 1;
+    }
+    
+    public LongHashSet(long... values)
+    {
+        this(values.length);
+        
+        for(long i : values)
+            add(i);
+    }
+    
+    static final int defaultExpectedSize = 16;
+    static final float loadFactor = 0.75f;
+    
+    // 0 marks empty slots, so whether 0 is in the set is held separately.
+    long[] keys;
+    int mask;
+    boolean containsZero = false;
+    int size = 0;
+    
+    /**
+     * Adds a value to the set.
+     * @param value The value to add.
+     * @return True if the value wasn't already in the set. Otherwise, false.
+     */
+    public boolean add(long value)
+    {
+        if(value == 0)
+        {
+            if(containsZero)
+                return false;
+            
+            containsZero = true;
+            size++;
+            return true;
+        }
+        
+        int slot = findSlot(keys, mask, value);
+        
+        if(keys[slot] == value)
+            return false;
+        
+        keys[slot] = value;
+        
+        if(++size > keys.length * loadFactor)
+            grow();
+        
+        return true;
+    }
+    
+    /**
+     * Adds all of the values in another set to this one.
+     * @param values The set of values to add.
+     * @return True if any values weren't already in this set. Otherwise, false.
+     */
+    public boolean addAll(LongHashSet values)
+    {
+        boolean changed = false;
+        
+        for(LongIterator i = values.iterator(); i.hasNext();)
+            changed |= add(i.next());
+        
+        return changed;
+    }
+    
+    /**
+     * Removes a value from the set.
+     * @param value The value to remove.
+     * @return True if the value was in the set. Otherwise, false.
+     */
+    public boolean remove(long value)
+    {
+        if(value == 0)
+        {
+            if(!containsZero)
+                return false;
+            
+            containsZero = false;
+            size--;
+            return true;
+        }
+        
+        int slot = findSlot(keys, mask, value);
+        
+        if(keys[slot] != value)
+            return false;
+        
+        removeAt(slot);
+        size--;
+        return true;
+    }
+    
+    public boolean contains(long value)
+    {
+        if(value == 0)
+            return containsZero;
+        
+        return keys[findSlot(keys, mask, value)] == value;
+    }
+    
+    public int size()
+    { return size; }
+    
+    public boolean isEmpty()
+    { return size == 0; }
+    
+    public void clear()
+    {
+        for(int i = 0; i < keys.length; i++)
+            keys[i] = 0;
+        
+        containsZero = false;
+        size = 0;
+    }
+    
+    /**
+     * Gets the values in the set, in no particular order.
+     * @return A new array containing each value in the set.
+     */
+    public long[] toArray()
+    {
+        long[] result = new long[size];
+        int position = 0;
+        
+        for(LongIterator i = iterator(); i.hasNext();)
+            result[position++] = i.next();
+        
+        return result;
+    }
+    
+    /**
+     * Gets an iterator over the values in the set, in no particular order. The set mustn't be changed while it's being
+     * iterated over.
+     * @return An iterator over the set's values.
+     */
+    public LongIterator iterator()
+    {
+        return new LongIterator()
+        {
+            boolean zeroProduced = !containsZero;
+            int nextSlot = nextOccupiedSlot(keys, 0);
+            
+            @Override
+            public boolean hasNext()
+            { return !zeroProduced || nextSlot < keys.length; }
+            
+            @Override
+            public long next()
+            {
+                if(!zeroProduced)
+                {
+                    zeroProduced = true;
+                    return 0;
+                }
+                
+                if(nextSlot >= keys.length)
+                    throw new NoSuchElementException();
+                
+                long result = keys[nextSlot];
+                nextSlot = nextOccupiedSlot(keys, nextSlot + 1);
+                return result;
+            }
+        };
+    }
+    
+    void grow()
+    {
+        long[] oldKeys = keys;
+        keys = new long[oldKeys.length << 1];
+        mask = keys.length - 1;
+        
+        for(long i : oldKeys)
+            if(i != 0)
+                keys[findSlot(keys, mask, i)] = i;
+    }
+    
+    void removeAt(int slot)
+    {
+        // Shifts back entries after the removed one that would otherwise become unreachable, rather than leaving
+        // tombstones behind.
+        int gap = slot;
+        
+        for(int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask)
+        {
+            int ideal = hash(keys[i]) & mask;
+            
+            if(((i - ideal) & mask) >= ((i - gap) & mask))
+            {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        
+        keys[gap] = 0;
+    }
+    
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(!(obj instanceof LongHashSet))
+            return false;
+        
+        LongHashSet other = (LongHashSet)obj;
+        
+        if(other.size != size)
+            return false;
+        
+        for(LongIterator i = iterator(); i.hasNext();)
+            if(!other.contains(i.next()))
+                return false;
+        
+        return true;
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        int hash = 0;
+        
+        for(LongIterator i = iterator(); i.hasNext();)
+        {
+            long value = i.next();
+            hash += (int)(value ^ (value >>> 32));
+        }
+        
+        return hash;
+    }
+    
+    /**
+     * Gets the slot the passed non-zero key is in, or the empty slot it would be put in if it's not present.
+     */
+    static int findSlot(long[] keys, int mask, long key)
+    {
+        int slot = hash(key) & mask;
+        
+        while(keys[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        
+        return slot;
+    }
+    
+    static int nextOccupiedSlot(long[] keys, int from)
+    {
+        while(from < keys.length && keys[from] == 0)
+            from++;
+        
+        return from;
+    }
+    
+    static int capacityFor(int expectedSize)
+    {
+        int capacity = 4;
+        
+        while(capacity * loadFactor < expectedSize)
+            capacity <<= 1;
+        
+        return capacity;
+    }
+    
+    /**
+     * Spreads the bits of a key, as packed co-ordinates and other structured longs tend to differ only in a few bits.
+     * (MurmurHash3's 64-bit finaliser)
+     */
+    static int hash(long key)
+    {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int)key;
+    }
+}
@@ -0,0 +1,21 @@
+package com.enkigaming.lib.collections;
+
+/**
+ * Iterator over primitive longs, to avoid boxing each value as it's produced.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public interface LongIterator
+{
+    /**
+     * Gets whether there are any more values to produce.
+     * @return True if next() may be called again. Otherwise, false.
+     */
+    boolean hasNext();
+    
+    /**
+     * Produces the next value.
+     * @return The next value.
+     * @throws java.util.NoSuchElementException If there are no more values to produce.
+     */
+    long next();
+}
@@ -0,0 +1,123 @@
+package com.enkigaming.lib.collections;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded first-in-first-out queue that any number of threads may add to, but only one thread may take from, without
+ * either taking any locks.
+ *
+ * Each slot of the ring holds a sequence number alongside its element. A producer claims a position by advancing the
+ * tail with a compare-and-set, writes its element into the position's slot, and then publishes it by setting the slot's
+ * sequence number to one past the position. The consumer only takes an element once it's been published, and hands the
+ * slot back to producers by advancing its sequence number by the capacity of the ring.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <E> The type of the elements held.
+ */
+public class MpscRingBuffer<E>
+{
+    /**
+     * Constructor.
+     * @param capacity The minimum number of elements the buffer should be able to hold. Rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity)
+    {
+        if(capacity < 1 || capacity > maxCapacity)
+            throw new IllegalArgumentException("The capacity must be between 1 and " + maxCapacity + ". (was "
+                                               + capacity + ")");
+        
+        int size = Integer.highestOneBit(capacity);
+        
+        if(size < capacity)
+            size <<= 1;
+        
+        mask = size - 1;
+        elements = new AtomicReferenceArray<E>(size);
+        sequences = new AtomicLongArray(size);
+        
+        for(int i = 0; i < size; i++)
+            sequences.set(i, i);
+    }
+    
+    static final int maxCapacity = 1 << 30;
+    
+    final int mask;
+    final AtomicReferenceArray<E> elements;
+    final AtomicLongArray sequences;
+    
+    // The next position to be claimed by a producer.
+    final AtomicLong tail = new AtomicLong();
+    
+    // The next position to be taken by the consumer. Only written by the consumer, volatile for size().
+    volatile long head = 0;
+    
+    /**
+     * Adds an element to the end of the buffer, if there's room. May be called from any thread.
+     * @param element The element to add.
+     * @return True if the element was added, or false if the buffer was full.
+     */
+    public boolean offer(E element)
+    {
+        if(element == null)
+            throw new NullArgumentException("element");
+        
+        long position = tail.get();
+        
+        for(;;)
+        {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - position;
+            
+            if(difference == 0)
+            {
+                if(tail.compareAndSet(position, position + 1))
+                {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+            // The slot still holds an element from the last time round the ring.
+            else if(difference < 0)
+                return false;
+            
+            position = tail.get();
+        }
+    }
+    
+    /**
+     * Takes the element at the front of the buffer. Must only be called from one thread at a time.
+     * @return The element at the front of the buffer, or null if it's empty, or the element at the front has been
+     * claimed by a producer that hasn't finished adding it yet.
+     */
+    public E poll()
+    {
+        long position = head;
+        int index = (int)(position & mask);
+        
+        if(sequences.get(index) != position + 1)
+            return null;
+        
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+    
+    /**
+     * Gets the number of elements in the buffer. May be called from any thread, in which case it's a snapshot that may
+     * include elements still being added.
+     * @return The number of elements in the buffer.
+     */
+    public int size()
+    { return (int)Math.max(0, Math.min(mask + 1, tail.get() - head)); }
+    
+    public boolean isEmpty()
+    { return size() == 0; }
+    
+    public int getCapacity()
+    { return mask + 1; }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A group of master args that were raised together, referenced by every args in it, so that relating args only needs
+ * each of them to be added to the group once rather than told about every other, and so that the args related to one
+ * can be checked or iterated over without being copied.
+ *
+ * Relating args that are already in different groups merges the groups, moving the members of the smaller groups into
+ * the largest.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class ArgsRelationGroup
+{
+    protected ArgsRelationGroup()
+    { }
+    
+    // Only held while relating args, membership checks and iteration don't need it.
+    protected static final Object relatingLock = new Object();
+    
+    protected final Set<EventArgs> members = Collections.newSetFromMap(new ConcurrentHashMap<EventArgs, Boolean>());
+    protected final Set<EventArgs> membersView = Collections.unmodifiableSet(members);
+    
+    /**
+     * Gets the args in this group.
+     * @return A read-only view of the args in this group, which reflects later changes.
+     */
+    public Set<EventArgs> getMembers()
+    { return membersView; }
+    
+    public boolean contains(EventArgs args)
+    { return members.contains(args); }
+    
+    public int size()
+    { return members.size(); }
+    
+    /**
+     * Puts all of the passed args in the same relation group, along with any args they're already related to.
+     * @param args The args to relate.
+     * @return The group the args are now in, or null if no args were passed.
+     */
+    public static ArgsRelationGroup relate(Collection<? extends EventArgs> args)
+    {
+        if(args == null)
+            throw new NullArgumentException("args");
+        
+        synchronized(relatingLock)
+        {
+            ArgsRelationGroup target = null;
+            
+            for(EventArgs i : args)
+            {
+                if(i == null)
+                    throw new NullArgumentException("Member of args");
+                
+                ArgsRelationGroup iGroup = i.getTechnicalAccessor().getRelationGroup();
+                
+                if(iGroup != null && (target == null || iGroup.size() > target.size()))
+                    target = iGroup;
+            }
+            
+            if(args.isEmpty())
+                return null;
+            
+            if(target == null)
+                target = new ArgsRelationGroup();
+            
+            for(EventArgs i : args)
+            {
+                ArgsRelationGroup iGroup = i.getTechnicalAccessor().getRelationGroup();
+                
+                if(iGroup == target)
+                    continue;
+                
+                if(iGroup == null)
+                {
+                    target.add(i);
+                    continue;
+                }
+                
+                for(EventArgs j : iGroup.members)
+                    target.add(j);
+            }
+            
+            return target;
+        }
+    }
+    
+    /**
+     * Adds args to this group and points them at it. Must be called while holding relatingLock.
+     */
+    protected void add(EventArgs args)
+    {
+        members.add(args);
+        args.getTechnicalAccessor().setRelationGroup(this);
+    }
+}
\ No newline at end of file
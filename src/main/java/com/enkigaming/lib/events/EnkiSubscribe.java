@@ -0,0 +1,25 @@
+package com.enkigaming.lib.events;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an instance method as a listener, to be registered to events by EventSubscriptions.subscribe.
+ *
+ * The method should take either the sender and the event args, (Object, ? extends EventArgs) or just the event args,
+ * and is registered to events whose args it can accept.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EnkiSubscribe
+{
+    /**
+     * The priority to register the method with.
+     */
+    ListenerPriority priority() default ListenerPriority.Normal;
+}
\ No newline at end of file
@@ -18,7 +18,7 @@ public interface Event<T extends EventArgs>
      * Gets events that will be automatically fired when this event is fired.
      * @param includeThis Whether or not to include this event in the returned collection.
      * @param includeDependantsCascadingly Whether or not to include events that are dependent on dependants of this event.
-     * @return A collection containing the events that fire when this is fired.
+     * @return A read-only collection containing the events that fire when this is fired.
      */
     public Collection<Event<? extends EventArgs>> getDependentEvents(boolean includeThis, boolean includeDependantsCascadingly);
     
@@ -58,7 +58,7 @@ public interface Event<T extends EventArgs>
     
     /**
      * Gets all event listeners registered to this event.
-     * @return A collection containing registered event listeners.
+     * @return A read-only collection containing registered event listeners.
      */
     public Collection<EventListener<T>> getListeners();
     
@@ -73,7 +73,7 @@ public interface Event<T extends EventArgs>
      * Gets listeners of dependent events.
      * @param includeListenersOfThis Include listeners of this event.
      * @param includeDependantsCascadingly Include listeners of events that are indirectly dependent on this one.
-     * @return A collection containing listeners of dependent events.
+     * @return A read-only collection containing listeners of dependent events.
      */
     public Collection<EventListener<? extends EventArgs>> getDependentListeners(boolean includeListenersOfThis, boolean includeDependantsCascadingly);
     
@@ -101,6 +101,15 @@ public interface Event<T extends EventArgs>
      * @return A collection containing the listeners of this event and events specifically dependent on this one.
      */
     public Collection<EventListener<? extends EventArgs>> getThisAndDirectlyDependentListeners();
+    
+    /**
+     * Gets the number of listeners registered to this event and to events dependent on it, cascadingly, counting each
+     * listener once for every route by which it's reachable from this event. Kept up to date as listeners and
+     * dependent events are registered and deregistered, so that raises can skip dependent events none of whose
+     * listeners, or whose dependants' listeners, would be called.
+     * @return The number of listeners reachable from this event, or 0 if raising it would call no listeners.
+     */
+    public int getReachableListenerCount();
     //</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="Raise Methods">
@@ -260,6 +269,16 @@ public interface Event<T extends EventArgs>
      * @param otherEvents The events to raise alongside this one and the args to pass to them.
      */
     public void raisePostEventAlongside(Object sender, T args, Collection<? extends Pair<? extends Event<? extends EventArgs>, EventArgs>> otherEvents);
+    
+    /**
+     * Submits this event to be raised, pre-event and then post-event, on the thread draining the main
+     * EventSubmissionQueue, (the server thread, once per tick) rather than raising it on the current thread. May be
+     * called from any thread.
+     * @param sender The object in which the event was raised.
+     * @param args The object encapsulating relevant properties of the event raise.
+     * @return True if the raise was submitted, or false if the queue was full and the raise was dropped.
+     */
+    public boolean submit(Object sender, T args);
     //</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="Mutators">
@@ -293,6 +312,20 @@ public interface Event<T extends EventArgs>
     
     public void register(Collection<EventListener<T>> listeners, ListenerPriority priority);
     
+    /**
+     * Registers an event listener to this event without keeping it from being garbage collected. Once nothing else
+     * references the listener, it stops being called, and is removed from the event the next time the event is raised
+     * or has listeners registered to it. Listeners registered this way are deregistered as normal, but appear in
+     * getListeners and related methods wrapped in an object that references them weakly.
+     * @param listener The event listener to register.
+     * @param priority The priority to register it with.
+     */
+    public void registerWeakly(EventListener<T> listener, double priority);
+    
+    public void registerWeakly(EventListener<T> listener, ListenerPriority priority);
+    
+    public void registerWeakly(EventListener<T> listener);
+    
     /**
      * Registers an event, alongside a DependentEventArgsGetter to generate the required EventArgs object, as a
      * dependent event of this one. It will then be raised (calling the onEvent method of all of its registered
@@ -303,6 +336,7 @@ public interface Event<T extends EventArgs>
      * @param eventArgsGetter The object which, upon calling the getDependentArgs method in it during a raise, will
      * generate the required EventArgs object using the information from the EventArgs object passed to a raise of this
      * object.
+     * @throws IllegalArgumentException If the event is this event, or this event is dependent on it, cascadingly.
      */
     public <TArgs extends EventArgs> void register(Event<TArgs> event, Converger<Object, T, TArgs> eventArgsGetter);
     
@@ -87,6 +87,18 @@ public interface EventArgs
          */
         void addRelatedMasterArgs(Collection<? extends EventArgs> args);
         
+        /**
+         * Sets the relation group of master args this object is in.
+         * @param group The group this object has been added to.
+         */
+        void setRelationGroup(ArgsRelationGroup group);
+        
+        /**
+         * Gets the relation group of master args this object is in, as set by setRelationGroup.
+         * @return The group this object has been added to, or null if it hasn't been related to any other args.
+         */
+        ArgsRelationGroup getRelationGroup();
+        
         /**
          * Stores a Queue of EventListeners. Intended for storing in a pre-event raise, all of the listeners that were
          * called using this EventArgs object, so they can be referenced in the post-event raise rather than generating
@@ -139,6 +151,13 @@ public interface EventArgs
      */
     Collection<EventArgs> getRelatedMasterArgs();
     
+    /**
+     * Gets the group of master args that this one's master args was raised together with.
+     * @return The relation group, containing the aforementioned eventargs including this one's master args, or null if
+     * this one's master args hasn't been related to any others.
+     */
+    ArgsRelationGroup getRelationGroup();
+    
     /**
      * Gets the eventargs objects that were generated using this eventargs object.
      * @param getDependantsCascadingly Whether or not to include objects that were generated from args that were
@@ -0,0 +1,370 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.encapsulatedfunctions.Converger;
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import com.enkigaming.lib.tuples.Triplet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * A fixed set of events to be raised alongside one another, as with Event.raiseAlongside, many times over.
+ *
+ * The listeners of the events and their dependants, cascadingly, are merged into a single list in priority order the
+ * first time the group is raised, and that list is reused by later raises until a listener or dependent event is
+ * registered to or deregistered from any of them. Raising the group then only needs to generate the dependent args and
+ * call the listeners, without sorting or merging anything.
+ *
+ * Where any of the events, or their dependants, aren't StandardEvents, changes to them can't be noticed, and the list
+ * is rebuilt on every raise instead.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class EventGroup
+{
+    /**
+     * Constructor.
+     * @param events The events in the group. Args passed to raises of the group are matched up with these in order.
+     */
+    public EventGroup(Event<?>... events)
+    { this(Arrays.asList(events)); }
+    
+    /**
+     * Constructor.
+     * @param events The events in the group. Args passed to raises of the group are matched up with these in order.
+     */
+    public EventGroup(Collection<? extends Event<?>> events)
+    {
+        if(events == null)
+            throw new NullArgumentException("events");
+        
+        if(events.isEmpty())
+            throw new IllegalArgumentException("An event group must contain at least one event.");
+        
+        for(Event<?> i : events)
+            if(i == null)
+                throw new NullArgumentException("Member of events");
+        
+        this.events = Collections.unmodifiableList(new ArrayList<Event<?>>(events));
+        
+        // Listeners are called as though the group were raised alongside the first event, and so with its settings.
+        Event<?> first = this.events.get(0);
+        listenerCaller = first instanceof StandardEvent ? (StandardEvent<?>)first : new StandardEvent<EventArgs>();
+    }
+    
+    /**
+     * An event to generate args for during a raise, and where its args come from. The first event of each member of the
+     * group is that member, passed the args passed for it, followed by its dependants, each after its parent.
+     */
+    static final class PlannedEvent
+    {
+        PlannedEvent(Event<?> event, Converger<Object, EventArgs, ? extends EventArgs> argsGetter, int parentIndex,
+                     int memberIndex)
+        {
+            this.event = event;
+            this.argsGetter = argsGetter;
+            this.parentIndex = parentIndex;
+            this.memberIndex = memberIndex;
+        }
+        
+        final Event<?> event;
+        final Converger<Object, EventArgs, ? extends EventArgs> argsGetter; // Null for members of the group.
+        final int parentIndex;                                               // -1 for members of the group.
+        final int memberIndex;
+    }
+    
+    static final class PlannedListener
+    {
+        PlannedListener(EventListener<? extends EventArgs> listener, Double priority, int eventIndex)
+        {
+            this.listener = listener;
+            this.priority = priority;
+            this.eventIndex = eventIndex;
+        }
+        
+        final EventListener<? extends EventArgs> listener;
+        final Double priority;
+        final int eventIndex;
+    }
+    
+    /**
+     * Everything about a raise of the group that doesn't depend on the args, as it was at the dependency versions of
+     * the group's events.
+     */
+    static final class Plan
+    {
+        Plan(long[] versions, boolean upToDateWithVersions, PlannedEvent[] events, PlannedListener[] listeners)
+        {
+            this.versions = versions;
+            this.upToDateWithVersions = upToDateWithVersions;
+            this.events = events;
+            this.listeners = listeners;
+        }
+        
+        final long[] versions;
+        final boolean upToDateWithVersions;
+        final PlannedEvent[] events;
+        final PlannedListener[] listeners; // In the order they're to be called.
+    }
+    
+    static final Comparator<PlannedListener> priorityComparator = new Comparator<PlannedListener>()
+    {
+        @Override
+        public int compare(PlannedListener first, PlannedListener second)
+        { return first.priority.compareTo(second.priority); }
+    };
+    
+    final List<Event<?>> events;
+    final StandardEvent<?> listenerCaller;
+    
+    volatile Plan plan = null;
+    volatile long planBuildCount = 0; // Only used for diagnostics, so lost increments don't matter.
+    
+    public List<Event<?>> getEvents()
+    { return events; }
+    
+    /**
+     * Gets the number of times the group's merged list of listeners has been built, which happens on the first raise,
+     * and on the first raise after any change to the listeners or dependent events of its events.
+     * @return The number of times the group's listeners have been planned.
+     */
+    public long getPlanBuildCount()
+    { return planBuildCount; }
+    
+    //<editor-fold defaultstate="collapsed" desc="Raise Methods">
+    /**
+     * Raises the events in the group alongside one another, sharing cancellation state between them.
+     * @param sender The object raising the events.
+     * @param args The args to raise each event with, in the same order as the events.
+     */
+    public void raise(Object sender, EventArgs... args)
+    { raise(sender, true, Arrays.asList(args)); }
+    
+    /**
+     * Raises the events in the group alongside one another, sharing cancellation state between them.
+     * @param sender The object raising the events.
+     * @param args The args to raise each event with, in the same order as the events.
+     */
+    public void raise(Object sender, List<? extends EventArgs> args)
+    { raise(sender, true, args); }
+    
+    /**
+     * Raises the events in the group alongside one another.
+     * @param sender The object raising the events.
+     * @param shareCancellation Whether the cancellation state of each args should be set to that of the args passed to
+     * the last listener called before it.
+     * @param args The args to raise each event with, in the same order as the events.
+     */
+    public void raise(Object sender, boolean shareCancellation, EventArgs... args)
+    { raise(sender, shareCancellation, Arrays.asList(args)); }
+    
+    /**
+     * Raises the events in the group alongside one another.
+     * @param sender The object raising the events.
+     * @param shareCancellation Whether the cancellation state of each args should be set to that of the args passed to
+     * the last listener called before it.
+     * @param args The args to raise each event with, in the same order as the events.
+     */
+    public void raise(Object sender, boolean shareCancellation, List<? extends EventArgs> args)
+    {
+        checkArgs(args);
+        
+        for(EventArgs i : args)
+            i.getTechnicalAccessor().markAsUsingPreEvent();
+        
+        Plan currentPlan = getPlan();
+        EventArgs[] eventArgs = new EventArgs[currentPlan.events.length];
+        
+        // Parents always come before their dependants, so their args have always been generated by this point.
+        for(int i = 0; i < eventArgs.length; i++)
+        {
+            PlannedEvent planned = currentPlan.events[i];
+            
+            if(planned.parentIndex < 0)
+            {
+                eventArgs[i] = args.get(planned.memberIndex);
+                eventArgs[i].getTechnicalAccessor().setEvent(planned.event);
+                continue;
+            }
+            
+            EventArgs parentArgs = eventArgs[planned.parentIndex];
+            EventArgs iArgs = planned.argsGetter.get(sender, parentArgs);
+            
+            iArgs.getTechnicalAccessor().setEvent(planned.event);
+            iArgs.getTechnicalAccessor().setParentArgs(parentArgs);
+            parentArgs.getTechnicalAccessor().addDependentArgs(iArgs);
+            eventArgs[i] = iArgs;
+        }
+        
+        Queue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> listenersQueue
+            = new ArrayDeque<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>>
+                  (Math.max(1, currentPlan.listeners.length));
+        
+        for(PlannedListener i : currentPlan.listeners)
+            listenersQueue.add(new Triplet<EventListener<? extends EventArgs>, Double, EventArgs>
+                                   (i.listener, i.priority, eventArgs[i.eventIndex]));
+        
+        listenerCaller.callListenersPreEvent(sender, listenersQueue, shareCancellation);
+        
+        // What's left is the Post listeners of the whole group, which are held by the first args.
+        args.get(0).getTechnicalAccessor().setListenerQueue(listenersQueue);
+        
+        for(int i = 1; i < args.size(); i++)
+            args.get(i).getTechnicalAccessor()
+                .setListenerQueue(new ArrayDeque<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>>(1));
+        
+        for(EventArgs i : args)
+            i.getTechnicalAccessor().markAsUsedPreEvent();
+    }
+    
+    /**
+     * Calls the post-event listeners of a raise of the group.
+     * @param sender The object raising the events.
+     * @param args The args the group was raised with, in the same order as the events.
+     */
+    public void raisePostEvent(Object sender, EventArgs... args)
+    { raisePostEvent(sender, Arrays.asList(args)); }
+    
+    /**
+     * Calls the post-event listeners of a raise of the group.
+     * @param sender The object raising the events.
+     * @param args The args the group was raised with, in the same order as the events.
+     */
+    public void raisePostEvent(Object sender, List<? extends EventArgs> args)
+    {
+        checkArgs(args);
+        
+        for(EventArgs i : args)
+            i.getTechnicalAccessor().markAsUsingPostEvent();
+        
+        listenerCaller.callListenersPostEvent(sender, args.get(0).getTechnicalAccessor().getListenerQueue());
+        
+        for(EventArgs i : args)
+            i.getTechnicalAccessor().markAsUsedPostEvent();
+    }
+    //</editor-fold>
+    
+    void checkArgs(List<? extends EventArgs> args)
+    {
+        if(args == null)
+            throw new NullArgumentException("args");
+        
+        if(args.size() != events.size())
+            throw new IllegalArgumentException("Args must be passed for each of the " + events.size() + " events in the "
+                                               + "group. (was " + args.size() + ")");
+        
+        for(EventArgs i : args)
+            if(i == null)
+                throw new NullArgumentException("Member of args");
+    }
+    
+    //<editor-fold defaultstate="collapsed" desc="Planning">
+    /**
+     * Gets the group's plan, building it again if the listeners or dependent events of any of its events have changed
+     * since it was last built, including by weakly registered listeners being garbage collected.
+     * @return The current plan of the group.
+     */
+    Plan getPlan()
+    {
+        Plan current = plan;
+        
+        if(current != null && current.upToDateWithVersions)
+        {
+            // Purging collected listeners changes the versions, so a plan holding them isn't reused. Every event in a
+            // plan that's up to date with its versions is a StandardEvent.
+            for(PlannedEvent i : current.events)
+                ((StandardEvent<?>)i.event).purgeCollectedListeners();
+            
+            boolean upToDate = true;
+            
+            for(int i = 0; i < current.versions.length; i++)
+                if(((StandardEvent<?>)events.get(i)).dependencyVersion != current.versions[i])
+                {
+                    upToDate = false;
+                    break;
+                }
+            
+            if(upToDate)
+                return current;
+        }
+        
+        // If anything changes while building it, the versions will have moved on and it'll be built again next time.
+        current = buildPlan();
+        plan = current;
+        planBuildCount++;
+        return current;
+    }
+    
+    Plan buildPlan()
+    {
+        long[] versions = new long[events.size()];
+        boolean upToDateWithVersions = true;
+        
+        // Versions are read before anything else, so that changes made while building are never missed.
+        for(int i = 0; i < versions.length; i++)
+        {
+            Event<?> event = events.get(i);
+            
+            if(event instanceof StandardEvent)
+            {
+                StandardEvent<?> standardEvent = (StandardEvent<?>)event;
+                versions[i] = standardEvent.dependencyVersion;
+                
+                if(!standardEvent.getDependencyClosure().upToDateWithVersion)
+                    upToDateWithVersions = false;
+            }
+            else
+                upToDateWithVersions = false;
+        }
+        
+        List<PlannedEvent> plannedEvents = new ArrayList<PlannedEvent>();
+        
+        for(int i = 0; i < versions.length; i++)
+            planEventAndDependants(plannedEvents, events.get(i), null, -1, i);
+        
+        List<PlannedListener> plannedListeners = new ArrayList<PlannedListener>();
+        
+        for(int i = 0; i < plannedEvents.size(); i++)
+            for(Map.Entry<? extends EventListener<? extends EventArgs>, Double> j
+                    : plannedEvents.get(i).event.getListenersWithPriorities().entrySet())
+                plannedListeners.add(new PlannedListener(j.getKey(), j.getValue(), i));
+        
+        // Stable, so listeners of the same priority are called in the order of the events they're registered to.
+        Collections.sort(plannedListeners, priorityComparator);
+        
+        return new Plan(versions,
+                        upToDateWithVersions,
+                        plannedEvents.toArray(new PlannedEvent[plannedEvents.size()]),
+                        plannedListeners.toArray(new PlannedListener[plannedListeners.size()]));
+    }
+    
+    static void planEventAndDependants(List<PlannedEvent> plannedEvents,
+                                       Event<?> event,
+                                       Converger<Object, EventArgs, ? extends EventArgs> argsGetter,
+                                       int parentIndex,
+                                       int memberIndex)
+    {
+        int index = plannedEvents.size();
+        plannedEvents.add(new PlannedEvent(event, argsGetter, parentIndex, memberIndex));
+        
+        // The type arguments of the args getters are guaranteed to match the type arguments of the event.
+        Map<Event<? extends EventArgs>, Converger<Object, EventArgs, ? extends EventArgs>> dependants
+            = ((Event<EventArgs>)event).getDirectlyDependentEventsAndArgsGetters();
+        
+        for(Map.Entry<Event<? extends EventArgs>, Converger<Object, EventArgs, ? extends EventArgs>> i
+                : dependants.entrySet())
+        {
+            // As with a normal raise, no listener would see the args of this dependant or its dependants.
+            if(i.getKey().getReachableListenerCount() == 0)
+                continue;
+            
+            planEventAndDependants(plannedEvents, i.getKey(), i.getValue(), index, memberIndex);
+        }
+    }
+    //</editor-fold>
+}
\ No newline at end of file
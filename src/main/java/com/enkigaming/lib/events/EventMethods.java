@@ -28,7 +28,7 @@ public class EventMethods
             return;
         
         alongsideEvents.remove(toCallOn);
-        ((Event<EventArgs>)toCallOn.getFirst()).raiseAlongside(sender, toCallOn.getSecond(), events);
+        ((Event<EventArgs>)toCallOn.getFirst()).raiseAlongside(sender, toCallOn.getSecond(), alongsideEvents);
     }
     
     public static void raiseMultiple(Object sender, boolean shareCancellation, Collection<Pair<Event<?>, EventArgs>> events)
@@ -48,11 +48,12 @@ public class EventMethods
             return;
         
         alongsideEvents.remove(toCallOn);
-        ((Event<EventArgs>)toCallOn.getFirst()).raiseAlongside(sender, toCallOn.getSecond(), shareCancellation, events);
+        ((Event<EventArgs>)toCallOn.getFirst()).raiseAlongside(sender, toCallOn.getSecond(), shareCancellation,
+                                                               alongsideEvents);
     }
     
     public static void raiseMultiplePostEvent(Object sender, Pair<Event<?>, EventArgs>... events)
-    { raiseMultiple(sender, Arrays.asList(events)); }
+    { raiseMultiplePostEvent(sender, Arrays.asList(events)); }
     
     public static void raiseMultiplePostEvent(Object sender, Collection<Pair<Event<?>, EventArgs>> events)
     {
@@ -71,7 +72,7 @@ public class EventMethods
             return;
         
         alongsideEvents.remove(toCallOn);
-        ((Event<EventArgs>)toCallOn.getFirst()).raisePostEventAlongside(sender, toCallOn.getSecond(), events);
+        ((Event<EventArgs>)toCallOn.getFirst()).raisePostEventAlongside(sender, toCallOn.getSecond(), alongsideEvents);
     }
 //</editor-fold>
     
@@ -80,14 +81,6 @@ public class EventMethods
     { relateArgs(Arrays.asList(args)); }
     
     public static void relateArgs(Collection<? extends EventArgs> args)
-    {
-        for(EventArgs i : args)
-        {
-            Collection<EventArgs> toRelate = new ArrayList<EventArgs>(args);
-            toRelate.remove(i);
-            
-            i.getTechnicalAccessor().addRelatedMasterArgs(toRelate);
-        }
-    }
+    { ArgsRelationGroup.relate(args); }
     //</editor-fold>
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.collections.MpscRingBuffer;
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects event raises submitted from any thread, to be raised later on the one thread that drains the queue. Used to
+ * raise events from asynchronous code, such as I/O callbacks, whose listeners need to run on the server thread.
+ *
+ * Submissions are held in a bounded lock-free ring buffer. Submissions made while it's full are refused and counted as
+ * overflows rather than blocking the submitting thread.
+ *
+ * The main queue, which Event.submit adds to, is drained once per server tick.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class EventSubmissionQueue
+{
+    static final class Submission
+    {
+        Submission(Event<EventArgs> event, Object sender, EventArgs args)
+        {
+            this.event = event;
+            this.sender = sender;
+            this.args = args;
+        }
+        
+        final Event<EventArgs> event;
+        final Object sender;
+        final EventArgs args;
+    }
+    
+    /**
+     * Constructor.
+     * @param capacity The number of submissions the queue should be able to hold before refusing more. Rounded up to a
+     * power of two.
+     */
+    public EventSubmissionQueue(int capacity)
+    { submissions = new MpscRingBuffer<Submission>(capacity); }
+    
+    public static final int defaultCapacity = 8192;
+    
+    static final EventSubmissionQueue mainQueue = new EventSubmissionQueue(defaultCapacity);
+    
+    final MpscRingBuffer<Submission> submissions;
+    
+    final AtomicLong submittedCount = new AtomicLong();
+    final AtomicLong overflowCount = new AtomicLong();
+    
+    // Only written by the draining thread.
+    volatile long deliveredCount = 0;
+    volatile int peakDepth = 0;
+    
+    /**
+     * Gets the queue added to by Event.submit, which is drained on the server thread once per tick.
+     * @return The main submission queue.
+     */
+    public static EventSubmissionQueue getMainQueue()
+    { return mainQueue; }
+    
+    /**
+     * Submits an event to be raised, pre-event and then post-event, when the queue is next drained. May be called from
+     * any thread.
+     * @param <T> The type of the event's args.
+     * @param event The event to raise.
+     * @param sender The object raising the event.
+     * @param args The args to raise the event with.
+     * @return True if the raise was submitted, or false if the queue was full.
+     */
+    public <T extends EventArgs> boolean submit(Event<T> event, Object sender, T args)
+    {
+        if(event == null)
+            throw new NullArgumentException("event");
+        
+        if(args == null)
+            throw new NullArgumentException("args");
+        
+        if(!submissions.offer(new Submission((Event<EventArgs>)event, sender, args)))
+        {
+            overflowCount.incrementAndGet();
+            return false;
+        }
+        
+        submittedCount.incrementAndGet();
+        return true;
+    }
+    
+    /**
+     * Raises submitted events, in the order they were submitted, until the queue is empty or the passed time budget has
+     * been used. At least one submission is raised if there are any. Must only be called from one thread at a time.
+     *
+     * If any raises throw, the remaining submissions within the budget are still raised, and the first exception thrown
+     * is rethrown afterwards.
+     * @param budgetNanos The time, in nanoseconds, after which to stop raising submissions.
+     * @return The number of submissions raised.
+     */
+    public int drain(long budgetNanos)
+    {
+        int depth = submissions.size();
+        
+        if(depth > peakDepth)
+            peakDepth = depth;
+        
+        long start = System.nanoTime();
+        int delivered = 0;
+        RuntimeException thrown = null;
+        
+        for(Submission submission = submissions.poll(); submission != null; submission = submissions.poll())
+        {
+            try
+            {
+                submission.event.raise(submission.sender, submission.args);
+                submission.event.raisePostEvent(submission.sender, submission.args);
+            }
+            catch(RuntimeException exception)
+            {
+                if(thrown == null)
+                    thrown = exception;
+                else
+                    thrown.addSuppressed(exception);
+            }
+            
+            delivered++;
+            
+            if(System.nanoTime() - start >= budgetNanos)
+                break;
+        }
+        
+        deliveredCount += delivered;
+        
+        if(thrown != null)
+            throw thrown;
+        
+        return delivered;
+    }
+    
+    /**
+     * Raises all submitted events, however long it takes.
+     * @return The number of submissions raised.
+     */
+    public int drainAll()
+    { return drain(Long.MAX_VALUE); }
+    
+    /**
+     * Gets the number of submissions waiting to be raised.
+     * @return The current depth of the queue.
+     */
+    public int getDepth()
+    { return submissions.size(); }
+    
+    /**
+     * Gets the greatest number of submissions that have been waiting at the start of a drain.
+     * @return The peak depth of the queue.
+     */
+    public int getPeakDepth()
+    { return peakDepth; }
+    
+    public int getCapacity()
+    { return submissions.getCapacity(); }
+    
+    public long getSubmittedCount()
+    { return submittedCount.get(); }
+    
+    /**
+     * Gets the number of submissions refused because the queue was full.
+     * @return The number of overflowed submissions.
+     */
+    public long getOverflowCount()
+    { return overflowCount.get(); }
+    
+    public long getDeliveredCount()
+    { return deliveredCount; }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registers the methods of an object marked with EnkiSubscribe to events as listeners, rather than each listener
+ * needing to be written as its own anonymous EventListener class.
+ *
+ * Each class is only scanned for marked methods once, the first time an instance of it is subscribed, and each method
+ * is turned into a method handle of the same type, which is then bound to each instance subscribed. Every listener
+ * registered this way is the same class, calling a method handle of the same type.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public final class EventSubscriptions
+{
+    private EventSubscriptions()
+    { }
+    
+    /**
+     * A method marked with EnkiSubscribe, as found in a scanned class.
+     */
+    static final class SubscriberMethod
+    {
+        SubscriberMethod(Method method, MethodHandle handle, Class<?> argsType, double priority)
+        {
+            this.method = method;
+            this.handle = handle;
+            this.argsType = argsType;
+            this.priority = priority;
+        }
+        
+        final Method method;
+        
+        // Of the type (Object subscriber, Object sender, EventArgs args)void, whatever the method's own type.
+        final MethodHandle handle;
+        
+        final Class<?> argsType;
+        final double priority;
+    }
+    
+    /**
+     * A listener calling a marked method of a subscribed object. Listeners are equal where they call the same method of
+     * the same object, so that they can be made again to be deregistered.
+     */
+    static final class MethodHandleListener<T extends EventArgs> implements EventListener<T>
+    {
+        MethodHandleListener(SubscriberMethod method, Object subscriber)
+        {
+            this.method = method;
+            this.subscriber = subscriber;
+            this.boundHandle = method.handle.bindTo(subscriber);
+        }
+        
+        final SubscriberMethod method;
+        final Object subscriber;
+        
+        // Of the type (Object sender, EventArgs args)void.
+        final MethodHandle boundHandle;
+        
+        @Override
+        public void onEvent(Object sender, T args)
+        {
+            try
+            { boundHandle.invokeExact(sender, (EventArgs)args); }
+            catch(RuntimeException | Error exception)
+            { throw exception; }
+            catch(Throwable exception)
+            { throw new RuntimeException("Checked exception thrown by listener method " + method.method, exception); }
+        }
+        
+        @Override
+        public boolean equals(Object other)
+        {
+            if(!(other instanceof MethodHandleListener))
+                return false;
+            
+            MethodHandleListener<?> otherListener = (MethodHandleListener<?>)other;
+            return subscriber == otherListener.subscriber && method.method.equals(otherListener.method.method);
+        }
+        
+        @Override
+        public int hashCode()
+        { return System.identityHashCode(subscriber) * 31 + method.method.hashCode(); }
+        
+        @Override
+        public String toString()
+        { return "Listener calling " + method.method + " on " + subscriber; }
+    }
+    
+    static final MethodType listenerHandleType
+        = MethodType.methodType(void.class, Object.class, Object.class, EventArgs.class);
+    
+    static final ConcurrentMap<Class<?>, List<SubscriberMethod>> subscriberMethodsByClass
+        = new ConcurrentHashMap<Class<?>, List<SubscriberMethod>>();
+    
+    /**
+     * Registers every method of the passed object marked with EnkiSubscribe that can accept args of the passed type to
+     * the passed event.
+     * @param <T> The type of the event's args.
+     * @param event The event to register the methods to.
+     * @param argsType The class of the event's args. Methods whose parameter isn't a superclass of this are skipped.
+     * @param subscriber The object whose methods to register.
+     * @return The listeners registered.
+     */
+    public static <T extends EventArgs> Collection<EventListener<T>> subscribe(Event<T> event,
+                                                                              Class<T> argsType,
+                                                                              Object subscriber)
+    {
+        Collection<EventListener<T>> listeners = makeListeners(event, argsType, subscriber);
+        
+        for(EventListener<T> listener : listeners)
+            event.register(((MethodHandleListener<T>)listener).method.priority, listener);
+        
+        return listeners;
+    }
+    
+    /**
+     * Deregisters the methods of the passed object from the passed event, as registered by subscribe.
+     * @param <T> The type of the event's args.
+     * @param event The event to deregister the methods from.
+     * @param argsType The class of the event's args.
+     * @param subscriber The object whose methods to deregister.
+     * @return The listeners that were deregistered.
+     */
+    public static <T extends EventArgs> Collection<EventListener<T>> unsubscribe(Event<T> event,
+                                                                                Class<T> argsType,
+                                                                                Object subscriber)
+    {
+        Collection<EventListener<T>> listeners = makeListeners(event, argsType, subscriber);
+        return event.deregister(listeners.toArray((EventListener<T>[])new EventListener<?>[listeners.size()]));
+    }
+    
+    static <T extends EventArgs> Collection<EventListener<T>> makeListeners(Event<T> event,
+                                                                           Class<T> argsType,
+                                                                           Object subscriber)
+    {
+        if(event == null)
+            throw new NullArgumentException("event");
+        
+        if(argsType == null)
+            throw new NullArgumentException("argsType");
+        
+        if(subscriber == null)
+            throw new NullArgumentException("subscriber");
+        
+        Collection<EventListener<T>> listeners = new ArrayList<EventListener<T>>();
+        
+        for(SubscriberMethod method : getSubscriberMethods(subscriber.getClass()))
+            if(method.argsType.isAssignableFrom(argsType))
+                listeners.add(new MethodHandleListener<T>(method, subscriber));
+        
+        return listeners;
+    }
+    
+    /**
+     * Gets the methods of a class marked with EnkiSubscribe, scanning the class for them if it hasn't been already.
+     * @param type The class to get the methods of.
+     * @return A read-only list of the class's marked methods, including those it inherits.
+     */
+    static List<SubscriberMethod> getSubscriberMethods(Class<?> type)
+    {
+        List<SubscriberMethod> methods = subscriberMethodsByClass.get(type);
+        
+        if(methods != null)
+            return methods;
+        
+        methods = Collections.unmodifiableList(scan(type));
+        List<SubscriberMethod> existing = subscriberMethodsByClass.putIfAbsent(type, methods);
+        return existing != null ? existing : methods;
+    }
+    
+    static List<SubscriberMethod> scan(Class<?> type)
+    {
+        List<SubscriberMethod> methods = new ArrayList<SubscriberMethod>();
+        
+        // Methods overridden by a subclass are only registered once, through the subclass.
+        Set<List<Object>> seenSignatures = new HashSet<List<Object>>();
+        
+        for(Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+        {
+            for(Method method : current.getDeclaredMethods())
+            {
+                EnkiSubscribe annotation = method.getAnnotation(EnkiSubscribe.class);
+                
+                if(annotation == null || method.isBridge() || method.isSynthetic())
+                    continue;
+                
+                List<Object> signature = new ArrayList<Object>();
+                signature.add(method.getName());
+                signature.addAll(Arrays.asList(method.getParameterTypes()));
+                
+                if(!seenSignatures.add(signature))
+                    continue;
+                
+                methods.add(makeSubscriberMethod(method, annotation));
+            }
+        }
+        
+        return methods;
+    }
+    
+    static SubscriberMethod makeSubscriberMethod(Method method, EnkiSubscribe annotation)
+    {
+        if(Modifier.isStatic(method.getModifiers()))
+            throw new IllegalArgumentException("Methods marked with EnkiSubscribe can't be static. (was " + method + ")");
+        
+        Class<?>[] parameters = method.getParameterTypes();
+        boolean takesSender;
+        
+        if(parameters.length == 2 && parameters[0] == Object.class && EventArgs.class.isAssignableFrom(parameters[1]))
+            takesSender = true;
+        else if(parameters.length == 1 && EventArgs.class.isAssignableFrom(parameters[0]))
+            takesSender = false;
+        else
+            throw new IllegalArgumentException("Methods marked with EnkiSubscribe must take either (Object, EventArgs) "
+                                               + "or (EventArgs), or a subclass of EventArgs. (was " + method + ")");
+        
+        try
+        { method.setAccessible(true); }
+        catch(SecurityException exception)
+        { /* Left as it is, unreflect will fail if it's inaccessible. */ }
+        
+        MethodHandle handle;
+        
+        try
+        { handle = MethodHandles.lookup().unreflect(method); }
+        catch(IllegalAccessException exception)
+        { throw new IllegalArgumentException("Unable to access method marked with EnkiSubscribe: " + method, exception); }
+        
+        if(!takesSender)
+            handle = MethodHandles.dropArguments(handle, 1, Object.class);
+        
+        return new SubscriberMethod(method,
+                                    handle.asType(listenerHandleType),
+                                    takesSender ? parameters[1] : parameters[0],
+                                    annotation.priority().getNumericalValue());
+    }
+}
\ No newline at end of file
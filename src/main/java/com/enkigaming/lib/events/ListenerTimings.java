@@ -0,0 +1,131 @@
+package com.enkigaming.lib.events;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long each listener takes to be called by events it's passed to, and how much calling bands of Monitor
+ * listeners in parallel saves over calling them one after another.
+ *
+ * May be recorded to from any number of threads at once.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class ListenerTimings
+{
+    /**
+     * The calls recorded for a single listener.
+     */
+    public static class Timing
+    {
+        final AtomicLong callCount = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        
+        void record(long nanos)
+        {
+            callCount.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            
+            for(long max = maxNanos.get(); nanos > max; max = maxNanos.get())
+                if(maxNanos.compareAndSet(max, nanos))
+                    break;
+        }
+        
+        public long getCallCount()
+        { return callCount.get(); }
+        
+        public long getTotalNanos()
+        { return totalNanos.get(); }
+        
+        public long getMaxNanos()
+        { return maxNanos.get(); }
+        
+        public double getMeanMillis()
+        {
+            long count = callCount.get();
+            return count == 0 ? 0 : totalNanos.get() / (count * 1000000.0);
+        }
+    }
+    
+    final ConcurrentMap<EventListener<?>, Timing> timings = new ConcurrentHashMap<EventListener<?>, Timing>();
+    final Map<EventListener<?>, Timing> timingsView = Collections.unmodifiableMap(timings);
+    
+    final AtomicLong parallelBandCount = new AtomicLong();
+    final AtomicLong parallelBandWallNanos = new AtomicLong();
+    final AtomicLong parallelBandListenerNanos = new AtomicLong();
+    
+    /**
+     * Records a call to a listener.
+     * @param listener The listener called.
+     * @param nanos How long the call took, in nanoseconds.
+     */
+    public void record(EventListener<?> listener, long nanos)
+    {
+        Timing timing = timings.get(listener);
+        
+        if(timing == null)
+        {
+            Timing newTiming = new Timing();
+            timing = timings.putIfAbsent(listener, newTiming);
+            
+            if(timing == null)
+                timing = newTiming;
+        }
+        
+        timing.record(nanos);
+    }
+    
+    /**
+     * Records a band of listeners having been called in parallel.
+     * @param wallNanos How long the band took from start to finish, in nanoseconds.
+     * @param listenerNanos How long the band's listeners took added together, in nanoseconds. That is, how long the
+     * band would have taken had they been called one after another.
+     */
+    public void recordParallelBand(long wallNanos, long listenerNanos)
+    {
+        parallelBandCount.incrementAndGet();
+        parallelBandWallNanos.addAndGet(wallNanos);
+        parallelBandListenerNanos.addAndGet(listenerNanos);
+    }
+    
+    /**
+     * Gets the calls recorded for a listener.
+     * @param listener The listener to get the calls of.
+     * @return The calls recorded for the listener, or null if none have been.
+     */
+    public Timing getTiming(EventListener<?> listener)
+    { return timings.get(listener); }
+    
+    /**
+     * Gets the calls recorded for every listener.
+     * @return A read-only view of the listeners' recorded calls, which reflects later changes.
+     */
+    public Map<EventListener<?>, Timing> getTimings()
+    { return timingsView; }
+    
+    public long getParallelBandCount()
+    { return parallelBandCount.get(); }
+    
+    /**
+     * Gets how many times faster the parallel bands recorded have been called than they would have been one listener
+     * after another.
+     * @return The total time taken by the listeners in parallel bands, divided by the total time the bands took, or 1
+     * if no parallel bands have been recorded.
+     */
+    public double getParallelSpeedup()
+    {
+        long wallNanos = parallelBandWallNanos.get();
+        return wallNanos == 0 ? 1 : parallelBandListenerNanos.get() / (double)wallNanos;
+    }
+    
+    public void reset()
+    {
+        timings.clear();
+        parallelBandCount.set(0);
+        parallelBandWallNanos.set(0);
+        parallelBandListenerNanos.set(0);
+    }
+}
\ No newline at end of file
@@ -8,13 +8,23 @@ import com.enkigaming.lib.encapsulatedfunctions.Transformer;
 import com.enkigaming.lib.exceptions.NullArgumentException;
 import com.enkigaming.lib.tuples.Pair;
 import com.enkigaming.lib.tuples.Triplet;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class StandardEvent<T extends EventArgs> implements Event<T>
 {
@@ -23,33 +33,153 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     protected final Map<Event<?>, Converger<Object, T, ? extends EventArgs>> dependentEvents
         = new HashMap<Event<?>, Converger<Object, T, ? extends EventArgs>>();
     
-    @Override
-    public Collection<Event<? extends EventArgs>> getDependentEvents(boolean includeThis,
-                                                                     boolean includeDependantsCascadingly)
+    /*
+    The number of listeners reachable from this event, as returned by getReachableListenerCount, and the events this is
+    registered to as a dependant, which a change in it needs to be passed up to. Changes to either, for any event, are
+    made while holding dependencyGraphLock, so that a change being passed up from a dependant can't be missed by an
+    event it's being registered to at the same time.
+    
+    Dependent events other than StandardEvents can't pass changes up, and are counted as having one listener for as
+    long as they're registered, so that they're never skipped.
+    */
+    protected static final Object dependencyGraphLock = new Object();
+    protected final Collection<StandardEvent<?>> parentEvents = new HashSet<StandardEvent<?>>();
+    protected volatile int reachableListenerCount = 0;
+    
+    /*
+    Read-only copies of this event's listeners and directly dependent events, replaced whenever they change, so that
+    they can be handed out without being copied again on every call.
+    
+    dependencyClosure holds the events and listeners reachable from this event, cascadingly, and is rebuilt the next
+    time it's needed after dependencyVersion changes. The version of this event and every event it's dependent on,
+    cascadingly, is incremented whenever listeners or dependent events are registered to or deregistered from it, while
+    holding dependencyGraphLock.
+    */
+    protected volatile Set<EventListener<T>> listenersView = Collections.<EventListener<T>>emptySet();
+    protected volatile Set<Event<?>> directlyDependentEventsView = Collections.<Event<?>>emptySet();
+    protected volatile long dependencyVersion = 0;
+    protected volatile DependencyClosure dependencyClosure = null;
+    
+    /**
+     * The events and listeners reachable from an event, as they were at a given version of it. All of the collections
+     * are read-only.
+     */
+    protected static class DependencyClosure
     {
-        if(!includeThis && !includeDependantsCascadingly)
-            synchronized(dependentEvents)
-            { return dependentEvents.keySet(); }
+        public DependencyClosure(long version, boolean upToDateWithVersion)
+        {
+            this.version = version;
+            this.upToDateWithVersion = upToDateWithVersion;
+        }
         
-        Collection<Event<?>> events;
+        /** The dependency version of the event this was built from. */
+        final long version;
         
-        synchronized(dependentEvents)
-        { events = new HashSet<Event<?>>(dependentEvents.keySet()); }
+        /**
+         * Whether this will stay correct for as long as the version doesn't change. Events other than StandardEvents
+         * don't report changes to their dependants, so closures including them have to be rebuilt every time.
+         */
+        final boolean upToDateWithVersion;
         
-        if(includeDependantsCascadingly)
+        Set<Event<?>> thisAndDirectlyDependentEvents;
+        Set<Event<?>> dependentEvents;
+        Set<Event<?>> thisAndDependentEvents;
+        
+        Collection<EventListener<?>> directlyDependentListeners;
+        Collection<EventListener<?>> thisAndDirectlyDependentListeners;
+        Collection<EventListener<?>> dependentListeners;
+        Collection<EventListener<?>> thisAndDependentListeners;
+    }
+    
+    /**
+     * A listener registered weakly, which passes raises on to the listener it references for as long as it hasn't been
+     * garbage collected. Equal to other WeakListeners referencing the same listener, so that it can be found again to be
+     * deregistered from the listener alone.
+     * @param <T> The type of the event args the listener accepts.
+     */
+    public static final class WeakListener<T extends EventArgs> extends WeakReference<EventListener<T>>
+                                                                 implements EventListener<T>
+    {
+        WeakListener(EventListener<T> listener, ReferenceQueue<? super EventListener<T>> queue)
+        {
+            super(listener, queue);
+            hash = System.identityHashCode(listener);
+        }
+        
+        final int hash;
+        
+        /**
+         * Gets the listener this passes raises on to.
+         * @return The listener, or null if it's been garbage collected.
+         */
+        public EventListener<T> getListener()
+        { return get(); }
+        
+        @Override
+        public void onEvent(Object sender, T args)
         {
-            Collection<Event<? extends EventArgs>> cascadingDependants = new HashSet<Event<? extends EventArgs>>();
+            EventListener<T> listener = get();
             
-            for(Event<? extends EventArgs> i : events)
-                cascadingDependants.addAll(i.getDependentEvents(false, true));
+            if(listener != null)
+                listener.onEvent(sender, args);
+        }
+        
+        @Override
+        public boolean equals(Object other)
+        {
+            if(this == other)
+                return true;
             
-            events.addAll(cascadingDependants);
+            if(!(other instanceof WeakListener))
+                return false;
+            
+            Object listener = get();
+            return listener != null && listener == ((WeakListener<?>)other).get();
         }
         
-        if(includeThis)
-            events.add(this);
+        @Override
+        public int hashCode()
+        { return hash; }
+    }
+    
+    /*
+    Weakly registered listeners that have been garbage collected are queued here, and removed from listeners when the
+    event is next raised or has listeners registered to it.
+    */
+    protected final ReferenceQueue<EventListener<T>> collectedListeners = new ReferenceQueue<EventListener<T>>();
+    protected final AtomicLong collectedListenerCount = new AtomicLong();
+    
+    /*
+    The pool Monitor listeners are called in parallel on, or null if they're called one after another on the raising
+    thread, and where to record how long listeners take, or null if they aren't timed. Both apply to every listener
+    called by raises of this event, including those of dependent events.
+    */
+    protected volatile ForkJoinPool monitorListenerPool = null;
+    protected volatile ListenerTimings listenerTimings = null;
+    
+    static ForkJoinPool sharedMonitorListenerPool = null; // Guarded by StandardEvent.class, created when first needed.
+    
+    protected static final Transformer<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>, Comparable>
+        priorityGetter = new Transformer<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>, Comparable>()
+    {
+        @Override
+        public Comparable get(Triplet<EventListener<? extends EventArgs>, Double, EventArgs> parent)
+        { return parent.getSecond(); }
+    };
+    
+    @Override
+    public Collection<Event<? extends EventArgs>> getDependentEvents(boolean includeThis,
+                                                                     boolean includeDependantsCascadingly)
+    {
+        if(!includeThis && !includeDependantsCascadingly)
+            return (Collection)directlyDependentEventsView;
+        
+        DependencyClosure closure = getDependencyClosure();
         
-        return events;
+        if(!includeDependantsCascadingly)
+            return (Collection)closure.thisAndDirectlyDependentEvents;
+        
+        return (Collection)(includeThis ? closure.thisAndDependentEvents : closure.dependentEvents);
     }
 
     @Override
@@ -78,14 +208,14 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
 
     @Override
     public Collection<EventListener<T>> getListeners()
-    {
-        synchronized(listeners)
-        { return new HashSet<EventListener<T>>(listeners.keySet()); }
-    }
+    { return listenersView; }
 
     @Override
     public Map<EventListener<T>, Double> getListenersWithPriorities()
     {
+        // Called for every event whose listeners are being called in a raise.
+        purgeCollectedListeners();
+        
         synchronized(listeners)
         { return new HashMap<EventListener<T>, Double>(listeners); }
     }
@@ -94,16 +224,12 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     public Collection<EventListener<? extends EventArgs>> getDependentListeners(boolean includeListenersOfThis,
                                                                                 boolean includeDependantsCascadingly)
     {
-        // Collection that allows multiple values, as the same listener may be registered to multiple events.
-        Collection<EventListener<?>> returnListeners = new ArrayList<EventListener<?>>();
+        DependencyClosure closure = getDependencyClosure();
         
-        synchronized(dependentEvents)
-        {
-            for(Event<?> i : getDependentEvents(includeListenersOfThis, includeDependantsCascadingly))
-                returnListeners.addAll(i.getListeners());
-        }
+        if(includeDependantsCascadingly)
+            return includeListenersOfThis ? closure.thisAndDependentListeners : closure.dependentListeners;
         
-        return returnListeners;
+        return includeListenersOfThis ? closure.thisAndDirectlyDependentListeners : closure.directlyDependentListeners;
     }
 
     @Override
@@ -122,11 +248,276 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     public Collection<EventListener<? extends EventArgs>> getThisAndDirectlyDependentListeners()
     { return getDependentListeners(true, false); }
     
+    /**
+     * Gets the events and listeners reachable from this event, building them again if anything's changed since they
+     * were last built.
+     * @return The current dependency closure of this event.
+     */
+    protected DependencyClosure getDependencyClosure()
+    {
+        long version = dependencyVersion;
+        DependencyClosure closure = dependencyClosure;
+        
+        if(closure != null && closure.version == version && closure.upToDateWithVersion)
+            return closure;
+        
+        closure = buildDependencyClosure(version);
+        
+        // If anything changed while building it, the version will have moved on and it'll be built again next time.
+        dependencyClosure = closure;
+        return closure;
+    }
+    
+    protected DependencyClosure buildDependencyClosure(long version)
+    {
+        Set<Event<?>> directlyDependent = directlyDependentEventsView;
+        Set<Event<?>> dependent = new HashSet<Event<?>>(directlyDependent);
+        
+        // The closures of dependent StandardEvents are themselves cached, so each event's is only built once.
+        for(Event<?> i : directlyDependent)
+            dependent.addAll(i.getDependentEvents(false, true));
+        
+        boolean upToDateWithVersion = true;
+        
+        for(Event<?> i : dependent)
+            if(!(i instanceof StandardEvent))
+            {
+                upToDateWithVersion = false;
+                break;
+            }
+        
+        DependencyClosure closure = new DependencyClosure(version, upToDateWithVersion);
+        
+        Set<Event<?>> thisAndDirectlyDependent = new HashSet<Event<?>>(directlyDependent);
+        thisAndDirectlyDependent.add(this);
+        Set<Event<?>> thisAndDependent = new HashSet<Event<?>>(dependent);
+        thisAndDependent.add(this);
+        
+        closure.thisAndDirectlyDependentEvents = Collections.unmodifiableSet(thisAndDirectlyDependent);
+        closure.dependentEvents                = Collections.unmodifiableSet(dependent);
+        closure.thisAndDependentEvents         = Collections.unmodifiableSet(thisAndDependent);
+        
+        // Collections that allow multiple values, as the same listener may be registered to multiple events.
+        Collection<EventListener<?>> ownListeners = (Collection)listenersView;
+        List<EventListener<?>> directlyDependentListeners = new ArrayList<EventListener<?>>();
+        List<EventListener<?>> dependentListeners = new ArrayList<EventListener<?>>();
+        
+        for(Event<?> i : directlyDependent)
+            directlyDependentListeners.addAll(i.getListeners());
+        
+        for(Event<?> i : dependent)
+            dependentListeners.addAll(i.getListeners());
+        
+        List<EventListener<?>> thisAndDirectlyDependentListeners = new ArrayList<EventListener<?>>(ownListeners);
+        thisAndDirectlyDependentListeners.addAll(directlyDependentListeners);
+        List<EventListener<?>> thisAndDependentListeners = new ArrayList<EventListener<?>>(ownListeners);
+        thisAndDependentListeners.addAll(dependentListeners);
+        
+        closure.directlyDependentListeners        = Collections.unmodifiableList(directlyDependentListeners);
+        closure.thisAndDirectlyDependentListeners = Collections.unmodifiableList(thisAndDirectlyDependentListeners);
+        closure.dependentListeners                = Collections.unmodifiableList(dependentListeners);
+        closure.thisAndDependentListeners         = Collections.unmodifiableList(thisAndDependentListeners);
+        return closure;
+    }
+    
+    /**
+     * Replaces the read-only copy of this event's listeners and marks the dependency closures of this and every event
+     * it's dependent on as out of date. Must be called while holding dependencyGraphLock.
+     */
+    protected void listenersChanged()
+    {
+        synchronized(listeners)
+        { listenersView = Collections.unmodifiableSet(new HashSet<EventListener<T>>(listeners.keySet())); }
+        
+        incrementDependencyVersion();
+    }
+    
+    /**
+     * Replaces the read-only copy of this event's directly dependent events and marks the dependency closures of this
+     * and every event it's dependent on as out of date. Must be called while holding dependencyGraphLock.
+     */
+    protected void dependentEventsChanged()
+    {
+        synchronized(dependentEvents)
+        { directlyDependentEventsView = Collections.unmodifiableSet(new HashSet<Event<?>>(dependentEvents.keySet())); }
+        
+        incrementDependencyVersion();
+    }
+    
+    protected void incrementDependencyVersion()
+    {
+        if(parentEvents.isEmpty())
+        {
+            dependencyVersion++;
+            return;
+        }
+        
+        for(StandardEvent<?> event : getThisAndAncestors())
+            event.dependencyVersion++;
+    }
+    
+    /**
+     * Gets this event and every event it's dependent on, cascadingly, each only once however many paths lead to it,
+     * with every event before all of the events it's dependent on. Must be called while holding dependencyGraphLock.
+     * @return This event and the events it's dependent on, dependants first.
+     */
+    protected List<StandardEvent<?>> getThisAndAncestors()
+    {
+        List<StandardEvent<?>> ancestors = new ArrayList<StandardEvent<?>>();
+        addAncestorsParentsFirst(this, Collections.newSetFromMap(new IdentityHashMap<StandardEvent<?>, Boolean>()),
+                                 ancestors);
+        Collections.reverse(ancestors);
+        return ancestors;
+    }
+    
+    static void addAncestorsParentsFirst(StandardEvent<?> event, Set<StandardEvent<?>> visited,
+                                         List<StandardEvent<?>> ancestors)
+    {
+        if(!visited.add(event))
+            return;
+        
+        for(StandardEvent<?> parent : event.parentEvents)
+            addAncestorsParentsFirst(parent, visited, ancestors);
+        
+        ancestors.add(event);
+    }
+    
+    @Override
+    public int getReachableListenerCount()
+    { return reachableListenerCount; }
+    
+    /**
+     * Gets the number of weakly registered listeners that have been removed from this event after being garbage
+     * collected.
+     * @return The number of listeners removed.
+     */
+    public long getCollectedListenerCount()
+    { return collectedListenerCount.get(); }
+    
+    /**
+     * Removes weakly registered listeners that have been garbage collected since this was last called.
+     */
+    protected void purgeCollectedListeners()
+    {
+        Reference<? extends EventListener<T>> collected = collectedListeners.poll();
+        
+        if(collected == null)
+            return;
+        
+        synchronized(dependencyGraphLock)
+        {
+            int removed = 0;
+            
+            synchronized(listeners)
+            {
+                // Listeners deregistered before being collected are no longer in the map, and aren't counted.
+                for(; collected != null; collected = collectedListeners.poll())
+                    if(listeners.remove(collected) != null)
+                        removed++;
+            }
+            
+            if(removed > 0)
+            {
+                collectedListenerCount.addAndGet(removed);
+                listenersChanged();
+                adjustReachableListenerCount(-removed);
+            }
+        }
+    }
+    
+    /**
+     * Adds to the reachable listener count of this event and every event it's dependent on, cascadingly. Must be called
+     * while holding dependencyGraphLock.
+     *
+     * Listeners are counted once for each path to them, so an event that this is reachable from by more than one path
+     * is adjusted by the difference times the number of paths. The number of paths to each event is worked out in one
+     * pass over the events, dependants first, rather than by following each path in turn, which would take time
+     * exponential in the depth of a graph where paths split and rejoin.
+     * @param difference The number of listeners to add, or a negative number to take away.
+     */
+    protected void adjustReachableListenerCount(int difference)
+    {
+        if(difference == 0)
+            return;
+        
+        if(parentEvents.isEmpty())
+        {
+            reachableListenerCount += difference;
+            return;
+        }
+        
+        Map<StandardEvent<?>, Long> pathCounts = new IdentityHashMap<StandardEvent<?>, Long>();
+        pathCounts.put(this, 1L);
+        
+        // Every event comes before the events it's dependent on, so its path count is final by the time it's reached.
+        for(StandardEvent<?> event : getThisAndAncestors())
+        {
+            long pathCount = pathCounts.get(event);
+            event.reachableListenerCount += (int)(difference * pathCount);
+            
+            for(StandardEvent<?> parent : event.parentEvents)
+            {
+                Long parentPathCount = pathCounts.get(parent);
+                pathCounts.put(parent, parentPathCount == null ? pathCount : parentPathCount + pathCount);
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of listeners a dependent event contributes to the reachable listener count of events it's
+     * registered to.
+     */
+    protected static int getContributedListenerCount(Event<?> dependentEvent)
+    { return dependentEvent instanceof StandardEvent ? dependentEvent.getReachableListenerCount() : 1; }
+    
+    /**
+     * Sets whether listeners with Monitor priorities are called in parallel, on a pool shared by all events, rather
+     * than one after another. Listeners registered with the same priority are called together, and the next priority
+     * isn't started until they've all finished.
+     * 
+     * Monitor listeners are passed args that have been made immutable, so may only observe them; but they must be safe
+     * to call from other threads, and at the same time as one another, for this to be enabled.
+     * @param parallel Whether to call Monitor listeners in parallel.
+     */
+    public void setCallingMonitorListenersInParallel(boolean parallel)
+    { monitorListenerPool = parallel ? getSharedMonitorListenerPool() : null; }
+    
+    /**
+     * Sets the pool to call listeners with Monitor priorities on in parallel, as with
+     * setCallingMonitorListenersInParallel.
+     * @param pool The pool to call Monitor listeners on, or null to call them one after another on the raising thread.
+     */
+    public void setMonitorListenerPool(ForkJoinPool pool)
+    { monitorListenerPool = pool; }
+    
+    public boolean isCallingMonitorListenersInParallel()
+    { return monitorListenerPool != null; }
+    
+    /**
+     * Sets where to record how long each listener called by raises of this event takes.
+     * @param timings The timings to record to, or null to stop timing listeners.
+     */
+    public void setListenerTimings(ListenerTimings timings)
+    { listenerTimings = timings; }
+    
+    public ListenerTimings getListenerTimings()
+    { return listenerTimings; }
+    
+    static synchronized ForkJoinPool getSharedMonitorListenerPool()
+    {
+        if(sharedMonitorListenerPool == null)
+            sharedMonitorListenerPool = new ForkJoinPool();
+        
+        return sharedMonitorListenerPool;
+    }
+    
     protected void callListenersPreEvent(Object sender,
                                          Queue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> listenersQueue,
                                          boolean shareCancellation)
     {
         boolean currentCancellationState = false;
+        ForkJoinPool pool = monitorListenerPool;
+        ListenerTimings timings = listenerTimings;
         
         while(!listenersQueue.isEmpty())
         {
@@ -136,34 +527,147 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
             if(currentPriority >= ListenerPriority.Post.getNumericalValue())
                 break;
             
-            listenersQueue.remove();
+            if(pool != null && currentPriority >= ListenerPriority.Monitor.getNumericalValue())
+            {
+                List<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> band
+                    = new ArrayList<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>>();
+                
+                while(!listenersQueue.isEmpty() && listenersQueue.peek().getSecond() == currentPriority)
+                    band.add(listenersQueue.remove());
+                
+                for(Triplet<EventListener<? extends EventArgs>, Double, EventArgs> i : band)
+                    prepareArgsForListener(i, currentPriority, shareCancellation, currentCancellationState);
+                
+                callListenersInParallel(sender, band, pool, timings);
+                continue;
+            }
             
-            if(currentPriority >= ListenerPriority.Monitor.getNumericalValue())
-                current.getThird().getTechnicalAccessor().makeImmutable();
+            listenersQueue.remove();
+            prepareArgsForListener(current, currentPriority, shareCancellation, currentCancellationState);
+            callListener(sender, current, timings);
             
             if(shareCancellation)
-                current.getThird().setCancelled(currentCancellationState);
+                currentCancellationState = current.getThird().isCancelled();
+        }
+    }
+    
+    void prepareArgsForListener(Triplet<EventListener<? extends EventArgs>, Double, EventArgs> listenerAndArgs,
+                                double priority,
+                                boolean shareCancellation,
+                                boolean cancellationState)
+    {
+        // Args already made immutable by an earlier Monitor listener have already had their cancellation state shared.
+        if(shareCancellation && listenerAndArgs.getThird().shouldBeMutable())
+            listenerAndArgs.getThird().setCancelled(cancellationState);
+        
+        if(priority >= ListenerPriority.Monitor.getNumericalValue())
+            listenerAndArgs.getThird().getTechnicalAccessor().makeImmutable();
+    }
+    
+    /**
+     * Calls a listener, recording how long it took if the passed timings aren't null.
+     * @return How long the listener took, in nanoseconds, or 0 if it wasn't timed.
+     */
+    long callListener(Object sender,
+                      Triplet<EventListener<? extends EventArgs>, Double, EventArgs> listenerAndArgs,
+                      ListenerTimings timings)
+    {
+        // The type arguments of the listener are guaranteed to match the type of the args it's passed.
+        EventListener<EventArgs> listener = (EventListener<EventArgs>)listenerAndArgs.getFirst();
+        
+        if(timings == null)
+        {
+            listener.onEvent(sender, listenerAndArgs.getThird());
+            return 0;
+        }
+        
+        long start = System.nanoTime();
+        long taken;
+        
+        try
+        { listener.onEvent(sender, listenerAndArgs.getThird()); }
+        finally
+        {
+            taken = System.nanoTime() - start;
+            timings.record(listener, taken);
+        }
+        
+        return taken;
+    }
+    
+    /**
+     * Calls a band of listeners on the passed pool, returning once they've all finished. If any throw, the exception
+     * thrown by the earliest in the band is rethrown, with any others suppressed by it.
+     */
+    void callListenersInParallel(final Object sender,
+                                 List<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> band,
+                                 ForkJoinPool pool,
+                                 final ListenerTimings timings)
+    {
+        if(band.size() == 1)
+        {
+            callListener(sender, band.get(0), timings);
+            return;
+        }
+        
+        final AtomicLong listenerNanos = new AtomicLong();
+        // Held by the calls rather than taken from their futures, which may rethrow copies of what was thrown.
+        final Throwable[] thrownByListeners = new Throwable[band.size()];
+        List<Callable<Void>> calls = new ArrayList<Callable<Void>>(band.size());
+        
+        for(int i = 0; i < band.size(); i++)
+        {
+            final int index = i;
+            final Triplet<EventListener<? extends EventArgs>, Double, EventArgs> current = band.get(i);
             
-            // The type arguments of current.getListener() are guaranteed to match the type arguments of
-            // current.getArgs().
-            ((EventListener<EventArgs>)current.getFirst()).onEvent(sender, current.getThird());
+            calls.add(new Callable<Void>()
+            {
+                @Override
+                public Void call()
+                {
+                    try
+                    { listenerNanos.addAndGet(callListener(sender, current, timings)); }
+                    catch(RuntimeException | Error exception)
+                    { thrownByListeners[index] = exception; }
+                    
+                    return null;
+                }
+            });
+        }
+        
+        long start = System.nanoTime();
+        pool.invokeAll(calls); // Waits for all of the calls to finish, which makes thrownByListeners visible here.
+        
+        if(timings != null)
+            timings.recordParallelBand(System.nanoTime() - start, listenerNanos.get());
+        
+        Throwable thrown = null;
+        
+        for(Throwable i : thrownByListeners)
+        {
+            if(i == null)
+                continue;
             
-            if(shareCancellation)
-                currentCancellationState = current.getThird().isCancelled();
+            if(thrown == null)
+                thrown = i;
+            else
+                thrown.addSuppressed(i);
         }
+        
+        if(thrown instanceof Error)
+            throw (Error)thrown;
+        
+        if(thrown != null)
+            throw (RuntimeException)thrown;
     }
     
     protected void callListenersPostEvent(Object sender,
                                           Queue<Triplet<EventListener<?>, Double, EventArgs>> listenersQueue)
     {
+        ListenerTimings timings = listenerTimings;
+        
         while(!listenersQueue.isEmpty())
-        {
-            Triplet<EventListener<?>, Double, EventArgs> current = listenersQueue.poll();
-            
-            // The type arguments of current.getListener() are guaranteed to match the type arguments of
-            // current.getArgs().
-            ((EventListener<EventArgs>)current.getFirst()).onEvent(sender, current.getThird());
-        }
+            callListener(sender, listenersQueue.poll(), timings);
     }
 
     @Override
@@ -328,6 +832,10 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
             i.getSecond().getTechnicalAccessor().markAsUsedPostEvent();
     }
 
+    @Override
+    public boolean submit(Object sender, T args)
+    { return EventSubmissionQueue.getMainQueue().submit(this, sender, args); }
+
     @Override
     public void register(EventListener<T> listener)
     { register(ListenerPriority.Normal.getNumericalValue(), listener); }
@@ -347,10 +855,20 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     @Override
     public void register(double priority, EventListener<T> listener)
     {
-        synchronized(listeners)
+        purgeCollectedListeners();
+        
+        synchronized(dependencyGraphLock)
         {
-            listeners.put(listener, priority);
-            //System.out.println("Listeners now contains: " + listeners.toString());
+            boolean added;
+            
+            synchronized(listeners)
+            { added = listeners.put(listener, priority) == null; }
+            
+            if(added)
+            {
+                listenersChanged();
+                adjustReachableListenerCount(1);
+            }
         }
     }
 
@@ -369,10 +887,24 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     @Override
     public void register(double priority, Collection<EventListener<T>> listeners)
     {
-        synchronized(listeners)
+        purgeCollectedListeners();
+        
+        synchronized(dependencyGraphLock)
         {
-            for(EventListener<T> i : listeners)
-                this.listeners.put(i, priority);
+            int added = 0;
+            
+            synchronized(this.listeners)
+            {
+                for(EventListener<T> i : listeners)
+                    if(this.listeners.put(i, priority) == null)
+                        added++;
+            }
+            
+            if(added > 0)
+            {
+                listenersChanged();
+                adjustReachableListenerCount(added);
+            }
         }
     }
     
@@ -388,16 +920,30 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     public void register(Collection<EventListener<T>> listeners, ListenerPriority priority)
     { register(priority.getNumericalValue(), listeners); }
 
+    @Override
+    public void registerWeakly(EventListener<T> listener, double priority)
+    {
+        if(listener == null)
+            throw new NullArgumentException("listener");
+        
+        register(priority, new WeakListener<T>(listener, collectedListeners));
+    }
+    
+    @Override
+    public void registerWeakly(EventListener<T> listener, ListenerPriority priority)
+    { registerWeakly(listener, priority.getNumericalValue()); }
+    
+    @Override
+    public void registerWeakly(EventListener<T> listener)
+    { registerWeakly(listener, ListenerPriority.Normal.getNumericalValue()); }
+
     @Override
     public <TArgs extends EventArgs> void register(Event<TArgs> event, Converger<Object, T, TArgs> eventArgsGetter)
     { register(eventArgsGetter, event); }
     
     @Override
     public <TArgs extends EventArgs> void register(Converger<Object, T, TArgs> eventArgsGetter, Event<TArgs> event)
-    {
-        synchronized(dependentEvents) 
-        { dependentEvents.put(event, eventArgsGetter); }
-    }
+    { register(eventArgsGetter, Arrays.asList(event)); }
     
     @Override
     public <TArgs extends EventArgs> void register(Converger<Object, T, TArgs> eventArgsGetter,
@@ -408,18 +954,59 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     public <TArgs extends EventArgs> void register(Converger<Object, T, TArgs> eventArgsGetter,
                                                    Collection<? extends Event<? extends TArgs>> events)
     {
-        synchronized(dependentEvents)
+        synchronized(dependencyGraphLock)
         {
             for(Event<? extends TArgs> i : events)
-                dependentEvents.put(i, eventArgsGetter);
+            {
+                if(i == null)
+                    throw new NullArgumentException("Member of events");
+                
+                if(i == this || i.getDependentEvents(false, true).contains(this))
+                    throw new IllegalArgumentException("Registering the event as a dependant would make this event "
+                                                       + "dependent on itself, cascadingly.");
+            }
+            
+            boolean anyAdded = false;
+            
+            for(Event<? extends TArgs> i : events)
+            {
+                boolean added;
+                
+                synchronized(dependentEvents)
+                { added = dependentEvents.put(i, eventArgsGetter) == null; }
+                
+                if(added)
+                {
+                    if(i instanceof StandardEvent)
+                        ((StandardEvent<?>)i).parentEvents.add(this);
+                    
+                    adjustReachableListenerCount(getContributedListenerCount(i));
+                    anyAdded = true;
+                }
+            }
+            
+            if(anyAdded)
+                dependentEventsChanged();
         }
     }
 
     @Override
     public EventListener<T> deregister(EventListener<T> listener)
     {
-        synchronized(listeners)
-        { return listeners.remove(listener) == null ? null : listener; }
+        synchronized(dependencyGraphLock)
+        {
+            boolean removed;
+            
+            synchronized(listeners)
+            { removed = listeners.remove(listener) != null || listeners.remove(getWeakLookup(listener)) != null; }
+            
+            if(!removed)
+                return null;
+            
+            listenersChanged();
+            adjustReachableListenerCount(-1);
+            return listener;
+        }
     }
 
     @Override
@@ -427,11 +1014,20 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     {
         Collection<EventListener<T>> deregistered = new HashSet<EventListener<T>>();
         
-        synchronized(this.listeners)
+        synchronized(dependencyGraphLock)
         {
-            for(EventListener<T> i : listeners)
-                if(this.listeners.remove(i) != null)
-                    deregistered.add(i);
+            synchronized(this.listeners)
+            {
+                for(EventListener<T> i : listeners)
+                    if(this.listeners.remove(i) != null || this.listeners.remove(getWeakLookup(i)) != null)
+                        deregistered.add(i);
+            }
+            
+            if(!deregistered.isEmpty())
+            {
+                listenersChanged();
+                adjustReachableListenerCount(-deregistered.size());
+            }
         }
         
         return deregistered;
@@ -440,8 +1036,20 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     @Override
     public Event<? extends EventArgs> deregister(Event<? extends EventArgs> event)
     {
-        synchronized(dependentEvents)
-        { return dependentEvents.remove(event) == null ? null : event; }
+        synchronized(dependencyGraphLock)
+        {
+            boolean removed;
+            
+            synchronized(dependentEvents)
+            { removed = dependentEvents.remove(event) != null; }
+            
+            if(!removed)
+                return null;
+            
+            unlinkDependentEvent(event);
+            dependentEventsChanged();
+            return event;
+        }
     }
 
     @Override
@@ -449,16 +1057,44 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     {
         Collection<Event<? extends EventArgs>> deregistered = new HashSet<Event<? extends EventArgs>>();
         
-        synchronized(dependentEvents)
+        synchronized(dependencyGraphLock)
         {
-            for(Event<? extends EventArgs> i : events)
-                if(this.dependentEvents.remove(i) != null)
-                    deregistered.add(i);
+            synchronized(dependentEvents)
+            {
+                for(Event<? extends EventArgs> i : events)
+                    if(this.dependentEvents.remove(i) != null)
+                        deregistered.add(i);
+            }
+            
+            for(Event<? extends EventArgs> i : deregistered)
+                unlinkDependentEvent(i);
+            
+            if(!deregistered.isEmpty())
+                dependentEventsChanged();
         }
         
         return deregistered;
     }
     
+    /**
+     * Gets an object equal to the weak registration of the passed listener, to remove it from listeners by.
+     */
+    protected WeakListener<T> getWeakLookup(EventListener<T> listener)
+    { return new WeakListener<T>(listener, null); }
+    
+    /**
+     * Stops a dependent event that's just been deregistered from passing changes in its reachable listener count up to
+     * this one, and takes its listeners away from this event's count. Must be called while holding
+     * dependencyGraphLock.
+     */
+    protected void unlinkDependentEvent(Event<?> event)
+    {
+        if(event instanceof StandardEvent)
+            ((StandardEvent<?>)event).parentEvents.remove(this);
+        
+        adjustReachableListenerCount(-getContributedListenerCount(event));
+    }
+    
     protected static Collection<EventArgs> getArgsFrom(Collection<? extends Pair<Event<?>, EventArgs>> eventsWithArgs)
     {
         Collection<EventArgs> args = new ArrayList<EventArgs>();
@@ -482,6 +1118,10 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
         
         for(Map.Entry<Event<?>, Converger<Object, T, ? extends EventArgs>> i : eventsAndArgsGetters.entrySet())
         {
+            // No listener would see the args of this dependent event or its dependants, so don't bother making them.
+            if(i.getKey().getReachableListenerCount() == 0)
+                continue;
+            
             EventArgs iArgs = i.getValue().get(sender, args);
             
             iArgs.getTechnicalAccessor().setEvent(event);
@@ -498,6 +1138,13 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
     
     protected Queue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> getThisAndDependentArgsAsQueue(Object sender, T args)
     {
+        // Nothing's listening, so there's no need to generate any dependent args or look at any listeners.
+        if(reachableListenerCount == 0)
+        {
+            args.getTechnicalAccessor().setEvent(this);
+            return new SortedQueue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>>(priorityGetter);
+        }
+        
         Collection<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> listenerArgsPairings = new HashSet<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>>();
         
         for(EventArgs i : generateThisAndDependentArgs(this, sender, args))
@@ -530,6 +1177,9 @@ public class StandardEvent<T extends EventArgs> implements Event<T>
         
         for(Map.Entry<Event<?>, Converger<Object, EventArgs, ? extends EventArgs>> i : eventsAndArgsGetters.entrySet())
         {
+            if(i.getKey().getReachableListenerCount() == 0)
+                continue;
+            
             EventArgs iArgs = i.getValue().get(sender, args);
             
             iArgs.getTechnicalAccessor().setEvent(event);
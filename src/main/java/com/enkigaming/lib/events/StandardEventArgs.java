@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class StandardEventArgs implements EventArgs
 {
@@ -23,18 +24,39 @@ public class StandardEventArgs implements EventArgs
         UsedPostEvent
     }
     
+    /**
+     * The cancellation and mutability state of a hierarchy of args, held by its master args and shared with every args
+     * in the hierarchy, so that checking or changing either doesn't need the hierarchy to be walked or any locks to be
+     * taken.
+     */
+    protected static class SharedState
+    {
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        volatile boolean mutable = true;
+    }
+    
     Event<? extends EventArgs> event = null;
-    boolean cancelled = false;
-    boolean mutable = true;
     EventArgs parentArgs = null;
     Status status = Status.Unused;
     Queue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> listenerQueue = null;
     
-    final Set<EventArgs> relatedMasterArgs = new HashSet<EventArgs>();
-    final Set<EventArgs> dependentArgs     = new HashSet<EventArgs>();
+    /*
+    The master args of this args' hierarchy and its shared state, resolved whenever the parent args of this or of any
+    args above it are set. Both are null where the hierarchy includes args other than StandardEventArgs, which can't
+    report changes to their own parents, in which case the hierarchy is walked as needed instead.
+    
+    attachedArgs are the StandardEventArgs whose parent args are this, which need resolving again when this' are. Both
+    are only changed while holding masterResolutionLock.
+    */
+    static final Object masterResolutionLock = new Object();
+    final SharedState ownState = new SharedState();
+    volatile SharedState sharedState = ownState;
+    volatile EventArgs masterArgs = this;
+    final Set<StandardEventArgs> attachedArgs = new HashSet<StandardEventArgs>();
+    
+    volatile ArgsRelationGroup relationGroup = null;
+    final Set<EventArgs> dependentArgs = new HashSet<EventArgs>();
     
-    final Object cancelledBusy     = new Object();
-    final Object mutableBusy       = new Object();
     final Object parentArgsBusy    = new Object();
     final Object eventBusy         = new Object();
     final Object statusBusy        = new Object();
@@ -43,109 +65,113 @@ public class StandardEventArgs implements EventArgs
     @Override
     public boolean isCancelled()
     {
-        EventArgs master = getMasterArgs();
+        SharedState state = sharedState;
             
-        if(master != this)
-            return master.isCancelled();
+        if(state == null)
+            return getMasterArgs().isCancelled();
         
-        synchronized(cancelledBusy)
-        { return cancelled; }
+        return state.cancelled.get();
     }
 
     @Override
     public boolean setCancelled(boolean cancellation)
     {
-        if(!shouldBeMutable())
-            throw new EventArgsModifiedWhenImmutableException();
-            
-        EventArgs master = getMasterArgs();
-
-        if(master != this)
-            return master.setCancelled(cancellation);
-
-        synchronized(cancelledBusy)
+        SharedState state = sharedState;
+        
+        if(state == null)
         {
-            boolean oldValue = cancelled;
-            cancelled = cancellation;
-            return oldValue;
+            if(!shouldBeMutable())
+                throw new EventArgsModifiedWhenImmutableException();
+            
+            return getMasterArgs().setCancelled(cancellation);
         }
+        
+        if(!state.mutable)
+            throw new EventArgsModifiedWhenImmutableException();
+            
+        return state.cancelled.getAndSet(cancellation);
     }
 
     @Override
     public boolean shouldBeMutable()
     {
-        EventArgs master = getMasterArgs();
+        SharedState state = sharedState;
 
-        if(master != this)
-            return master.shouldBeMutable();
+        if(state == null)
+            return getMasterArgs().shouldBeMutable();
         
-        synchronized(mutableBusy)
-        { return mutable; }
+        return state.mutable;
     }
     
     protected void makeImmutable()
     {
-        EventArgs master = getMasterArgs();
+        SharedState state = sharedState;
 
-        if(master != this)
+        if(state == null)
         {
-            master.getTechnicalAccessor().makeImmutable();
+            getMasterArgs().getTechnicalAccessor().makeImmutable();
             return;
         }
         
-        synchronized(mutableBusy)
-        { mutable = false; }
+        state.mutable = false;
     }
 
     @Override
     public Collection<EventArgs> getRelatedMasterArgs()
     {
         EventArgs master = getMasterArgs();
+        ArgsRelationGroup group = getRelationGroup();
+        Collection<EventArgs> relatedMasterArgs = new ArrayList<EventArgs>();
 
-        if(master != this)
-            return master.getRelatedMasterArgs();
+        if(group == null)
+            return relatedMasterArgs;
         
-        synchronized(relatedMasterArgs)
-        { return new ArrayList<EventArgs>(relatedMasterArgs); }
+        for(EventArgs i : group.getMembers())
+            if(i != master)
+                relatedMasterArgs.add(i);
+        
+        return relatedMasterArgs;
     }
     
     @Override
     public Collection<EventArgs> getRelatedArgs()
     {
-        Collection<EventArgs> masters = new HashSet<EventArgs>(getRelatedMasterArgs());
         EventArgs thisMaster = getMasterArgs();
+        Collection<EventArgs> relatedArgs = new HashSet<EventArgs>(thisMaster.getDependentArgs(true, true));
+        ArgsRelationGroup group = getRelationGroup();
         
-        if(thisMaster == this)
-            masters.add(this);
-        else
-            masters.add(thisMaster);
-        
-        Collection<EventArgs> relatedArgs = new HashSet<EventArgs>();
-        
-        for(EventArgs i : masters)
-            relatedArgs.addAll(i.getDependentArgs(true, true));
+        if(group != null)
+            for(EventArgs i : group.getMembers())
+                if(i != thisMaster)
+                    relatedArgs.addAll(i.getDependentArgs(true, true));
         
         relatedArgs.remove(this);
         
         return relatedArgs;
     }
     
-    protected void addRelatedMasterArgs(EventArgs args)
+    @Override
+    public ArgsRelationGroup getRelationGroup()
     {
-        synchronized(relatedMasterArgs)
-        { relatedMasterArgs.add(args); }
+        EventArgs master = getMasterArgs();
+        
+        if(master != this)
+            return master.getRelationGroup();
+        
+        return relationGroup;
     }
 
+    protected void addRelatedMasterArgs(EventArgs args)
+    { ArgsRelationGroup.relate(Arrays.asList(this, args)); }
+
     protected void addRelatedMasterArgs(EventArgs... args)
-    {
-        synchronized(relatedMasterArgs)
-        { relatedMasterArgs.addAll(Arrays.asList(args)); }
-    }
+    { addRelatedMasterArgs(Arrays.asList(args)); }
 
     protected void addRelatedMasterArgs(Collection<? extends EventArgs> args)
     {
-        synchronized(relatedMasterArgs)
-        { relatedMasterArgs.addAll(args); }
+        Collection<EventArgs> toRelate = new ArrayList<EventArgs>(args);
+        toRelate.add(this);
+        ArgsRelationGroup.relate(toRelate);
     }
 
     @Override
@@ -199,20 +225,64 @@ public class StandardEventArgs implements EventArgs
     
     protected void setParentArgs(EventArgs args)
     {
-        synchronized(parentArgsBusy)
-        { parentArgs = args; }
+        synchronized(masterResolutionLock)
+        {
+            EventArgs oldParentArgs;
+            
+            synchronized(parentArgsBusy)
+            {
+                oldParentArgs = parentArgs;
+                parentArgs = args;
+            }
+            
+            if(oldParentArgs instanceof StandardEventArgs)
+                ((StandardEventArgs)oldParentArgs).attachedArgs.remove(this);
+            
+            if(args instanceof StandardEventArgs)
+                ((StandardEventArgs)args).attachedArgs.add(this);
+            
+            resolveMasterArgs();
+        }
+    }
+    
+    /**
+     * Updates the master args and shared state of this and every args attached below it to match their parent args'.
+     * Must be called while holding masterResolutionLock.
+     */
+    void resolveMasterArgs()
+    {
+        EventArgs parent = getParentArgs();
+        
+        if(parent == null)
+        {
+            masterArgs = this;
+            sharedState = ownState;
+        }
+        else if(parent instanceof StandardEventArgs)
+        {
+            masterArgs = ((StandardEventArgs)parent).masterArgs;
+            sharedState = ((StandardEventArgs)parent).sharedState;
+        }
+        else
+        {
+            masterArgs = null;
+            sharedState = null;
+        }
+        
+        for(StandardEventArgs i : attachedArgs)
+            i.resolveMasterArgs();
     }
 
     @Override
     public EventArgs getMasterArgs()
     {
-        synchronized(parentArgsBusy)
-        {
-            if(parentArgs == null)
-                return this;
+        EventArgs master = masterArgs;
             
-            return parentArgs.getMasterArgs();
-        }
+        if(master != null)
+            return master;
+        
+        EventArgs parent = getParentArgs();
+        return parent == null ? this : parent.getMasterArgs();
     }
 
     @Override
@@ -398,6 +468,14 @@ public class StandardEventArgs implements EventArgs
             public void addRelatedMasterArgs(Collection<? extends EventArgs> args)
             { StandardEventArgs.this.addRelatedMasterArgs(args); }
 
+            @Override
+            public void setRelationGroup(ArgsRelationGroup group)
+            { relationGroup = group; }
+
+            @Override
+            public ArgsRelationGroup getRelationGroup()
+            { return relationGroup; }
+
             @Override
             public void setListenerQueue(Queue<Triplet<EventListener<? extends EventArgs>, Double, EventArgs>> listenerQueue)
             { StandardEventArgs.this.setListenerQueue(listenerQueue); }
@@ -288,7 +288,7 @@ public abstract class CSVFileHandler extends FileHandler
     
     /**
      * Removes the surrounding quotes from entries that are enclosed in them, and converts adjacent pairs of quotation
-     * marks into single ones, where they don't represent an empty field and the first quotation mark isn't escaped.
+     * marks into single ones, where they don't represent an empty field.
      * @param entries The list of entries to handle quotes in.
      */
     private static void handleQuotes(List<String> entries)
@@ -305,30 +305,14 @@ public abstract class CSVFileHandler extends FileHandler
             
             /*
                 Go through iEntry looking for double quotes (""). Double-quotes representing empty fields have already
-                been taken out with the previous check. Replace them with a single quote (") where the first quote isn't
-                escaped. That is, where they aren't preceded by an escape character (\) that isn't itself escaped.
-                This can be approximated by checking whether they're preceded by an odd or even number of the escape
-                character.
+                been taken out with the previous check. Replace them with a single quote ("). Escaped quotes have
+                already had their escape characters removed by splitCSVLine, so any backslashes left before a pair of
+                quotes are literal backslashes, and don't stop the pair being replaced.
             */
             
             for(int j = 0; j < iEntry.length() - 1; j++)
-            {
                 if(iEntry.charAt(j) == '"' && iEntry.charAt(j + 1) == '"')
-                {
-                    int escapeCharacterCount = 0;
-                    
-                    for(int k = j - 1; k >= 0; k--)
-                    {
-                        if(iEntry.charAt(k) == '\\')
-                            escapeCharacterCount++;
-                        else
-                            break;
-                    }
-                    
-                    if(escapeCharacterCount % 2 == 0) // if escapeCharacterCount is even or 0
-                        iEntry = new StringBuilder(iEntry).deleteCharAt(j + 1).toString();
-                }
-            }
+                    iEntry = new StringBuilder(iEntry).deleteCharAt(j + 1).toString();
             
             if(!iEntry.equals(iEntryOriginal))
                 entries.set(i, iEntry);
@@ -365,35 +349,30 @@ public abstract class CSVFileHandler extends FileHandler
     protected void buildSaveFile(PrintWriter writer)
     {
         writer.println(getHeader());
-
-        List<CSVRowMember> Fields;
-        boolean Finished = false;
-        String Row;
-
-        for(int i = 0; !Finished; i++)
+        writeRows(new CSVRowWriter(writer));
+    }
+    
+    /**
+     * Writes the rows of the file, after the header. By default, writes the rows returned by getRow until it returns
+     * null. Handlers with many rows should override this to write their rows' fields straight to the writer instead,
+     * rather than creating a list of row members for each row.
+     * @param writer The writer to write the rows to.
+     */
+    protected void writeRows(CSVRowWriter writer)
+    {
+        for(int i = 0;; i++)
         {
-            Fields = getRow(i);
+            List<CSVRowMember> fields = getRow(i);
 
-            if(Fields == null)
-                Finished = true;
-            else
-            {
-                if(Fields.size() > 0)
-                {
-                    for(CSVRowMember j : Fields)
-                        if(j.shouldBeWrappedInQuotes())
-                            j.setContents("\"" + j.getContents() + "\"");
+            if(fields == null)
+                return;
 
-                    Row = Fields.get(0).getContents();
+            writer.beginRow();
 
-                    for(int j = 1; j < Fields.size(); j++)
-                        Row += ("," + Fields.get(j).getContents());
+            for(CSVRowMember field : fields)
+                writer.field(field.getContents(), field.shouldBeWrappedInQuotes());
 
-                    writer.println(Row);
-                }
-                else
-                    writer.println("");
-            }
+            writer.endRow();
         }
     }
 
@@ -403,10 +382,12 @@ public abstract class CSVFileHandler extends FileHandler
     /**
      * Gets a list containing pairs, each representing an entry in the row.
      * The string represents the text, and the boolean represents whether or not the string should be in quotes.
+     * Only used by the default implementation of writeRows, handlers that override writeRows needn't override this.
      * @param RowNumber The number of the row in the data set requested.
      * @return The row requested, or null if the the RowNumber is past the end of the dataset.
      */
-    protected abstract List<CSVRowMember> getRow(int RowNumber);
+    protected List<CSVRowMember> getRow(int RowNumber)
+    { return null; }
 
     @Override
     protected abstract void postSave();
@@ -0,0 +1,284 @@
+package com.enkigaming.lib.filehandling;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes rows of a CSV file a field at a time, straight into a character buffer that's reused for every row, rather
+ * than building each row up from strings.
+ *
+ * Fields are escaped so that CSVFileHandler reads them back as written: quoted fields have their quotation marks
+ * doubled and their backslashes escaped, and unquoted fields containing anything CSVFileHandler would treat specially
+ * (separators, quotation marks, brackets, escape characters, or whitespace at either end) are quoted anyway. Line
+ * breaks can't be represented in the line-based format, and are written as spaces.
+ *
+ * Not thread-safe.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class CSVRowWriter
+{
+    /**
+     * Writes an item as the fields of a row.
+     * @param <T> The type of the items written.
+     */
+    public static interface RowFormatter<T>
+    {
+        /**
+         * Writes the fields of an item's row. The row has already been begun, and is ended afterwards.
+         * @param item The item to write.
+         * @param writer The writer to write the fields to.
+         */
+        void writeFields(T item, CSVRowWriter writer);
+    }
+    
+    /**
+     * Constructor.
+     * @param output The writer to write rows to.
+     */
+    public CSVRowWriter(PrintWriter output)
+    {
+        if(output == null)
+            throw new NullArgumentException("output");
+        
+        this.output = output;
+    }
+    
+    final PrintWriter output;
+    final String lineSeparator = System.getProperty("line.separator");
+    
+    char[] buffer = new char[256];
+    int length = 0;
+    int fieldCount = 0;
+    boolean inRow = false;
+    long rowsWritten = 0;
+    
+    //<editor-fold defaultstate="collapsed" desc="Rows">
+    /**
+     * Begins a new row.
+     * @return This writer.
+     */
+    public CSVRowWriter beginRow()
+    {
+        if(inRow)
+            throw new IllegalStateException("The previous row hasn't been ended.");
+        
+        inRow = true;
+        length = 0;
+        fieldCount = 0;
+        return this;
+    }
+    
+    /**
+     * Ends the current row, writing it to the output.
+     * @return This writer.
+     */
+    public CSVRowWriter endRow()
+    {
+        checkInRow();
+        output.write(buffer, 0, length);
+        output.write(lineSeparator);
+        inRow = false;
+        rowsWritten++;
+        return this;
+    }
+    
+    /**
+     * Writes a row of unquoted fields, as used for a file's header.
+     * @param fields The contents of the fields.
+     * @return This writer.
+     */
+    public CSVRowWriter writeRow(List<? extends CharSequence> fields)
+    {
+        beginRow();
+        
+        for(CharSequence field : fields)
+            field(field, false);
+        
+        return endRow();
+    }
+    
+    /**
+     * Writes a row for each of the passed items.
+     * @param <T> The type of the items.
+     * @param items The items to write.
+     * @param formatter Writes each item's fields.
+     * @return The number of rows written.
+     */
+    public <T> int writeRows(Iterator<? extends T> items, RowFormatter<? super T> formatter)
+    {
+        int count = 0;
+        
+        while(items.hasNext())
+        {
+            beginRow();
+            formatter.writeFields(items.next(), this);
+            endRow();
+            count++;
+        }
+        
+        return count;
+    }
+    
+    public long getRowsWritten()
+    { return rowsWritten; }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Fields">
+    /**
+     * Writes a field to the current row.
+     * @param contents The contents of the field. Null is written as an empty field.
+     * @param quote Whether to wrap the field in quotation marks. Fields that need quoting to be read back correctly are
+     * quoted regardless.
+     * @return This writer.
+     */
+    public CSVRowWriter field(CharSequence contents, boolean quote)
+    {
+        checkInRow();
+        beginField();
+        
+        if(contents == null)
+            return this;
+        
+        int contentsLength = contents.length();
+        
+        if(!quote && !needsQuoting(contents))
+        {
+            ensureCapacity(contentsLength);
+            
+            for(int i = 0; i < contentsLength; i++)
+                buffer[length++] = contents.charAt(i);
+            
+            return this;
+        }
+        
+        // At most two characters per character, plus the surrounding quotation marks.
+        ensureCapacity(contentsLength * 2 + 2);
+        buffer[length++] = '"';
+        
+        for(int i = 0; i < contentsLength; i++)
+        {
+            char c = contents.charAt(i);
+            
+            switch(c)
+            {
+                case '"':  buffer[length++] = '"';  buffer[length++] = '"';  break;
+                case '\\': buffer[length++] = '\\'; buffer[length++] = '\\'; break;
+                case '\r':
+                case '\n': buffer[length++] = ' '; break;
+                default:   buffer[length++] = c;
+            }
+        }
+        
+        buffer[length++] = '"';
+        return this;
+    }
+    
+    /**
+     * Writes an unquoted field to the current row.
+     * @param contents The contents of the field.
+     * @return This writer.
+     */
+    public CSVRowWriter field(CharSequence contents)
+    { return field(contents, false); }
+    
+    /**
+     * Writes a number as a field to the current row, without creating a string of it.
+     * @param value The number to write.
+     * @return This writer.
+     */
+    public CSVRowWriter field(long value)
+    {
+        checkInRow();
+        beginField();
+        
+        ensureCapacity(20);
+        
+        // Can't be negated, so is written from a string instead.
+        if(value == Long.MIN_VALUE)
+        {
+            String digits = Long.toString(value);
+            digits.getChars(0, digits.length(), buffer, length);
+            length += digits.length();
+            return this;
+        }
+        
+        if(value < 0)
+        {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        
+        int digitsStart = length;
+        
+        do
+        {
+            buffer[length++] = (char)('0' + value % 10);
+            value /= 10;
+        }
+        while(value != 0);
+        
+        // The digits were written least significant first.
+        for(int i = digitsStart, j = length - 1; i < j; i++, j--)
+        {
+            char temp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = temp;
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Gets whether the passed field's contents would be read back differently if written without quotation marks.
+     */
+    static boolean needsQuoting(CharSequence contents)
+    {
+        int contentsLength = contents.length();
+        
+        if(contentsLength == 0)
+            return false;
+        
+        if(Character.isWhitespace(contents.charAt(0)) || Character.isWhitespace(contents.charAt(contentsLength - 1)))
+            return true;
+        
+        for(int i = 0; i < contentsLength; i++)
+        {
+            switch(contents.charAt(i))
+            {
+                case ',': case '"': case '\'': case '\\': case '\r': case '\n':
+                case '(': case ')': case '[': case ']': case '{': case '}':
+                    return true;
+            }
+        }
+        
+        return false;
+    }
+    //</editor-fold>
+    
+    void beginField()
+    {
+        if(fieldCount++ > 0)
+        {
+            ensureCapacity(1);
+            buffer[length++] = ',';
+        }
+    }
+    
+    void ensureCapacity(int extra)
+    {
+        if(length + extra <= buffer.length)
+            return;
+        
+        char[] newBuffer = new char[Math.max(buffer.length * 2, length + extra)];
+        System.arraycopy(buffer, 0, newBuffer, 0, length);
+        buffer = newBuffer;
+    }
+    
+    void checkInRow()
+    {
+        if(!inRow)
+            throw new IllegalStateException("No row has been begun.");
+    }
+}
\ No newline at end of file
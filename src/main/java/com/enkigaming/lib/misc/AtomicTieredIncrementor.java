@@ -0,0 +1,441 @@
+package com.enkigaming.lib.misc;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A tiered incrementor with fixed tiers, updated without locking. Like TieredIncrementor, holds a set of integers with
+ * minimum and maximum values, where incrementing a tier past its maximum value rolls it over to its minimum value and
+ * increments the next tier up.
+ *
+ * Tier values are held as a single mixed-radix number, with each tier being a digit whose radix is the number of values
+ * it can hold. Where the tiers can all be held in 64 bits, the whole number lives in one AtomicLong: every change is a
+ * single compare-and-set, and getting the values reads it once. Where they can't, consecutive tiers are grouped into
+ * segments that each fit in 64 bits. Changes that stay within the lowest segment are still a single compare-and-set,
+ * while changes that carry into higher segments are serialised and versioned, so that readers can retry rather than see
+ * a half-carried value.
+ *
+ * As with TieredIncrementor, tier 0 is the lowest tier, and rolling over the highest tier wraps the whole incrementor.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class AtomicTieredIncrementor
+{
+    /**
+     * Constructs an atomic tiered incrementor with tiers with minimum values of 0 and the passed maximum values, preset
+     * to their minimum values.
+     * @param maximumValues The maximum values of each tier, from the lowest tier up.
+     */
+    public AtomicTieredIncrementor(int[] maximumValues)
+    { this(new int[maximumValues == null ? 0 : maximumValues.length], maximumValues); }
+
+    /**
+     * Constructs an atomic tiered incrementor with tiers with the passed minimum and maximum values, preset to their
+     * minimum values.
+     * @param minimumValues The minimum values of each tier, from the lowest tier up.
+     * @param maximumValues The maximum values of each tier, from the lowest tier up.
+     */
+    public AtomicTieredIncrementor(int[] minimumValues, int[] maximumValues)
+    { this(minimumValues, maximumValues, minimumValues); }
+
+    /**
+     * Constructs an atomic tiered incrementor with tiers with the passed minimum, maximum, and preset values.
+     * @param minimumValues The minimum values of each tier, from the lowest tier up.
+     * @param maximumValues The maximum values of each tier, from the lowest tier up.
+     * @param presets The values each tier should start out with, from the lowest tier up.
+     */
+    public AtomicTieredIncrementor(int[] minimumValues, int[] maximumValues, int[] presets)
+    {
+        if(minimumValues == null)
+            throw new NullArgumentException("minimumValues");
+
+        if(maximumValues == null)
+            throw new NullArgumentException("maximumValues");
+
+        if(presets == null)
+            throw new NullArgumentException("presets");
+
+        if(minimumValues.length != maximumValues.length || presets.length != maximumValues.length)
+            throw new IllegalArgumentException("There must be the same number of minimum values, maximum values, and "
+                                               + "presets.");
+
+        if(maximumValues.length == 0)
+            throw new IllegalArgumentException("An atomic tiered incrementor must have at least one tier.");
+
+        int tierCount = maximumValues.length;
+
+        mins = minimumValues.clone();
+        maxes = maximumValues.clone();
+        radices = new long[tierCount];
+        tierSegments = new int[tierCount];
+        tierWeights = new long[tierCount];
+
+        List<Long> totals = new ArrayList<Long>();
+        long currentTotal = 1;
+
+        for(int i = 0; i < tierCount; i++)
+        {
+            if(mins[i] > maxes[i])
+                throw new IllegalArgumentException("The min value of tier " + i + " (" + mins[i] + ") was greater "
+                                                   + "than its max value. (" + maxes[i] + ")");
+
+            if(presets[i] < mins[i] || presets[i] > maxes[i])
+                throw new IllegalArgumentException("The preset of tier " + i + " (" + presets[i] + ") was outwith "
+                                                   + "its bounds. Expected between (incl) " + mins[i] + " and "
+                                                   + maxes[i] + ".");
+
+            radices[i] = (long)maxes[i] - mins[i] + 1;
+
+            // Start a new segment where this tier would push the current one past 64 bits.
+            if(currentTotal > Long.MAX_VALUE / radices[i])
+            {
+                totals.add(currentTotal);
+                currentTotal = 1;
+            }
+
+            tierSegments[i] = totals.size();
+            tierWeights[i] = currentTotal;
+            currentTotal *= radices[i];
+        }
+
+        totals.add(currentTotal);
+
+        segmentTotals = new long[totals.size()];
+        segments = new AtomicLong[totals.size()];
+        long[] initialSegmentValues = new long[totals.size()];
+
+        for(int i = 0; i < tierCount; i++)
+            initialSegmentValues[tierSegments[i]] += (presets[i] - (long)mins[i]) * tierWeights[i];
+
+        for(int i = 0; i < segments.length; i++)
+        {
+            segmentTotals[i] = totals.get(i);
+            segments[i] = new AtomicLong(initialSegmentValues[i]);
+        }
+    }
+
+    /**
+     * Constructs an atomic tiered incrementor with the same tiers, bounds, and current values as the passed tiered
+     * incrementor.
+     * @param source The tiered incrementor to copy.
+     */
+    public AtomicTieredIncrementor(TieredIncrementor source)
+    { this(getMinsOf(source), getMaxesOf(source), getValuesOf(source)); }
+
+    final int[] mins, maxes;
+    final long[] radices;
+
+    // The segment each tier's value is held in, and the amount one of that tier is worth within its segment.
+    final int[] tierSegments;
+    final long[] tierWeights;
+
+    // Each segment holds a mixed-radix number from 0 (incl) to its total (excl).
+    final AtomicLong[] segments;
+    final long[] segmentTotals;
+
+    // Odd while a carry between segments is in progress. Only changed while holding carryBusy.
+    volatile long carryVersion = 0;
+    final Object carryBusy = new Object();
+
+    //<editor-fold defaultstate="collapsed" desc="Accessors">
+    /**
+     * Whether or not all of this incrementor's tiers are held in a single 64-bit value, and thus whether or not all
+     * operations on it are lock-free.
+     * @return True if all tiers are held together in 64 bits. Otherwise, false.
+     */
+    public boolean isPacked()
+    { return segments.length == 1; }
+
+    public int getTierCount()
+    { return mins.length; }
+
+    public int getMin(int tier)
+    { return mins[tier]; }
+
+    public int getMax(int tier)
+    { return maxes[tier]; }
+
+    /**
+     * Gets the values of all tiers at a single point in time. Where the incrementor is packed, this is wait-free.
+     * @return A list of the tiers' values, from the lowest tier up.
+     */
+    public List<Integer> getValues()
+    {
+        long[] snapshot = getSegmentsSnapshot();
+        List<Integer> values = new ArrayList<Integer>(mins.length);
+
+        for(int i = 0; i < mins.length; i++)
+            values.add(decodeTier(snapshot[tierSegments[i]], i));
+
+        return values;
+    }
+
+    /**
+     * Gets the values of all tiers at a single point in time, as an array. Where the incrementor is packed, this is
+     * wait-free.
+     * @return An array of the tiers' values, from the lowest tier up.
+     */
+    public int[] getValuesAsArray()
+    {
+        long[] snapshot = getSegmentsSnapshot();
+        int[] values = new int[mins.length];
+
+        for(int i = 0; i < mins.length; i++)
+            values[i] = decodeTier(snapshot[tierSegments[i]], i);
+
+        return values;
+    }
+
+    public int getValue(int tier)
+    { return decodeTier(segments[tierSegments[tier]].get(), tier); }
+
+    @Override
+    public String toString()
+    { return toString(true, "."); }
+
+    public String toString(boolean bigEndian, String separator)
+    {
+        int[] values = getValuesAsArray();
+        StringBuilder result = new StringBuilder();
+
+        if(separator == null)
+            separator = ".";
+
+        for(int i = 0; i < values.length; i++)
+        {
+            if(i > 0)
+                result.append(separator);
+
+            result.append(values[bigEndian ? values.length - 1 - i : i]);
+        }
+
+        return result.toString();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Mutators">
+    public void increment()
+    { apply(0, 1, false); }
+
+    public void increment(int tier)
+    {
+        checkTier(tier);
+        apply(tier, 1, false);
+    }
+
+    public void decrement()
+    { apply(0, 1, true); }
+
+    public void decrement(int tier)
+    {
+        checkTier(tier);
+        apply(tier, 1, true);
+    }
+
+    public void add(long amount)
+    {
+        if(amount < 0)
+            apply(0, -amount, true);
+        else
+            apply(0, amount, false);
+    }
+
+    public void add(int tier, long amount)
+    {
+        checkTier(tier);
+
+        if(amount < 0)
+            apply(tier, -amount, true);
+        else
+            apply(tier, amount, false);
+    }
+
+    public void subtract(long amount)
+    {
+        if(amount < 0)
+            apply(0, -amount, false);
+        else
+            apply(0, amount, true);
+    }
+
+    public void subtract(int tier, long amount)
+    {
+        checkTier(tier);
+
+        if(amount < 0)
+            apply(tier, -amount, false);
+        else
+            apply(tier, amount, true);
+    }
+    //</editor-fold>
+
+    /**
+     * Adds or subtracts an amount of the passed tier, carrying into (or borrowing from) higher tiers as needed.
+     * @param tier The tier to start at.
+     * @param amount The non-negative amount to add or subtract.
+     * @param subtracting Whether to subtract the amount rather than add it.
+     */
+    void apply(int tier, long amount, boolean subtracting)
+    {
+        if(amount < 0) // Only reachable with Long.MIN_VALUE, which can't be negated.
+        {
+            apply(tier, Long.MAX_VALUE, subtracting);
+            apply(tier, 1, subtracting);
+            return;
+        }
+
+        int segment = tierSegments[tier];
+        long weight = tierWeights[tier];
+
+        // The number of whole units of the tier this segment holds from this tier up, and thus what part of the amount
+        // this segment takes, and what part carries into the next segment.
+        long unitsInSegment = segmentTotals[segment] / weight;
+        long digit = (amount % unitsInSegment) * weight;
+        long carry = amount / unitsInSegment;
+
+        if(segment == 0)
+        {
+            AtomicLong lowest = segments[0];
+            long total = segmentTotals[0];
+
+            for(;;)
+            {
+                long current = lowest.get();
+
+                // Anything carried out of the only segment wraps the whole incrementor, so is dropped.
+                if(segments.length > 1 && (carry != 0 || wraps(current, digit, subtracting, total)))
+                    break;
+
+                if(lowest.compareAndSet(current, step(current, digit, subtracting, total)))
+                    return;
+            }
+        }
+
+        synchronized(carryBusy)
+        {
+            carryVersion++;
+
+            try
+            {
+                for(int i = segment; i < segments.length; i++)
+                {
+                    long total = segmentTotals[i];
+                    long thisDigit = digit;
+
+                    if(i != segment)
+                    {
+                        if(carry == 0)
+                            break;
+
+                        thisDigit = carry % total;
+                        carry = carry / total;
+                    }
+
+                    // The lowest segment may still be changed by changes that don't carry, so use a CAS loop.
+                    for(;;)
+                    {
+                        long current = segments[i].get();
+
+                        if(segments[i].compareAndSet(current, step(current, thisDigit, subtracting, total)))
+                        {
+                            if(wraps(current, thisDigit, subtracting, total))
+                                carry++;
+
+                            break;
+                        }
+                    }
+                }
+            }
+            finally
+            { carryVersion++; }
+        }
+    }
+
+    /**
+     * Whether or not adding or subtracting the passed digit to or from the passed segment value wraps around the
+     * segment's total, and thus carries into the next segment.
+     */
+    static boolean wraps(long current, long digit, boolean subtracting, long total)
+    { return subtracting ? current < digit : current >= total - digit; }
+
+    /**
+     * Adds or subtracts the passed digit to or from the passed segment value, wrapping around the segment's total.
+     */
+    static long step(long current, long digit, boolean subtracting, long total)
+    {
+        if(subtracting)
+            return current >= digit ? current - digit : current + (total - digit);
+
+        return current >= total - digit ? current - (total - digit) : current + digit;
+    }
+
+    long[] getSegmentsSnapshot()
+    {
+        if(segments.length == 1)
+            return new long[] { segments[0].get() };
+
+        long[] snapshot = new long[segments.length];
+
+        for(;;)
+        {
+            long version = carryVersion;
+
+            if((version & 1) != 0)
+            {
+                Thread.yield();
+                continue;
+            }
+
+            for(int i = 0; i < segments.length; i++)
+                snapshot[i] = segments[i].get();
+
+            if(carryVersion == version)
+                return snapshot;
+        }
+    }
+
+    int decodeTier(long segmentValue, int tier)
+    { return (int)((segmentValue / tierWeights[tier]) % radices[tier] + mins[tier]); }
+
+    void checkTier(int tier)
+    {
+        if(tier < 0 || tier >= mins.length)
+            throw new IllegalArgumentException("Tier out of range. Expected between (incl) 0 and "
+                                               + (mins.length - 1) + ", was " + tier + ".");
+    }
+
+    static int[] getMinsOf(TieredIncrementor source)
+    {
+        if(source == null)
+            throw new NullArgumentException("source");
+
+        int[] result = new int[source.getTierCount()];
+
+        for(int i = 0; i < result.length; i++)
+            result[i] = source.getMin(i);
+
+        return result;
+    }
+
+    static int[] getMaxesOf(TieredIncrementor source)
+    {
+        int[] result = new int[source.getTierCount()];
+
+        for(int i = 0; i < result.length; i++)
+            result[i] = source.getMax(i);
+
+        return result;
+    }
+
+    static int[] getValuesOf(TieredIncrementor source)
+    {
+        List<Integer> values = source.getValues();
+        int[] result = new int[values.size()];
+
+        for(int i = 0; i < result.length; i++)
+            result[i] = values.get(i);
+
+        return result;
+    }
+}
@@ -189,64 +189,51 @@ public class TieredIncrementor
          * Adds a number to the currently stored value of the tier.
          * @param amount The amount to add to the stored value.
          * @return The number of times an overflow occurred. That is, the number of times adding the number pushed the
-         * held value over the maximum value and caused the value to overflow.
+         * held value over the maximum value and caused the value to overflow. Where the amount is negative, this is
+         * the number of underflows as a negative number.
          */
         public int add(int amount)
         {
-            if(amount < 0)
-                return subtract(-amount);
-            
-            int overflowCount = 0;
-            
             synchronized(busy)
-            {
-                for(;;)
-                {
-                    if(value + amount < max)
-                    {
-                        value += amount;
-                        break;
-                    }
-                    
-                    amount -= max - value;
-                    value = min;
-                    overflowCount++;
-                }
-            }
-            
-            return overflowCount;
+            { return (int)shift(amount); }
         }
         
         /**
          * Subtracts a number from the currently stored value of the tier.
          * @param amount The amount to subtract from the stored value.
          * @return The number of time an underflow occurred. That is, the number of times subtracting the number pulled
-         * the held value under the minimum value ad caused the value to underflow.
+         * the held value under the minimum value and caused the value to underflow. Where the amount is negative,
+         * this is the number of overflows as a negative number.
          */
         public int subtract(int amount)
         {
-            if(amount > 0)
-                return add(-amount);
+            synchronized(busy)
+            { return (int)-shift(-(long)amount); }
+        }
+        
+        /**
+         * Adds a number to the stored value, wrapping it around between the min and max values, in constant time.
+         * Should only be called while holding busy.
+         * @param amount The amount to add. May be negative.
+         * @return The number of overflows, or the negated number of underflows. That is, the amount to carry to the
+         * next tier up.
+         */
+        long shift(long amount)
+        {
+            long radix = (long)max - min + 1;
+            long carry = floorDiv(amount, radix);
             
-            int underflowCount = 0;
+            // Both parts are below the radix, which is at most 2^32, so this can't overflow.
+            long offset = ((long)value - min) + floorMod(amount, radix);
             
-            synchronized(busy)
+            if(offset >= radix)
             {
-                for(;;)
-                {
-                    if(value - amount > min)
-                    {
-                        value -= amount;
-                        break;
-                    }
-                    
-                    amount -= value - min;
-                    value = max;
-                    underflowCount++;
-                }
+                offset -= radix;
+                carry++;
             }
             
-            return underflowCount;
+            value = (int)(min + offset);
+            return carry;
         }
         //</editor-fold>
         
@@ -362,7 +349,7 @@ public class TieredIncrementor
         checkMinMaxIsValid(null, maximumValues, defaultMin, defaultMax);
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     /**
@@ -381,7 +368,7 @@ public class TieredIncrementor
         this.defaultMax = defaultMax;
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     /**
@@ -401,7 +388,7 @@ public class TieredIncrementor
         this.defaultMax = defaultMax;
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     /**
@@ -417,7 +404,7 @@ public class TieredIncrementor
         checkMinMaxIsValid(null, maximumValues, defaultMin, defaultMax);
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     /**
@@ -436,7 +423,7 @@ public class TieredIncrementor
         this.defaultMax = defaultMax;
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     
@@ -449,7 +436,7 @@ public class TieredIncrementor
         this.defaultMax = defaultMax;
         
         for(int i : maximumValues)
-            tiers.add(new Tier(defaultMin, defaultMax, i));
+            tiers.add(new Tier(defaultMin, i, defaultMin));
     }
     
     public TieredIncrementor(List<Integer> minimumValues, List<Integer> maximumValues)
@@ -638,7 +625,7 @@ public class TieredIncrementor
         synchronized(tiers)
         {
             if(bigEndian)
-                for(int i = tiers.size(); i >= 0; i--)
+                for(int i = tiers.size() - 1; i >= 0; i--)
                     result += tiers.get(i).getValue() + separator;
             else
                 for(int i = 0; i < tiers.size(); i++)
@@ -701,46 +688,134 @@ public class TieredIncrementor
         }
     }
     
-    public void add(int amount)
+    /**
+     * Adds a number to the incrementor, as though it were incremented that many times, in time proportional to the
+     * number of tiers rather than the amount.
+     * @param amount The amount to add. May be negative.
+     */
+    public void add(long amount)
+    { add(0, amount); }
+    
+    /**
+     * Adds a number to the incrementor starting at the specified tier, as though that tier were incremented that many
+     * times, in time proportional to the number of tiers rather than the amount.
+     * @param tier The tier to add to.
+     * @param amount The amount to add. May be negative.
+     */
+    public void add(int tier, long amount)
     {
         synchronized(tiers)
         {
-            for(int i = 0, toAdd = amount; i < tiers.size(); i++)
-                if((toAdd = tiers.get(i).add(toAdd)) <= 0) // If there were no overflows as a result of Tier.add
-                    break;
+            checkTier(tier);
+            carryFrom(tier, amount);
         }
     }
     
-    public void add(int tier, int amount)
+    /**
+     * Subtracts a number from the incrementor, as though it were decremented that many times, in time proportional to
+     * the number of tiers rather than the amount.
+     * @param amount The amount to subtract. May be negative.
+     */
+    public void subtract(long amount)
+    { subtract(0, amount); }
+    
+    /**
+     * Subtracts a number from the incrementor starting at the specified tier, as though that tier were decremented
+     * that many times, in time proportional to the number of tiers rather than the amount.
+     * @param tier The tier to subtract from.
+     * @param amount The amount to subtract. May be negative.
+     */
+    public void subtract(int tier, long amount)
     {
         synchronized(tiers)
         {
-            for(int i = tier, toAdd = amount; i < tiers.size(); i++)
-                if((toAdd = tiers.get(i).add(toAdd)) <= 0) // If there were no overflows as a result of Tier.add
-                    break;
+            checkTier(tier);
+            
+            if(amount == Long.MIN_VALUE) // Can't be negated.
+            {
+                carryFrom(tier, Long.MAX_VALUE);
+                carryFrom(tier, 1);
+            }
+            else
+                carryFrom(tier, -amount);
         }
     }
     
-    public void subtract(int amount)
+    /**
+     * Gets the number of increments the held values are from all tiers being at their minimum values. That is, the
+     * held values read as a single mixed-radix number.
+     * @return The held values as a single number.
+     * @throws ArithmeticException If the held values represent a number too large to be held in a long.
+     */
+    public long toLinearValue()
     {
+        long result = 0;
+        
         synchronized(tiers)
         {
-            for(int i = 0, toSubtract = amount; i < tiers.size(); i++)
-                if((toSubtract = tiers.get(i).subtract(toSubtract)) <= 0) // If no underflows from Tier.subtract
-                    break;
+            for(int i = tiers.size() - 1; i >= 0; i--)
+            {
+                Tier tier = tiers.get(i);
+                
+                synchronized(tier.busy)
+                {
+                    long radix = (long)tier.max - tier.min + 1;
+                    long offset = (long)tier.value - tier.min;
+                    
+                    if(result > (Long.MAX_VALUE - offset) / radix)
+                        throw new ArithmeticException("The held values are too large to be represented as a long.");
+                    
+                    result = result * radix + offset;
+                }
+            }
         }
+        
+        return result;
     }
     
-    public void subtract(int tier, int amount)
+    /**
+     * Sets the held values from a single number, as though all tiers were set to their minimum values and then
+     * incremented that many times. Numbers too large for the tiers to hold wrap around, as do negative numbers.
+     * @param linearValue The number to set the held values from.
+     */
+    public void fromLinearValue(long linearValue)
     {
         synchronized(tiers)
         {
-            for(int i = 0, toSubtract = amount; i < tiers.size(); i++)
-                if((toSubtract = tiers.get(i).subtract(toSubtract)) <= 0) // If no underflows from Tier.subtract
-                    break;
+            for(Tier tier : tiers)
+            {
+                synchronized(tier.busy)
+                {
+                    long radix = (long)tier.max - tier.min + 1;
+                    tier.value = (int)(tier.min + floorMod(linearValue, radix));
+                    linearValue = floorDiv(linearValue, radix);
+                }
+            }
         }
     }
     
+    /**
+     * Adds the passed amount to the specified tier, carrying any overflows or underflows up through the tiers above
+     * it. Should only be called while holding the lock on tiers.
+     */
+    void carryFrom(int tier, long amount)
+    {
+        for(int i = tier; i < tiers.size() && amount != 0; i++)
+        {
+            Tier current = tiers.get(i);
+            
+            synchronized(current.busy)
+            { amount = current.shift(amount); }
+        }
+    }
+    
+    void checkTier(int tier)
+    {
+        if(tier < 0 || tier >= tiers.size())
+            throw new IllegalArgumentException("Tier out of range. Expected between (incl) 0 and "
+                                               + (tiers.size() - 1) + ", was " + tier + ".");
+    }
+    
     public int setValue(int tier, int value)
     {
         synchronized(tiers)
@@ -1663,7 +1738,7 @@ public class TieredIncrementor
                                                    + "minimum bound. Expected at or above " + thisMin + ", was "
                                                    + toCheck[i] + ".");
             
-            if(toCheck[i] < thisMax)
+            if(toCheck[i] > thisMax)
                 throw new IllegalArgumentException("Member of " + toCheckName + " [" + i + "] was greater than its"
                                                    + "maximum bound. Expected at or below " + thisMax + ", was "
                                                    + toCheck[i] + ".");
@@ -1672,8 +1747,8 @@ public class TieredIncrementor
     
     private static void checkMinMaxIsValid(int min, int max)
     {
-        if(min < max)
-            throw new IllegalArgumentException("The min value was less than the max value.");
+        if(min > max)
+            throw new IllegalArgumentException("The min value was greater than the max value.");
     }
     
     private static void checkMinMaxIsValid(List<Integer> mins, List<Integer> maxes, int min, int max)
@@ -1693,7 +1768,7 @@ public class TieredIncrementor
             int thisMin = mins  != null && i < mins .size() ? mins .get(i) : min;
             int thisMax = maxes != null && i < maxes.size() ? maxes.get(i) : max;
             
-            if(min < max)
+            if(thisMin > thisMax)
                 throw new IllegalArgumentException("One of the min values [" + i + "] (" + thisMin +") was greater "
                                                    + "than its corresponding max value. (" + thisMax + ")");
         }
@@ -1714,9 +1789,23 @@ public class TieredIncrementor
             int thisMin = mins  != null && i < mins .length ? mins [i] : min;
             int thisMax = maxes != null && i < maxes.length ? maxes[i] : max;
             
-            if(min < max)
+            if(thisMin > thisMax)
                 throw new IllegalArgumentException("One of the min values [" + i + "] (" + thisMin +") was greater "
                                                    + "than its corresponding max value. (" + thisMax + ")");
         }
     }
-}
\ No newline at end of file
+
+    // Math.floorDiv and Math.floorMod aren't available before Java 8.
+    static long floorDiv(long dividend, long divisor)
+    {
+        long result = dividend / divisor;
+        
+        if((dividend % divisor != 0) && ((dividend < 0) != (divisor < 0)))
+            result--;
+        
+        return result;
+    }
+    
+    static long floorMod(long dividend, long divisor)
+    { return dividend - floorDiv(dividend, divisor) * divisor; }
+}
@@ -0,0 +1,101 @@
+package com.enkigaming.lib.misc.coordinates;
+
+/**
+ * Packs co-ordinates into single longs and unpacks them again, so that large numbers of co-ordinates can be held as
+ * primitives. (e.g. in a LongHashSet) Packed values are equal exactly where the co-ordinates they were packed from are.
+ * 
+ * Block co-ordinates are packed the same way Minecraft packs them: 26 bits each for x and z, and 12 bits for y. Chunk
+ * co-ordinates are packed with 20 bits for the world ID and 22 bits each for x and z. All parts are signed, and
+ * co-ordinates outwith the ranges that can be held cause an IllegalArgumentException rather than being silently
+ * truncated.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public final class PackedCoOrdinates
+{
+    private PackedCoOrdinates()
+    {}
+    
+    static final int blockXZBits = 26, blockYBits = 12;
+    static final int chunkWorldBits = 20, chunkXZBits = 22;
+    
+    //<editor-fold defaultstate="collapsed" desc="Blocks">
+    /**
+     * Packs block co-ordinates into a long.
+     * @param x The x co-ordinate. Must be between -2^25 and 2^25 - 1. (incl)
+     * @param y The y co-ordinate. Must be between -2^11 and 2^11 - 1. (incl)
+     * @param z The z co-ordinate. Must be between -2^25 and 2^25 - 1. (incl)
+     * @return The packed co-ordinates.
+     */
+    public static long packBlock(int x, int y, int z)
+    {
+        checkFits(x, blockXZBits, "x");
+        checkFits(y, blockYBits,  "y");
+        checkFits(z, blockXZBits, "z");
+        
+        return ((x & mask(blockXZBits)) << (blockYBits + blockXZBits))
+             | ((y & mask(blockYBits))  << blockXZBits)
+             |  (z & mask(blockXZBits));
+    }
+    
+    public static int unpackBlockX(long packed)
+    { return (int)(packed >> (blockYBits + blockXZBits)); }
+    
+    public static int unpackBlockY(long packed)
+    { return (int)(packed << (64 - blockYBits - blockXZBits) >> (64 - blockYBits)); }
+    
+    public static int unpackBlockZ(long packed)
+    { return (int)(packed << (64 - blockXZBits) >> (64 - blockXZBits)); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Chunks">
+    /**
+     * Packs chunk co-ordinates, along with the ID of the world the chunk is in, into a long.
+     * @param worldId The ID of the world the chunk is in. Must be between -2^19 and 2^19 - 1. (incl)
+     * @param x The chunk's x co-ordinate. Must be between -2^21 and 2^21 - 1. (incl)
+     * @param z The chunk's z co-ordinate. Must be between -2^21 and 2^21 - 1. (incl)
+     * @return The packed co-ordinates.
+     */
+    public static long packChunk(int worldId, int x, int z)
+    {
+        checkFits(worldId, chunkWorldBits, "worldId");
+        checkFits(x,       chunkXZBits,    "x");
+        checkFits(z,       chunkXZBits,    "z");
+        
+        return ((worldId & mask(chunkWorldBits)) << (chunkXZBits * 2))
+             | ((x       & mask(chunkXZBits))    << chunkXZBits)
+             |  (z       & mask(chunkXZBits));
+    }
+    
+    public static int unpackChunkWorldId(long packed)
+    { return (int)(packed >> (chunkXZBits * 2)); }
+    
+    public static int unpackChunkX(long packed)
+    { return (int)(packed << (64 - chunkXZBits * 2) >> (64 - chunkXZBits)); }
+    
+    public static int unpackChunkZ(long packed)
+    { return (int)(packed << (64 - chunkXZBits) >> (64 - chunkXZBits)); }
+    
+    /**
+     * Gets the packed co-ordinates of the chunk offset from the passed one by the given amounts, in the same world.
+     * @param packed The packed co-ordinates of the chunk to offset from.
+     * @param xOffset The amount to offset the x co-ordinate by.
+     * @param zOffset The amount to offset the z co-ordinate by.
+     * @return The packed co-ordinates of the offset chunk.
+     */
+    public static long offsetChunk(long packed, int xOffset, int zOffset)
+    { return packChunk(unpackChunkWorldId(packed), unpackChunkX(packed) + xOffset, unpackChunkZ(packed) + zOffset); }
+    //</editor-fold>
+    
+    static long mask(int bits)
+    { return (1L << bits) - 1; }
+    
+    static void checkFits(int value, int bits, String name)
+    {
+        int limit = 1 << (bits - 1);
+        
+        if(value < -limit || value >= limit)
+            throw new IllegalArgumentException(name + " can't be packed into " + bits + " bits. Expected between "
+                                               + "(incl) " + (-limit) + " and " + (limit - 1) + ", was " + value
+                                               + ".");
+    }
+}
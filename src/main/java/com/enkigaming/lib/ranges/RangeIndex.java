@@ -0,0 +1,497 @@
+package com.enkigaming.lib.ranges;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of ranges, allowing for fast lookup of which of the held ranges contain a given value or overlap with a
+ * given range, without having to check each held range individually.
+ *
+ * Held as a balanced (AVL) interval tree of the flat subranges of each added range, ordered by their lower bounds,
+ * where each node knows the highest upper bound in its subtree. Lookups are O(log n + k), where k is the number of
+ * matching subranges, and adding and removing ranges is O(log n) per flat subrange.
+ *
+ * Ranges are held by identity, so the same range object may only be in the index once, while different range objects
+ * covering the same values may all be held.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <T> The type of the ranges to be held.
+ */
+public class RangeIndex<T extends Comparable<T>> implements Iterable<Range<T>>
+{
+    protected static class Node<T extends Comparable<T>>
+    {
+        public Node(FlatRange<T> subrange, Range<T> owner, long order)
+        {
+            this.subrange = subrange;
+            this.owner = owner;
+            this.order = order;
+            this.highest = subrange;
+        }
+
+        final FlatRange<T> subrange;
+        final Range<T> owner;
+
+        // Tie-breaker for subranges with the same lower bound, so the same value may be in the tree many times.
+        final long order;
+
+        Node<T> left = null, right = null;
+        int height = 1;
+
+        // The subrange with the highest upper bound in the subtree starting at this node.
+        FlatRange<T> highest;
+    }
+
+    public RangeIndex()
+    {}
+
+    public RangeIndex(Collection<? extends Range<T>> ranges)
+    { addAll(ranges); }
+
+    Node<T> root = null;
+    long nextOrder = 0;
+    final Map<Range<T>, List<Node<T>>> nodesByRange = new IdentityHashMap<Range<T>, List<Node<T>>>();
+
+    final Object indexBusy = new Object();
+
+    //<editor-fold defaultstate="collapsed" desc="Accessors">
+    /**
+     * Gets the number of ranges held in this index.
+     * @return The number of ranges held.
+     */
+    public int size()
+    {
+        synchronized(indexBusy)
+        { return nodesByRange.size(); }
+    }
+
+    /**
+     * Whether or not this index holds any ranges.
+     * @return True if no ranges are held. Otherwise, false.
+     */
+    public boolean isEmpty()
+    {
+        synchronized(indexBusy)
+        { return nodesByRange.isEmpty(); }
+    }
+
+    /**
+     * Whether or not the passed range object is held in this index.
+     * @param range The range to check for.
+     * @return True if that exact range object is held. Otherwise, false.
+     */
+    public boolean contains(Range<T> range)
+    {
+        synchronized(indexBusy)
+        { return nodesByRange.containsKey(range); }
+    }
+
+    /**
+     * Gets all of the ranges held in this index.
+     * @return A collection containing all held ranges.
+     */
+    public Collection<Range<T>> getRanges()
+    {
+        synchronized(indexBusy)
+        { return new ArrayList<Range<T>>(nodesByRange.keySet()); }
+    }
+
+    /**
+     * Gets all of the held ranges that contain the passed value. Id est, a stabbing query.
+     * @param value The value to check for.
+     * @return A collection containing all held ranges that contain the passed value. Empty if none do.
+     */
+    public Collection<Range<T>> getRangesContaining(T value)
+    {
+        if(value == null)
+            throw new NullArgumentException("value");
+
+        Set<Range<T>> results = Collections.newSetFromMap(new IdentityHashMap<Range<T>, Boolean>());
+
+        synchronized(indexBusy)
+        { collectContaining(root, value, results); }
+
+        return results;
+    }
+
+    /**
+     * Whether or not any of the held ranges contain the passed value.
+     * @param value The value to check for.
+     * @return True if at least one held range contains the passed value. Otherwise, false.
+     */
+    public boolean anyContain(T value)
+    {
+        if(value == null)
+            throw new NullArgumentException("value");
+
+        synchronized(indexBusy)
+        { return anyContaining(root, value); }
+    }
+
+    /**
+     * Gets all of the held ranges that have any overlap with the passed range.
+     * @param other The range to check for overlap with.
+     * @return A collection containing all held ranges that share any values with the passed range. Empty if none do.
+     */
+    public Collection<Range<T>> getRangesOverlapping(Range<? extends T> other)
+    {
+        if(other == null)
+            throw new NullArgumentException("other");
+
+        Set<Range<T>> results = Collections.newSetFromMap(new IdentityHashMap<Range<T>, Boolean>());
+
+        synchronized(indexBusy)
+        {
+            for(FlatRange<? extends T> i : other.toListOfFlatRanges())
+                collectOverlapping(root, (FlatRange<T>)i, results);
+        }
+
+        return results;
+    }
+
+    @Override
+    public Iterator<Range<T>> iterator()
+    { return getRanges().iterator(); }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Mutators">
+    /**
+     * Adds a range to the index. Ranges already in the index are not added again.
+     * @param range The range to add.
+     * @return True if the range was added. False if it was already held.
+     */
+    public boolean add(Range<T> range)
+    {
+        if(range == null)
+            throw new NullArgumentException("range");
+
+        List<FlatRange<T>> subranges = range.toListOfFlatRanges();
+
+        synchronized(indexBusy)
+        {
+            if(nodesByRange.containsKey(range))
+                return false;
+
+            List<Node<T>> nodes = new ArrayList<Node<T>>(subranges.size());
+
+            for(FlatRange<T> i : subranges)
+            {
+                Node<T> node = new Node<T>(i, range, nextOrder++);
+                root = insert(root, node);
+                nodes.add(node);
+            }
+
+            nodesByRange.put(range, nodes);
+            return true;
+        }
+    }
+
+    /**
+     * Adds all of the passed ranges to the index.
+     * @param ranges The ranges to add.
+     * @return True if any of the passed ranges were added. Otherwise, false.
+     */
+    public boolean addAll(Collection<? extends Range<T>> ranges)
+    {
+        if(ranges == null)
+            throw new NullArgumentException("ranges");
+
+        boolean changed = false;
+
+        for(Range<T> i : ranges)
+            changed |= add(i);
+
+        return changed;
+    }
+
+    /**
+     * Removes a range from the index.
+     * @param range The range object to remove.
+     * @return True if the range was held and has been removed. Otherwise, false.
+     */
+    public boolean remove(Range<T> range)
+    {
+        synchronized(indexBusy)
+        {
+            List<Node<T>> nodes = nodesByRange.remove(range);
+
+            if(nodes == null)
+                return false;
+
+            for(Node<T> i : nodes)
+                root = delete(root, i);
+
+            return true;
+        }
+    }
+
+    /**
+     * Removes all of the passed ranges from the index.
+     * @param ranges The ranges to remove.
+     * @return True if any of the passed ranges were removed. Otherwise, false.
+     */
+    public boolean removeAll(Collection<? extends Range<T>> ranges)
+    {
+        if(ranges == null)
+            throw new NullArgumentException("ranges");
+
+        boolean changed = false;
+
+        for(Range<T> i : ranges)
+            changed |= remove(i);
+
+        return changed;
+    }
+
+    /**
+     * Removes all ranges from the index.
+     */
+    public void clear()
+    {
+        synchronized(indexBusy)
+        {
+            root = null;
+            nodesByRange.clear();
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Queries">
+    private void collectContaining(Node<T> node, T value, Collection<Range<T>> results)
+    {
+        while(node != null)
+        {
+            // Nothing in this subtree reaches up as far as the value.
+            if(upperBoundIsBelow(node.highest, value))
+                return;
+
+            collectContaining(node.left, value, results);
+
+            // Everything from here on starts above the value.
+            if(value.compareTo(node.subrange.getMin()) < 0)
+                return;
+
+            if(flatRangeContains(node.subrange, value))
+                results.add(node.owner);
+
+            node = node.right;
+        }
+    }
+
+    private boolean anyContaining(Node<T> node, T value)
+    {
+        while(node != null)
+        {
+            if(upperBoundIsBelow(node.highest, value))
+                return false;
+
+            if(anyContaining(node.left, value))
+                return true;
+
+            if(value.compareTo(node.subrange.getMin()) < 0)
+                return false;
+
+            if(flatRangeContains(node.subrange, value))
+                return true;
+
+            node = node.right;
+        }
+
+        return false;
+    }
+
+    private void collectOverlapping(Node<T> node, FlatRange<T> other, Collection<Range<T>> results)
+    {
+        while(node != null)
+        {
+            if(isEntirelyBelow(node.highest, other))
+                return;
+
+            collectOverlapping(node.left, other, results);
+
+            if(node.subrange.getMin().compareTo(other.getMax()) > 0)
+                return;
+
+            if(!isEntirelyBelow(node.subrange, other) && !isEntirelyBelow(other, node.subrange))
+                results.add(node.owner);
+
+            node = node.right;
+        }
+    }
+
+    /**
+     * Whether or not the passed flat range contains the passed value. Checked here rather than using
+     * FlatRange.contains so that the index's results don't depend on the correctness of third-party implementations.
+     */
+    static <T extends Comparable<T>> boolean flatRangeContains(FlatRange<T> range, T value)
+    {
+        int minCompareResult = value.compareTo(range.getMin());
+
+        if(minCompareResult < 0 || (minCompareResult == 0 && !range.includesMin()))
+            return false;
+
+        return !upperBoundIsBelow(range, value);
+    }
+
+    /**
+     * Whether or not all of the values of the passed range are below the passed value.
+     */
+    static <T extends Comparable<T>> boolean upperBoundIsBelow(FlatRange<T> range, T value)
+    {
+        int maxCompareResult = range.getMax().compareTo(value);
+        return maxCompareResult < 0 || (maxCompareResult == 0 && !range.includesMax());
+    }
+
+    /**
+     * Whether or not all of the values of the first range are below all of the values of the second range.
+     */
+    static <T extends Comparable<T>> boolean isEntirelyBelow(FlatRange<T> lower, FlatRange<T> upper)
+    {
+        int compareResult = lower.getMax().compareTo(upper.getMin());
+        return compareResult < 0 || (compareResult == 0 && !(lower.includesMax() && upper.includesMin()));
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Tree maintenance">
+    private static <T extends Comparable<T>> int compareNodes(Node<T> first, Node<T> second)
+    {
+        int compareResult = first.subrange.getMin().compareTo(second.subrange.getMin());
+
+        if(compareResult != 0)
+            return compareResult;
+
+        return first.order < second.order ? -1 : first.order > second.order ? 1 : 0;
+    }
+
+    private static <T extends Comparable<T>> int heightOf(Node<T> node)
+    { return node == null ? 0 : node.height; }
+
+    private static <T extends Comparable<T>> FlatRange<T> higherOf(FlatRange<T> first, FlatRange<T> second)
+    {
+        if(first == null)
+            return second;
+
+        if(second == null)
+            return first;
+
+        int compareResult = first.getMax().compareTo(second.getMax());
+
+        if(compareResult == 0)
+            return second.includesMax() && !first.includesMax() ? second : first;
+
+        return compareResult > 0 ? first : second;
+    }
+
+    private static <T extends Comparable<T>> void update(Node<T> node)
+    {
+        node.height = Math.max(heightOf(node.left), heightOf(node.right)) + 1;
+
+        node.highest = higherOf(node.subrange, higherOf(node.left  == null ? null : node.left .highest,
+                                                        node.right == null ? null : node.right.highest));
+    }
+
+    private static <T extends Comparable<T>> Node<T> rotateRight(Node<T> node)
+    {
+        Node<T> newTop = node.left;
+        node.left = newTop.right;
+        newTop.right = node;
+        update(node);
+        update(newTop);
+        return newTop;
+    }
+
+    private static <T extends Comparable<T>> Node<T> rotateLeft(Node<T> node)
+    {
+        Node<T> newTop = node.right;
+        node.right = newTop.left;
+        newTop.left = node;
+        update(node);
+        update(newTop);
+        return newTop;
+    }
+
+    private static <T extends Comparable<T>> Node<T> rebalance(Node<T> node)
+    {
+        update(node);
+        int balance = heightOf(node.left) - heightOf(node.right);
+
+        if(balance > 1)
+        {
+            if(heightOf(node.left.left) < heightOf(node.left.right))
+                node.left = rotateLeft(node.left);
+
+            return rotateRight(node);
+        }
+
+        if(balance < -1)
+        {
+            if(heightOf(node.right.right) < heightOf(node.right.left))
+                node.right = rotateRight(node.right);
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, Node<T> toInsert)
+    {
+        if(node == null)
+            return toInsert;
+
+        if(compareNodes(toInsert, node) < 0)
+            node.left = insert(node.left, toInsert);
+        else
+            node.right = insert(node.right, toInsert);
+
+        return rebalance(node);
+    }
+
+    private static <T extends Comparable<T>> Node<T> delete(Node<T> node, Node<T> toDelete)
+    {
+        if(node == null)
+            return null;
+
+        if(node == toDelete)
+        {
+            if(node.left == null)
+                return node.right;
+
+            if(node.right == null)
+                return node.left;
+
+            // Replace with the lowest node of the right subtree.
+            Node<T> successor = node.right;
+
+            while(successor.left != null)
+                successor = successor.left;
+
+            successor.right = deleteLowest(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+
+        if(compareNodes(toDelete, node) < 0)
+            node.left = delete(node.left, toDelete);
+        else
+            node.right = delete(node.right, toDelete);
+
+        return rebalance(node);
+    }
+
+    private static <T extends Comparable<T>> Node<T> deleteLowest(Node<T> node)
+    {
+        if(node.left == null)
+            return node.right;
+
+        node.left = deleteLowest(node.left);
+        return rebalance(node);
+    }
+    //</editor-fold>
+}
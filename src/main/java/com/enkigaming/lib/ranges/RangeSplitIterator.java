@@ -0,0 +1,264 @@
+package com.enkigaming.lib.ranges;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the pieces of a flat range split by a series of already-sorted split points, producing each piece only
+ * as it's requested rather than building all of them up front.
+ *
+ * Pieces are produced in the same form as FlatRange.splitBy: split points at or outwith the range's bounds are
+ * ignored, inner pieces include both of their bounds, and the first and last pieces keep the range's own inclusivity of
+ * its min and max. Repeated split points produce single-value pieces.
+ *
+ * Supports splitting off part of the remaining pieces into another iterator with trySplit, in the manner of Java 8's
+ * Spliterator, so that pieces can be traversed from multiple threads. Individual iterators aren't thread-safe.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <T> The type of the range being split.
+ */
+public class RangeSplitIterator<T extends Comparable<T>> implements Iterator<Range<T>>
+{
+    /**
+     * Read-only, indexed access to sorted split points, so that arrays of primitives can be used without copying
+     * them into a collection.
+     * @param <T> The type of the split points.
+     */
+    public static interface SplitPoints<T>
+    {
+        T get(int index);
+        int size();
+    }
+
+    /**
+     * Constructor.
+     * @param range The range to split.
+     * @param sortedSplitPoints The points to split by, sorted from lowest to highest. These aren't sorted or checked.
+     */
+    public RangeSplitIterator(FlatRange<T> range, SplitPoints<? extends T> sortedSplitPoints)
+    {
+        if(range == null)
+            throw new NullArgumentException("range");
+
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        this.range = range;
+        this.splitPoints = sortedSplitPoints;
+
+        T min = range.getMin(), max = range.getMax();
+
+        // Only split points strictly between the bounds split the range.
+        firstSplitPoint = firstIndexAbove(sortedSplitPoints, min, false);
+        int lastSplitPoint = firstIndexAbove(sortedSplitPoints, max, true);
+        splitPointCount = Math.max(0, lastSplitPoint - firstSplitPoint);
+
+        nextPiece = 0;
+        endPiece = splitPointCount + 1;
+    }
+
+    private RangeSplitIterator(RangeSplitIterator<T> source, int nextPiece, int endPiece)
+    {
+        range = source.range;
+        splitPoints = source.splitPoints;
+        firstSplitPoint = source.firstSplitPoint;
+        splitPointCount = source.splitPointCount;
+        this.nextPiece = nextPiece;
+        this.endPiece = endPiece;
+    }
+
+    final FlatRange<T> range;
+    final SplitPoints<? extends T> splitPoints;
+
+    // The index in splitPoints of the first split point within the range, and the number that are within the range.
+    final int firstSplitPoint;
+    final int splitPointCount;
+
+    // The index of the next piece to produce, and of the piece after the last one this iterator should produce.
+    int nextPiece;
+    int endPiece;
+
+    //<editor-fold defaultstate="collapsed" desc="Factory methods">
+    public static <T extends Comparable<T>> RangeSplitIterator<T> ofSorted(FlatRange<T> range,
+                                                                           final List<? extends T> sortedSplitPoints)
+    {
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        return new RangeSplitIterator<T>(range, new SplitPoints<T>()
+        {
+            @Override
+            public T get(int index)
+            { return sortedSplitPoints.get(index); }
+
+            @Override
+            public int size()
+            { return sortedSplitPoints.size(); }
+        });
+    }
+
+    public static <T extends Comparable<T>> RangeSplitIterator<T> ofSorted(FlatRange<T> range,
+                                                                           final T... sortedSplitPoints)
+    {
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        return new RangeSplitIterator<T>(range, new SplitPoints<T>()
+        {
+            @Override
+            public T get(int index)
+            { return sortedSplitPoints[index]; }
+
+            @Override
+            public int size()
+            { return sortedSplitPoints.length; }
+        });
+    }
+
+    public static RangeSplitIterator<Integer> ofSorted(FlatRange<Integer> range, final int[] sortedSplitPoints)
+    {
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        return new RangeSplitIterator<Integer>(range, new SplitPoints<Integer>()
+        {
+            @Override
+            public Integer get(int index)
+            { return sortedSplitPoints[index]; }
+
+            @Override
+            public int size()
+            { return sortedSplitPoints.length; }
+        });
+    }
+
+    public static RangeSplitIterator<Long> ofSorted(FlatRange<Long> range, final long[] sortedSplitPoints)
+    {
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        return new RangeSplitIterator<Long>(range, new SplitPoints<Long>()
+        {
+            @Override
+            public Long get(int index)
+            { return sortedSplitPoints[index]; }
+
+            @Override
+            public int size()
+            { return sortedSplitPoints.length; }
+        });
+    }
+
+    public static RangeSplitIterator<Double> ofSorted(FlatRange<Double> range, final double[] sortedSplitPoints)
+    {
+        if(sortedSplitPoints == null)
+            throw new NullArgumentException("sortedSplitPoints");
+
+        return new RangeSplitIterator<Double>(range, new SplitPoints<Double>()
+        {
+            @Override
+            public Double get(int index)
+            { return sortedSplitPoints[index]; }
+
+            @Override
+            public int size()
+            { return sortedSplitPoints.length; }
+        });
+    }
+    //</editor-fold>
+
+    @Override
+    public boolean hasNext()
+    { return nextPiece < endPiece; }
+
+    @Override
+    public Range<T> next()
+    {
+        if(nextPiece >= endPiece)
+            throw new NoSuchElementException();
+
+        return getPiece(nextPiece++);
+    }
+
+    @Override
+    public void remove()
+    { throw new UnsupportedOperationException("Pieces of a split range can't be removed."); }
+
+    /**
+     * Splits off the first half of the pieces this iterator has yet to produce into a new iterator, leaving this one
+     * to produce the second half.
+     * @return An iterator over the first half of the remaining pieces, or null if there are too few pieces left to
+     * split.
+     */
+    public RangeSplitIterator<T> trySplit()
+    {
+        int remaining = endPiece - nextPiece;
+
+        if(remaining < 2)
+            return null;
+
+        int middle = nextPiece + (remaining >>> 1);
+        RangeSplitIterator<T> prefix = new RangeSplitIterator<T>(this, nextPiece, middle);
+        nextPiece = middle;
+        return prefix;
+    }
+
+    /**
+     * Gets the number of pieces this iterator has yet to produce.
+     * @return The number of remaining pieces.
+     */
+    public int getRemainingCount()
+    { return endPiece - nextPiece; }
+
+    /**
+     * Produces all of the remaining pieces into a list.
+     * @return A list containing the remaining pieces, in order from lowest to highest.
+     */
+    public List<Range<T>> toList()
+    {
+        List<Range<T>> pieces = new ArrayList<Range<T>>(getRemainingCount());
+
+        while(hasNext())
+            pieces.add(next());
+
+        return pieces;
+    }
+
+    Range<T> getPiece(int piece)
+    {
+        if(splitPointCount == 0)
+            return range;
+
+        boolean isFirst = piece == 0, isLast = piece == splitPointCount;
+
+        T lower = isFirst ? range.getMin() : splitPoints.get(firstSplitPoint + piece - 1);
+        T upper = isLast  ? range.getMax() : splitPoints.get(firstSplitPoint + piece);
+
+        return new ValueRange<T>(lower, isFirst ? range.includesMin() : true,
+                                 upper, isLast  ? range.includesMax() : true);
+    }
+
+    /**
+     * Gets the index of the first split point above (or, if orEqual is true, at or above) the passed value, using a
+     * binary search.
+     */
+    static <T extends Comparable<T>> int firstIndexAbove(SplitPoints<? extends T> points, T value, boolean orEqual)
+    {
+        int low = 0, high = points.size();
+
+        while(low < high)
+        {
+            int middle = (low + high) >>> 1;
+            int compareResult = points.get(middle).compareTo(value);
+
+            if(compareResult > 0 || (orEqual && compareResult == 0))
+                high = middle;
+            else
+                low = middle + 1;
+        }
+
+        return low;
+    }
+}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 public class ValueRange<T extends Comparable<T>> implements FlatRange<T>
@@ -69,47 +68,38 @@ public class ValueRange<T extends Comparable<T>> implements FlatRange<T>
     @Override
     public List<Range<T>> splitBy(T... splitPoints)
     {
-        List<Range<T>> results = new ArrayList<Range<T>>();
         T[] splits = Arrays.copyOf(splitPoints, splitPoints.length);
-        Arrays.sort(splits, new Comparator<T>()
-        {
-            @Override
-            public int compare(T o1, T o2)
-            { return o1.compareTo(o2); }
-        });
-        
-        T previousSplit = min;
-        
-        for(int i = 0; i < splits.length; i++)
-            if(splits[i].compareTo(min) > 0 && splits[i].compareTo(max) < 0)
-                results.add(previousSplit == min ? new ValueRange<T>(min, includesMin, previousSplit = splits[i], true)
-                                                 : new ValueRange<T>(previousSplit, previousSplit = splits[i]));
-        
-        if(previousSplit.compareTo(max) <= 0)
-            results.add(new ValueRange<T>(previousSplit, true, max, includesMax));
-        
-        return results;
+        Arrays.sort(splits);
+        return RangeSplitIterator.ofSorted(this, splits).toList();
     }
 
     @Override
     public List<Range<T>> splitBy(Collection<? extends T> splitPoints)
     {
-        List<Range<T>> results = new ArrayList<Range<T>>();
         List<T> splits = new ArrayList<T>(splitPoints);
         Collections.sort(splits);
-        
-        T previousSplit = min;
-        
-        for(int i = 0; i < splits.size(); i++)
-            if(splits.get(i).compareTo(min) > 0 && splits.get(i).compareTo(max) < 0)
-                results.add(previousSplit == min ? new ValueRange<T>(min, includesMin, previousSplit = splits.get(i), true)
-                                                 : new ValueRange<T>(previousSplit, previousSplit = splits.get(i)));
-        
-        if(previousSplit.compareTo(max) <= 0)
-            results.add(new ValueRange<T>(previousSplit, true, max, includesMax));
-        
-        return results;
+        return RangeSplitIterator.ofSorted(this, splits).toList();
     }
+    
+    /**
+     * Gets an iterator that splits this range by the passed split points as its pieces are requested, rather than
+     * building a list of all of them up front. Produces the same pieces as splitBy.
+     * @param sortedSplitPoints The values by which to split this range, already sorted from lowest to highest. They're
+     * not sorted again.
+     * @return An iterator over the pieces of this range, from lowest to highest.
+     */
+    public RangeSplitIterator<T> splitLazilyBy(List<? extends T> sortedSplitPoints)
+    { return RangeSplitIterator.ofSorted(this, sortedSplitPoints); }
+    
+    /**
+     * Gets an iterator that splits this range by the passed split points as its pieces are requested, rather than
+     * building a list of all of them up front. Produces the same pieces as splitBy.
+     * @param sortedSplitPoints The values by which to split this range, already sorted from lowest to highest. They're
+     * not sorted again.
+     * @return An iterator over the pieces of this range, from lowest to highest.
+     */
+    public RangeSplitIterator<T> splitLazilyBy(T... sortedSplitPoints)
+    { return RangeSplitIterator.ofSorted(this, sortedSplitPoints); }
 
     @Override
     public T getMin()
@@ -122,8 +112,8 @@ public class ValueRange<T extends Comparable<T>> implements FlatRange<T>
     @Override
     public boolean contains(T value)
     {
-        return includesMin ? min.compareTo(value) <= 0 : min.compareTo(value) < 0  // Check lower-bound
-            && includesMax ? max.compareTo(value) >= 0 : max.compareTo(value) > 0; // Check upper-bound
+        return (includesMin ? min.compareTo(value) <= 0 : min.compareTo(value) < 0)  // Check lower-bound
+            && (includesMax ? max.compareTo(value) >= 0 : max.compareTo(value) > 0); // Check upper-bound
     }
 
     @Override
@@ -0,0 +1,183 @@
+package com.enkigaming.mc.lib.compatability;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Getter that hands out the same player, world, and block objects for repeated requests rather than making new ones
+ * each time, getting them from another getter the first time they're requested.
+ * 
+ * Worlds are held per world ID until invalidated, which the platform should do as worlds are unloaded. Players are held
+ * weakly per player ID, so that players nothing else is holding onto can be garbage collected. Blocks, of which there
+ * are too many to hold onto, are held in a fixed-size table where each slot remembers the last block requested that
+ * falls into it, so that blocks requested repeatedly in quick succession are shared.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class CachingGetter implements CompatabilityAccess.Getter
+{
+    static class PlayerReference extends WeakReference<EnkiPlayer>
+    {
+        PlayerReference(UUID playerId, EnkiPlayer player, ReferenceQueue<EnkiPlayer> queue)
+        {
+            super(player, queue);
+            this.playerId = playerId;
+        }
+        
+        final UUID playerId;
+    }
+    
+    /**
+     * Constructor, with a block table of the default size.
+     * @param source The getter to get players, worlds, and blocks from where they aren't already held.
+     */
+    public CachingGetter(CompatabilityAccess.Getter source)
+    { this(source, defaultBlockTableSize); }
+    
+    /**
+     * Constructor.
+     * @param source The getter to get players, worlds, and blocks from where they aren't already held.
+     * @param blockTableSize The number of blocks that may be held at once. This is rounded up to a power of two.
+     */
+    public CachingGetter(CompatabilityAccess.Getter source, int blockTableSize)
+    {
+        if(source == null)
+            throw new NullArgumentException("source");
+        
+        if(blockTableSize <= 0)
+            throw new IllegalArgumentException("The block table size must be positive. (was " + blockTableSize + ")");
+        
+        int tableSize = Integer.highestOneBit(blockTableSize);
+        
+        if(tableSize < blockTableSize)
+            tableSize <<= 1;
+        
+        this.source = source;
+        blocks = new AtomicReferenceArray<EnkiBlock>(tableSize);
+        blockTableMask = tableSize - 1;
+    }
+    
+    static final int defaultBlockTableSize = 1024;
+    
+    final CompatabilityAccess.Getter source;
+    
+    final ConcurrentMap<Integer, EnkiWorld> worlds = new ConcurrentHashMap<Integer, EnkiWorld>();
+    
+    final ConcurrentMap<UUID, PlayerReference> players = new ConcurrentHashMap<UUID, PlayerReference>();
+    final ReferenceQueue<EnkiPlayer> collectedPlayers = new ReferenceQueue<EnkiPlayer>();
+    
+    final AtomicReferenceArray<EnkiBlock> blocks;
+    final int blockTableMask;
+    
+    @Override
+    public EnkiPlayer getPlayer(UUID playerId)
+    {
+        purgeCollectedPlayers();
+        
+        PlayerReference reference = players.get(playerId);
+        EnkiPlayer player = reference == null ? null : reference.get();
+        
+        if(player != null)
+            return player;
+        
+        player = source.getPlayer(playerId);
+        PlayerReference newReference = new PlayerReference(playerId, player, collectedPlayers);
+        
+        for(;;)
+        {
+            // Another thread may have got in first, in which case the player it's holding should be used instead.
+            PlayerReference existing = players.putIfAbsent(playerId, newReference);
+            
+            if(existing == null)
+                return player;
+            
+            EnkiPlayer existingPlayer = existing.get();
+            
+            if(existingPlayer != null)
+                return existingPlayer;
+            
+            if(players.replace(playerId, existing, newReference))
+                return player;
+        }
+    }
+    
+    @Override
+    public EnkiBlock getBlock(int worldId, int x, int y, int z)
+    {
+        int slot = hashBlock(worldId, x, y, z) & blockTableMask;
+        EnkiBlock block = blocks.get(slot);
+        
+        if(block != null && block.getWorldId() == worldId && block.getX() == x && block.getY() == y && block.getZ() == z)
+            return block;
+        
+        block = source.getBlock(worldId, x, y, z);
+        blocks.set(slot, block);
+        return block;
+    }
+    
+    @Override
+    public EnkiWorld getWorld(int worldId)
+    {
+        EnkiWorld world = worlds.get(worldId);
+        
+        if(world != null)
+            return world;
+        
+        world = source.getWorld(worldId);
+        EnkiWorld existing = worlds.putIfAbsent(worldId, world);
+        return existing == null ? world : existing;
+    }
+    
+    /**
+     * Stops holding the world with the passed ID, and any blocks in it, so that they're gotten anew from the source
+     * getter the next time they're requested. This should be called when a world is unloaded.
+     * @param worldId The ID of the world to stop holding.
+     * @return The world that was being held, or null if there wasn't one.
+     */
+    public EnkiWorld invalidateWorld(int worldId)
+    {
+        for(int i = 0; i < blocks.length(); i++)
+        {
+            EnkiBlock block = blocks.get(i);
+            
+            if(block != null && block.getWorldId() == worldId)
+                blocks.compareAndSet(i, block, null);
+        }
+        
+        return worlds.remove(worldId);
+    }
+    
+    /**
+     * Stops holding any players, worlds, and blocks.
+     */
+    public void clear()
+    {
+        worlds.clear();
+        players.clear();
+        
+        for(int i = 0; i < blocks.length(); i++)
+            blocks.set(i, null);
+    }
+    
+    public CompatabilityAccess.Getter getSource()
+    { return source; }
+    
+    void purgeCollectedPlayers()
+    {
+        for(PlayerReference i; (i = (PlayerReference)collectedPlayers.poll()) != null;)
+            players.remove(i.playerId, i);
+    }
+    
+    static int hashBlock(int worldId, int x, int y, int z)
+    {
+        int hash = worldId;
+        hash = hash * 31 + x;
+        hash = hash * 31 + y;
+        hash = hash * 31 + z;
+        return hash ^ (hash >>> 16);
+    }
+}
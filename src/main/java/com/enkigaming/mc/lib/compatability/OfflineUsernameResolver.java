@@ -0,0 +1,24 @@
+package com.enkigaming.mc.lib.compatability;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Resolver that gives the ID a player with the passed username would have on a server in offline mode, for use as the
+ * last resort in a chain of resolvers on such a server. Never resolves IDs to usernames, as offline IDs can't be
+ * reversed.
+ *
+ * Gives an ID for every username, so a chain ending with it never fails to resolve a username. It shouldn't be used on
+ * servers in online mode, where the IDs it gives aren't the IDs of any real player.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class OfflineUsernameResolver implements UsernameResolver
+{
+    @Override
+    public UUID getIdForName(String username)
+    { return UUID.nameUUIDFromBytes(("OfflinePlayer:" + username).getBytes(StandardCharsets.UTF_8)); }
+    
+    @Override
+    public String getNameForId(UUID playerId)
+    { return null; }
+}
@@ -0,0 +1,299 @@
+package com.enkigaming.mc.lib.compatability;
+
+import com.enkigaming.lib.events.exceptions.NoSuchUsernameException;
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Resolves player usernames to IDs and back through a chain of resolvers, asking each in turn until one knows the
+ * answer. (e.g. the username cache, then the players online, then, on servers in offline mode, an offline stand-in)
+ * Lookups can be made synchronously, or on a background thread so that the calling thread isn't held up, and lookups
+ * of many players at once are made in a single task that asks each resolver about all of the players it has left to
+ * resolve.
+ * 
+ * Asynchronous lookups of single players that can't be resolved complete exceptionally with a NoSuchUsernameException,
+ * in keeping with the synchronous lookups. Batched lookups leave out players that can't be resolved.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class UsernameResolutionService
+{
+    /**
+     * Constructor, with a background thread of its own to make asynchronous lookups on.
+     * @param resolvers The resolvers to ask, in order.
+     */
+    public UsernameResolutionService(UsernameResolver... resolvers)
+    {
+        this(Executors.newSingleThreadExecutor(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "EnkiLib username resolution");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }), resolvers);
+    }
+    
+    /**
+     * Constructor.
+     * @param executor The executor to make asynchronous lookups on.
+     * @param resolvers The resolvers to ask, in order.
+     */
+    public UsernameResolutionService(ExecutorService executor, UsernameResolver... resolvers)
+    {
+        if(executor == null)
+            throw new NullArgumentException("executor");
+        
+        this.executor = executor;
+        
+        for(UsernameResolver i : resolvers)
+            addResolver(i);
+    }
+    
+    final ExecutorService executor;
+    final List<UsernameResolver> resolvers = new CopyOnWriteArrayList<UsernameResolver>();
+    
+    //<editor-fold defaultstate="collapsed" desc="Resolvers">
+    /**
+     * Adds a resolver to the end of the chain, to be asked after all of the resolvers already in it.
+     * @param resolver The resolver to add.
+     */
+    public void addResolver(UsernameResolver resolver)
+    {
+        if(resolver == null)
+            throw new NullArgumentException("resolver");
+        
+        resolvers.add(resolver);
+    }
+    
+    /**
+     * Adds a resolver to the chain at the specified position.
+     * @param position The position in the chain, where 0 is asked first.
+     * @param resolver The resolver to add.
+     */
+    public void addResolver(int position, UsernameResolver resolver)
+    {
+        if(resolver == null)
+            throw new NullArgumentException("resolver");
+        
+        resolvers.add(position, resolver);
+    }
+    
+    public boolean removeResolver(UsernameResolver resolver)
+    { return resolvers.remove(resolver); }
+    
+    public List<UsernameResolver> getResolvers()
+    { return new ArrayList<UsernameResolver>(resolvers); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Synchronous lookups">
+    /**
+     * Gets the ID of the player with the passed username, from the first resolver that knows it.
+     * @param username The username to look up.
+     * @return The player's ID.
+     * @throws NoSuchUsernameException If none of the resolvers know of a player with the username.
+     */
+    public UUID resolveId(String username)
+    {
+        if(username == null)
+            throw new NullArgumentException("username");
+        
+        for(UsernameResolver i : resolvers)
+        {
+            UUID id = i.getIdForName(username);
+            
+            if(id != null)
+                return id;
+        }
+        
+        throw new NoSuchUsernameException(username);
+    }
+    
+    /**
+     * Gets the username of the player with the passed ID, from the first resolver that knows it.
+     * @param playerId The ID to look up.
+     * @return The player's username, or null if none of the resolvers know of a player with the ID.
+     */
+    public String resolveName(UUID playerId)
+    {
+        if(playerId == null)
+            throw new NullArgumentException("playerId");
+        
+        for(UsernameResolver i : resolvers)
+        {
+            String name = i.getNameForId(playerId);
+            
+            if(name != null)
+                return name;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Gets the IDs of the players with the passed usernames. Each resolver is asked about all of the usernames not yet
+     * resolved before moving on to the next.
+     * @param usernames The usernames to look up.
+     * @return The IDs of the players, by username, leaving out those none of the resolvers know of.
+     */
+    public Map<String, UUID> resolveIds(Collection<String> usernames)
+    {
+        Set<String> remaining = new LinkedHashSet<String>(usernames);
+        Map<String, UUID> resolved = new HashMap<String, UUID>();
+        
+        for(UsernameResolver resolver : resolvers)
+        {
+            if(remaining.isEmpty())
+                break;
+            
+            for(Iterator<String> i = remaining.iterator(); i.hasNext();)
+            {
+                String name = i.next();
+                UUID id = resolver.getIdForName(name);
+                
+                if(id != null)
+                {
+                    resolved.put(name, id);
+                    i.remove();
+                }
+            }
+        }
+        
+        return resolved;
+    }
+    
+    /**
+     * Gets the usernames of the players with the passed IDs. Each resolver is asked about all of the IDs not yet
+     * resolved before moving on to the next.
+     * @param playerIds The IDs to look up.
+     * @return The usernames of the players, by ID, leaving out those none of the resolvers know of.
+     */
+    public Map<UUID, String> resolveNames(Collection<UUID> playerIds)
+    {
+        Set<UUID> remaining = new LinkedHashSet<UUID>(playerIds);
+        Map<UUID, String> resolved = new HashMap<UUID, String>();
+        
+        for(UsernameResolver resolver : resolvers)
+        {
+            if(remaining.isEmpty())
+                break;
+            
+            for(Iterator<UUID> i = remaining.iterator(); i.hasNext();)
+            {
+                UUID id = i.next();
+                String name = resolver.getNameForId(id);
+                
+                if(name != null)
+                {
+                    resolved.put(id, name);
+                    i.remove();
+                }
+            }
+        }
+        
+        return resolved;
+    }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Asynchronous lookups">
+    /**
+     * Gets the ID of the player with the passed username on a background thread.
+     * @param username The username to look up.
+     * @return A future of the player's ID, which completes with a NoSuchUsernameException if none of the resolvers
+     * know of a player with the username.
+     */
+    public Future<UUID> resolveIdAsync(final String username)
+    {
+        if(username == null)
+            throw new NullArgumentException("username");
+        
+        return executor.submit(new Callable<UUID>()
+        {
+            @Override
+            public UUID call()
+            { return resolveId(username); }
+        });
+    }
+    
+    /**
+     * Gets the username of the player with the passed ID on a background thread.
+     * @param playerId The ID to look up.
+     * @return A future of the player's username, which completes with a NoSuchUsernameException if none of the
+     * resolvers know of a player with the ID.
+     */
+    public Future<String> resolveNameAsync(final UUID playerId)
+    {
+        if(playerId == null)
+            throw new NullArgumentException("playerId");
+        
+        return executor.submit(new Callable<String>()
+        {
+            @Override
+            public String call()
+            {
+                String name = resolveName(playerId);
+                
+                if(name == null)
+                    throw new NoSuchUsernameException(null, "No username is known for player " + playerId + ".");
+                
+                return name;
+            }
+        });
+    }
+    
+    /**
+     * Gets the IDs of the players with the passed usernames on a background thread, as a single task.
+     * @param usernames The usernames to look up.
+     * @return A future of the IDs of the players, by username, leaving out those none of the resolvers know of.
+     */
+    public Future<Map<String, UUID>> resolveIdsAsync(Collection<String> usernames)
+    {
+        final List<String> toResolve = new ArrayList<String>(usernames);
+        
+        return executor.submit(new Callable<Map<String, UUID>>()
+        {
+            @Override
+            public Map<String, UUID> call()
+            { return resolveIds(toResolve); }
+        });
+    }
+    
+    /**
+     * Gets the usernames of the players with the passed IDs on a background thread, as a single task.
+     * @param playerIds The IDs to look up.
+     * @return A future of the usernames of the players, by ID, leaving out those none of the resolvers know of.
+     */
+    public Future<Map<UUID, String>> resolveNamesAsync(Collection<UUID> playerIds)
+    {
+        final List<UUID> toResolve = new ArrayList<UUID>(playerIds);
+        
+        return executor.submit(new Callable<Map<UUID, String>>()
+        {
+            @Override
+            public Map<UUID, String> call()
+            { return resolveNames(toResolve); }
+        });
+    }
+    //</editor-fold>
+    
+    /**
+     * Stops accepting asynchronous lookups. Lookups already submitted are still completed.
+     */
+    public void shutdown()
+    { executor.shutdown(); }
+}
@@ -0,0 +1,24 @@
+package com.enkigaming.mc.lib.compatability;
+
+import java.util.UUID;
+
+/**
+ * A source of player IDs and usernames, for use as one link in a UsernameResolutionService's chain of resolvers.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public interface UsernameResolver
+{
+    /**
+     * Gets the ID of the player with the passed username.
+     * @param username The username to look up.
+     * @return The player's ID, or null if this resolver doesn't know of a player with that username.
+     */
+    UUID getIdForName(String username);
+    
+    /**
+     * Gets the username of the player with the passed ID.
+     * @param playerId The ID to look up.
+     * @return The player's username, or null if this resolver doesn't know of a player with that ID.
+     */
+    String getNameForId(UUID playerId);
+}
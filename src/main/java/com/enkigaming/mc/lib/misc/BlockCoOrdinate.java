@@ -1,6 +1,7 @@
 package com.enkigaming.mc.lib.misc;
 
 import com.enkigaming.lib.misc.coordinates.CoOrdinate3d;
+import com.enkigaming.lib.misc.coordinates.PackedCoOrdinates;
 import com.enkigaming.mc.lib.compatability.CompatabilityAccess;
 import com.enkigaming.mc.lib.compatability.EnkiWorld;
 
@@ -28,4 +29,25 @@ public class BlockCoOrdinate extends CoOrdinate3d
     
     public EnkiWorld getWorld()
     { return CompatabilityAccess.getWorld(worldId); }
+    
+    /**
+     * Packs this block's x, y, and z co-ordinates into a long. The world ID isn't included.
+     * @return The packed co-ordinates.
+     * @see PackedCoOrdinates#packBlock(int, int, int)
+     */
+    public long toPackedLong()
+    { return PackedCoOrdinates.packBlock(getX(), getY(), getZ()); }
+    
+    /**
+     * Creates a block co-ordinate from co-ordinates packed by toPackedLong.
+     * @param worldId The ID of the world the block is in.
+     * @param packed The packed co-ordinates.
+     * @return A new block co-ordinate.
+     */
+    public static BlockCoOrdinate fromPackedLong(int worldId, long packed)
+    {
+        return new BlockCoOrdinate(worldId, PackedCoOrdinates.unpackBlockX(packed),
+                                            PackedCoOrdinates.unpackBlockY(packed),
+                                            PackedCoOrdinates.unpackBlockZ(packed));
+    }
 }
\ No newline at end of file
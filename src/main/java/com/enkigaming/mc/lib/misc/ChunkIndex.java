@@ -0,0 +1,238 @@
+package com.enkigaming.mc.lib.misc;
+
+import com.enkigaming.lib.collections.LongHashSet;
+import com.enkigaming.lib.collections.LongIterator;
+import static com.enkigaming.lib.misc.coordinates.PackedCoOrdinates.*;
+
+/**
+ * Set of chunks, across any number of worlds, held as packed chunk co-ordinates for fast adjacency and region queries.
+ * (e.g. for claimed or protected chunks)
+ * 
+ * Adjacency checks are constant-time and don't allocate, and queries over areas cost the smaller of the area and the
+ * number of chunks held. Adjacency is only along the x and z axes, not diagonal.
+ * 
+ * Not thread-safe.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class ChunkIndex
+{
+    public ChunkIndex()
+    { chunks = new LongHashSet(); }
+    
+    /**
+     * Constructor.
+     * @param expectedSize The number of chunks the index should be able to hold without needing to grow.
+     */
+    public ChunkIndex(int expectedSize)
+    { chunks = new LongHashSet(expectedSize); }
+    
+    // Packed by PackedCoOrdinates.packChunk.
+    final LongHashSet chunks;
+    
+    //<editor-fold defaultstate="collapsed" desc="Mutators">
+    /**
+     * Adds a chunk to the index.
+     * @return True if the chunk wasn't already in the index. Otherwise, false.
+     */
+    public boolean add(int worldId, int x, int z)
+    { return chunks.add(packChunk(worldId, x, z)); }
+    
+    /**
+     * Adds a chunk to the index.
+     * @param packedChunk The chunk's co-ordinates, as packed by PackedCoOrdinates.packChunk.
+     * @return True if the chunk wasn't already in the index. Otherwise, false.
+     */
+    public boolean add(long packedChunk)
+    { return chunks.add(packedChunk); }
+    
+    /**
+     * Removes a chunk from the index.
+     * @return True if the chunk was in the index. Otherwise, false.
+     */
+    public boolean remove(int worldId, int x, int z)
+    { return chunks.remove(packChunk(worldId, x, z)); }
+    
+    /**
+     * Removes a chunk from the index.
+     * @param packedChunk The chunk's co-ordinates, as packed by PackedCoOrdinates.packChunk.
+     * @return True if the chunk was in the index. Otherwise, false.
+     */
+    public boolean remove(long packedChunk)
+    { return chunks.remove(packedChunk); }
+    
+    public void clear()
+    { chunks.clear(); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Accessors">
+    public boolean contains(int worldId, int x, int z)
+    { return chunks.contains(packChunk(worldId, x, z)); }
+    
+    public boolean contains(long packedChunk)
+    { return chunks.contains(packedChunk); }
+    
+    public int size()
+    { return chunks.size(); }
+    
+    public boolean isEmpty()
+    { return chunks.isEmpty(); }
+    
+    /**
+     * Gets an iterator over the packed co-ordinates of the chunks in the index, in no particular order. The index
+     * mustn't be changed while it's being iterated over.
+     * @return An iterator over the packed chunk co-ordinates.
+     */
+    public LongIterator iterator()
+    { return chunks.iterator(); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Queries">
+    /**
+     * Gets whether any chunk directly next to the specified chunk is in the index. The specified chunk itself doesn't
+     * need to be in the index.
+     * @return True if any of the chunk's four neighbours are in the index. Otherwise, false.
+     */
+    public boolean isNextToAny(int worldId, int x, int z)
+    { return countNeighbours(worldId, x, z) > 0; }
+    
+    /**
+     * Gets the number of chunks directly next to the specified chunk that are in the index.
+     * @return The number of the chunk's four neighbours that are in the index.
+     */
+    public int countNeighbours(int worldId, int x, int z)
+    {
+        return (contains(worldId, x + 1, z) ? 1 : 0)
+             + (contains(worldId, x - 1, z) ? 1 : 0)
+             + (contains(worldId, x, z + 1) ? 1 : 0)
+             + (contains(worldId, x, z - 1) ? 1 : 0);
+    }
+    
+    /**
+     * Gets the chunks in the index that are connected to the specified chunk through chunks in the index. That is, the
+     * region of the index the chunk is part of.
+     * @return The packed co-ordinates of the chunks in the region, including the specified chunk, or an empty set if
+     * the specified chunk isn't in the index.
+     */
+    public LongHashSet getConnectedRegion(int worldId, int x, int z)
+    {
+        LongHashSet region = new LongHashSet();
+        long start = packChunk(worldId, x, z);
+        
+        if(!chunks.contains(start))
+            return region;
+        
+        // Flood fill with an array-backed queue of packed chunks.
+        long[] queue = new long[16];
+        int head = 0, tail = 0;
+        
+        region.add(start);
+        queue[tail++] = start;
+        
+        while(head < tail)
+        {
+            long current = queue[head++];
+            int currentX = unpackChunkX(current), currentZ = unpackChunkZ(current);
+            
+            for(int i = 0; i < 4; i++)
+            {
+                int neighbourX = currentX + (i == 0 ? 1 : i == 1 ? -1 : 0);
+                int neighbourZ = currentZ + (i == 2 ? 1 : i == 3 ? -1 : 0);
+                long neighbour = packChunk(worldId, neighbourX, neighbourZ);
+                
+                if(chunks.contains(neighbour) && region.add(neighbour))
+                {
+                    if(tail == queue.length)
+                    {
+                        // Reclaim the consumed front of the queue before growing it.
+                        long[] newQueue = new long[head > queue.length / 2 ? queue.length : queue.length * 2];
+                        System.arraycopy(queue, head, newQueue, 0, tail - head);
+                        tail -= head;
+                        head = 0;
+                        queue = newQueue;
+                    }
+                    
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        
+        return region;
+    }
+    
+    /**
+     * Gets the chunks in the index within the specified box of chunk co-ordinates.
+     * @param worldId The ID of the world to get chunks in.
+     * @param minX The lowest x co-ordinate in the box. (incl)
+     * @param minZ The lowest z co-ordinate in the box. (incl)
+     * @param maxX The highest x co-ordinate in the box. (incl)
+     * @param maxZ The highest z co-ordinate in the box. (incl)
+     * @return The packed co-ordinates of the chunks in the box.
+     */
+    public LongHashSet getChunksInBox(int worldId, int minX, int minZ, int maxX, int maxZ)
+    { return getChunksWithin(worldId, minX, minZ, maxX, maxZ, -1, 0, 0); }
+    
+    /**
+     * Gets the chunks in the index within the specified distance of a chunk, measured between chunk co-ordinates.
+     * @param worldId The ID of the world to get chunks in.
+     * @param centreX The x co-ordinate of the chunk to measure from.
+     * @param centreZ The z co-ordinate of the chunk to measure from.
+     * @param radius The distance from the centre chunk chunks may be. (incl)
+     * @return The packed co-ordinates of the chunks within the radius.
+     */
+    public LongHashSet getChunksInRadius(int worldId, int centreX, int centreZ, int radius)
+    {
+        if(radius < 0)
+            throw new IllegalArgumentException("The radius can't be negative. (was " + radius + ")");
+        
+        return getChunksWithin(worldId, centreX - radius, centreZ - radius, centreX + radius, centreZ + radius,
+                               (long)radius * radius, centreX, centreZ);
+    }
+    
+    /**
+     * Gets the chunks within a box, and, where radiusSquared isn't negative, within the given radius of the centre.
+     * Checks each position in the box against the index, or each chunk in the index against the box, whichever is
+     * fewer.
+     */
+    LongHashSet getChunksWithin(int worldId, int minX, int minZ, int maxX, int maxZ,
+                                long radiusSquared, int centreX, int centreZ)
+    {
+        LongHashSet result = new LongHashSet();
+        
+        if(minX > maxX || minZ > maxZ)
+            return result;
+        
+        long area = ((long)maxX - minX + 1) * ((long)maxZ - minZ + 1);
+        
+        if(area <= chunks.size())
+        {
+            for(int x = minX; x <= maxX; x++)
+                for(int z = minZ; z <= maxZ; z++)
+                    if(isWithinRadius(x, z, radiusSquared, centreX, centreZ) && contains(worldId, x, z))
+                        result.add(packChunk(worldId, x, z));
+        }
+        else
+        {
+            for(LongIterator i = chunks.iterator(); i.hasNext();)
+            {
+                long chunk = i.next();
+                int x = unpackChunkX(chunk), z = unpackChunkZ(chunk);
+                
+                if(unpackChunkWorldId(chunk) == worldId && x >= minX && x <= maxX && z >= minZ && z <= maxZ
+                   && isWithinRadius(x, z, radiusSquared, centreX, centreZ))
+                    result.add(chunk);
+            }
+        }
+        
+        return result;
+    }
+    
+    static boolean isWithinRadius(int x, int z, long radiusSquared, int centreX, int centreZ)
+    {
+        if(radiusSquared < 0)
+            return true;
+        
+        long xDistance = (long)x - centreX, zDistance = (long)z - centreZ;
+        return xDistance * xDistance + zDistance * zDistance <= radiusSquared;
+    }
+    //</editor-fold>
+}
@@ -1,13 +1,10 @@
 package com.enkigaming.mc.lib.misc;
 
 import com.enkigaming.lib.events.Event;
-import com.enkigaming.lib.events.EventListener;
-import com.enkigaming.lib.events.ListenerPriority;
+import com.enkigaming.lib.events.EventArgs;
 import com.enkigaming.lib.events.StandardEvent;
 import com.enkigaming.lib.events.StandardEventArgs;
-import com.enkigaming.mc.lib.compatability.CompatabilityEvents;
-import com.enkigaming.mc.lib.compatability.CompatabilityEvents.SecondTickArgs;
-import org.apache.commons.lang3.NotImplementedException;
+import com.enkigaming.lib.tuples.Pair;
 
 public class TickCountdownTimer
 {
@@ -33,7 +30,18 @@ public class TickCountdownTimer
     {} // nothing, atm
     
     public TickCountdownTimer(int seconds)
-    { numberOfSecondsLeft = seconds; }
+    { this(seconds, TickScheduler.getServerScheduler()); }
+    
+    /**
+     * Constructor.
+     * @param seconds The number of seconds to count down from.
+     * @param scheduler The scheduler to tick the timer from.
+     */
+    public TickCountdownTimer(int seconds, TickScheduler scheduler)
+    {
+        numberOfSecondsLeft = seconds;
+        this.scheduler = scheduler;
+    }
     
     public TickCountdownTimer(int minutes, int seconds)
     { this((minutes * 60) + seconds); }
@@ -43,40 +51,81 @@ public class TickCountdownTimer
     
     int numberOfSecondsLeft;
     
+    final TickScheduler scheduler;
+    TickScheduler.ScheduledTask scheduledTick = null; // Guarded by tickingBusy.
+    
     final Object tickingBusy = new Object();
     
-    EventListener<SecondTickArgs> secondPassedListener = new EventListener<SecondTickArgs>()
+    final Runnable tickTask = new Runnable()
     {
         // Once support for Java 7 is dropped, this can be switched for a lambda expression.
         @Override
-        public void onEvent(Object sender, SecondTickArgs args)
+        public void run()
         { tick(); }
     };
     
+    /**
+     * Raised when any timer ticks, alongside the ticking timer's own timerTicked event.
+     */
     public static Event<TickedArgs> ticked = new StandardEvent<TickedArgs>();
+    
+    /**
+     * Raised when any timer finishes, alongside the finishing timer's own timerFinished event.
+     */
     public static Event<FinishedArgs> finished = new StandardEvent<FinishedArgs>();
     
+    /**
+     * Raised when this timer ticks.
+     */
+    public final Event<TickedArgs> timerTicked = new StandardEvent<TickedArgs>();
+    
+    /**
+     * Raised when this timer finishes.
+     */
+    public final Event<FinishedArgs> timerFinished = new StandardEvent<FinishedArgs>();
+    
+    /**
+     * Starts the timer counting down, ticking once every second from now. Does nothing if the timer's already running.
+     * A timer whose ticks were cancelled by its scheduler's cancelAll() isn't running, and can be started again.
+     */
     public void start()
-    { CompatabilityEvents.secondPassed.register(ListenerPriority.Monitor, secondPassedListener); }
+    {
+        synchronized(tickingBusy)
+        {
+            if(scheduledTick == null || scheduledTick.isCancelled())
+                scheduledTick = scheduler.scheduleRepeatingInSeconds(1, 1, tickTask);
+        }
+    }
     
     public void resume()
     { start(); } // purely syntactic, for using alongside pause();
     
     public void pause()
-    { CompatabilityEvents.secondPassed.deregister(secondPassedListener); }
+    {
+        synchronized(tickingBusy)
+        {
+            if(scheduledTick != null)
+            {
+                scheduledTick.cancel();
+                scheduledTick = null;
+            }
+        }
+    }
     
     public void finish()
     {
         FinishedArgs args = new FinishedArgs();
+        Pair<Event<FinishedArgs>, EventArgs> timerRaise
+            = new Pair<Event<FinishedArgs>, EventArgs>(timerFinished, new FinishedArgs());
         
         try
-        { finished.raise(this, args); }
+        { finished.raiseAlongside(this, args, timerRaise); }
         finally
         {
             try
-            { finished.raisePostEvent(tickingBusy, args); }
+            { finished.raisePostEventAlongside(this, args, timerRaise); }
             finally
-            { CompatabilityEvents.secondPassed.deregister(secondPassedListener); }
+            { pause(); }
         }
     }
     
@@ -85,16 +134,23 @@ public class TickCountdownTimer
         synchronized(tickingBusy)
         {
             TickedArgs args = new TickedArgs(numberOfSecondsLeft - 1);
-
+            TickedArgs timerArgs = new TickedArgs(numberOfSecondsLeft - 1);
+            Pair<Event<TickedArgs>, EventArgs> timerRaise
+                = new Pair<Event<TickedArgs>, EventArgs>(timerTicked, timerArgs);
+            
             try
             {
-                ticked.raise(this, args);
-                numberOfSecondsLeft = args.getNumberOfSecondsLeft();
+                ticked.raiseAlongside(this, args, timerRaise);
+                
+                // Changes made by listeners to this timer specifically take precedence.
+                numberOfSecondsLeft = timerArgs.getNumberOfSecondsLeft() != numberOfSecondsLeft - 1
+                                    ? timerArgs.getNumberOfSecondsLeft()
+                                    : args.getNumberOfSecondsLeft();
             }
             finally
             {
                 try
-                { ticked.raisePostEvent(this, args); }
+                { ticked.raisePostEventAlongside(this, args, timerRaise); }
                 finally
                 { if(numberOfSecondsLeft <= 0) finish(); }
             }
@@ -0,0 +1,275 @@
+package com.enkigaming.mc.lib.misc;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how long named phases of work take, keeping the most recent durations of each phase so that their median,
+ * 99th percentile, and maximum over that window can be reported. Used to measure how much of each tick is spent in work
+ * driven by this library.
+ * 
+ * Recording a duration is constant-time. Percentiles are only worked out when stats or a report are requested.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class TickProfiler
+{
+    /**
+     * Summary of the durations recorded for a phase within the profiler's window.
+     */
+    public static class PhaseStats
+    {
+        PhaseStats(String phase, long totalCount, long[] sortedDurations)
+        {
+            this.phase = phase;
+            this.totalCount = totalCount;
+            this.sampleCount = sortedDurations.length;
+            this.p50Nanos = percentileOf(sortedDurations, 50);
+            this.p99Nanos = percentileOf(sortedDurations, 99);
+            this.maxNanos = sortedDurations.length == 0 ? 0 : sortedDurations[sortedDurations.length - 1];
+        }
+        
+        final String phase;
+        final long totalCount;
+        final int sampleCount;
+        final long p50Nanos, p99Nanos, maxNanos;
+        
+        public String getPhase()
+        { return phase; }
+        
+        /**
+         * Gets the number of durations recorded for the phase since the profiler was created or reset.
+         * @return The total number of durations recorded.
+         */
+        public long getTotalCount()
+        { return totalCount; }
+        
+        /**
+         * Gets the number of durations the stats were worked out from. That is, the number within the window.
+         * @return The number of durations in the window.
+         */
+        public int getSampleCount()
+        { return sampleCount; }
+        
+        public double getP50Millis()
+        { return p50Nanos / 1000000.0; }
+        
+        public double getP99Millis()
+        { return p99Nanos / 1000000.0; }
+        
+        public double getMaxMillis()
+        { return maxNanos / 1000000.0; }
+        
+        @Override
+        public String toString()
+        {
+            return String.format(Locale.ROOT, "%-32s %10d %10d %10.3f %10.3f %10.3f", phase, totalCount, sampleCount,
+                                 getP50Millis(), getP99Millis(), getMaxMillis());
+        }
+        
+        static long percentileOf(long[] sorted, int percentile)
+        {
+            if(sorted.length == 0)
+                return 0;
+            
+            // Nearest-rank.
+            int rank = (int)Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+    
+    /**
+     * Ring buffer of the most recent durations recorded for a phase.
+     */
+    static class PhaseSamples
+    {
+        PhaseSamples(int windowSize)
+        { durations = new long[windowSize]; }
+        
+        final long[] durations;
+        int next = 0;
+        long totalCount = 0;
+        
+        synchronized void record(long nanos)
+        {
+            durations[next] = nanos;
+            next = (next + 1) % durations.length;
+            totalCount++;
+        }
+        
+        synchronized PhaseStats getStats(String phase)
+        {
+            long[] samples = Arrays.copyOf(durations, (int)Math.min(totalCount, durations.length));
+            Arrays.sort(samples);
+            return new PhaseStats(phase, totalCount, samples);
+        }
+    }
+    
+    /**
+     * Constructor, with a window of the default size. (One minute of ticks)
+     */
+    public TickProfiler()
+    { this(defaultWindowSize); }
+    
+    /**
+     * Constructor.
+     * @param windowSize The number of most recent durations of each phase to work out stats from.
+     */
+    public TickProfiler(int windowSize)
+    {
+        if(windowSize <= 0)
+            throw new IllegalArgumentException("The window size must be positive. (was " + windowSize + ")");
+        
+        this.windowSize = windowSize;
+    }
+    
+    static final int defaultWindowSize = 60 * TickScheduler.ticksPerSecond;
+    
+    static final TickProfiler serverProfiler = new TickProfiler();
+    
+    final int windowSize;
+    final ConcurrentMap<String, PhaseSamples> phases = new ConcurrentHashMap<String, PhaseSamples>();
+    volatile boolean enabled = true;
+    
+    /**
+     * Gets the profiler that the library's own server-side work is recorded to.
+     * @return The server's tick profiler.
+     */
+    public static TickProfiler getServerProfiler()
+    { return serverProfiler; }
+    
+    //<editor-fold defaultstate="collapsed" desc="Recording">
+    /**
+     * Gets the time to pass to record once the phase being measured has finished.
+     * @return The current value of System.nanoTime(), or 0 if the profiler is disabled.
+     */
+    public long start()
+    { return enabled ? System.nanoTime() : 0; }
+    
+    /**
+     * Records a phase as having taken from the passed start time until now.
+     * @param phase The name of the phase.
+     * @param startNanos The time returned by start() at the beginning of the phase.
+     */
+    public void record(String phase, long startNanos)
+    {
+        if(enabled && startNanos != 0)
+            recordDuration(phase, System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Records a phase as having taken the passed amount of time.
+     * @param phase The name of the phase.
+     * @param nanos The time the phase took, in nanoseconds.
+     */
+    public void recordDuration(String phase, long nanos)
+    {
+        if(phase == null)
+            throw new NullArgumentException("phase");
+        
+        if(!enabled)
+            return;
+        
+        PhaseSamples samples = phases.get(phase);
+        
+        if(samples == null)
+        {
+            PhaseSamples newSamples = new PhaseSamples(windowSize);
+            samples = phases.putIfAbsent(phase, newSamples);
+            
+            if(samples == null)
+                samples = newSamples;
+        }
+        
+        samples.record(nanos);
+    }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Reporting">
+    /**
+     * Gets the stats of a phase.
+     * @param phase The name of the phase.
+     * @return The phase's stats, or null if nothing's been recorded for it.
+     */
+    public PhaseStats getStats(String phase)
+    {
+        PhaseSamples samples = phases.get(phase);
+        return samples == null ? null : samples.getStats(phase);
+    }
+    
+    /**
+     * Gets the stats of all phases that have been recorded.
+     * @return The stats of each phase, in order of phase name.
+     */
+    public List<PhaseStats> getAllStats()
+    {
+        List<String> phaseNames = new ArrayList<String>(phases.keySet());
+        Collections.sort(phaseNames);
+        List<PhaseStats> stats = new ArrayList<PhaseStats>(phaseNames.size());
+        
+        for(String i : phaseNames)
+            stats.add(getStats(i));
+        
+        return stats;
+    }
+    
+    /**
+     * Gets a table of the stats of all phases that have been recorded, one phase per line, with times in milliseconds.
+     * @return The report, as a string.
+     */
+    public String getReport()
+    {
+        StringBuilder report = new StringBuilder();
+        
+        report.append(String.format(Locale.ROOT, "%-32s %10s %10s %10s %10s %10s", "Phase", "Total", "Window",
+                                    "p50 ms", "p99 ms", "Max ms"));
+        
+        for(PhaseStats i : getAllStats())
+            report.append(System.lineSeparator()).append(i);
+        
+        return report.toString();
+    }
+    
+    public void printReport(PrintStream stream)
+    { stream.println(getReport()); }
+    
+    /**
+     * Writes the report to a file, replacing anything already in it.
+     * @param file The file to write the report to.
+     * @throws FileNotFoundException If the file couldn't be created or written to.
+     */
+    public void writeReport(File file) throws FileNotFoundException
+    {
+        if(file.getParentFile() != null)
+            file.getParentFile().mkdirs();
+        
+        PrintWriter writer = new PrintWriter(file);
+        
+        try
+        { writer.println(getReport()); }
+        finally
+        { writer.close(); }
+    }
+    //</editor-fold>
+    
+    public boolean isEnabled()
+    { return enabled; }
+    
+    public void setEnabled(boolean enabled)
+    { this.enabled = enabled; }
+    
+    /**
+     * Forgets all recorded durations.
+     */
+    public void reset()
+    { phases.clear(); }
+}
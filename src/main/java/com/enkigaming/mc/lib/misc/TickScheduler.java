@@ -0,0 +1,340 @@
+package com.enkigaming.mc.lib.misc;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+
+/**
+ * Runs tasks after a given number of ticks, using a hierarchical timing wheel. Scheduling and cancelling tasks are
+ * constant-time, and the cost of each tick depends on the number of tasks due, not on the number scheduled.
+ * 
+ * The wheel has a level for each 6 bits of the tick count, each with a slot for each of the 64 values those bits can
+ * take. A task is held at the level of the highest bits in which its due tick differs from the current tick, in the
+ * slot for its due tick's bits at that level. When the current tick reaches the start of a slot at a higher level, the
+ * tasks in it are moved down to the lower levels, so that each task is moved at most once per level before it's due.
+ * 
+ * The scheduler doesn't advance by itself; tick() should be called once per game tick. For the server, this is done for
+ * the scheduler returned by getServerScheduler(). Tasks are run on the thread calling tick(), and tasks may be
+ * scheduled and cancelled from any thread.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class TickScheduler
+{
+    /**
+     * A task that's been scheduled to run, which may be used to cancel it.
+     */
+    public static class ScheduledTask
+    {
+        ScheduledTask(TickScheduler scheduler, Runnable task, long dueTick, long period)
+        {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.dueTick = dueTick;
+            this.period = period;
+        }
+        
+        final TickScheduler scheduler;
+        final Runnable task;
+        final long period; // 0 if the task isn't repeating.
+        
+        // All guarded by the scheduler's busy lock.
+        long dueTick;
+        boolean cancelled = false;
+        boolean done = false;
+        
+        // Position in the wheel, where slot is -1 if the task isn't currently held in the wheel.
+        int slot = -1;
+        ScheduledTask previous, next;
+        
+        /**
+         * Stops the task from being run, or being run again if it repeats.
+         * @return True if the task was cancelled. False if it had already been cancelled or had already been run and
+         * doesn't repeat.
+         */
+        public boolean cancel()
+        {
+            synchronized(scheduler.busy)
+            {
+                if(cancelled || done)
+                    return false;
+                
+                cancelled = true;
+                
+                if(slot >= 0)
+                    scheduler.unlink(this);
+                
+                return true;
+            }
+        }
+        
+        public boolean isCancelled()
+        {
+            synchronized(scheduler.busy)
+            { return cancelled; }
+        }
+        
+        /**
+         * Gets whether the task has been run and won't be run again.
+         * @return True if the task has been run and doesn't repeat. Otherwise, false.
+         */
+        public boolean isDone()
+        {
+            synchronized(scheduler.busy)
+            { return done; }
+        }
+        
+        /**
+         * Gets the number of ticks until the task is next run.
+         * @return The number of ticks until the task is due, or 0 if it's been cancelled or won't be run again.
+         */
+        public long getTicksRemaining()
+        {
+            synchronized(scheduler.busy)
+            { return cancelled || done ? 0 : Math.max(0, dueTick - scheduler.currentTick); }
+        }
+    }
+    
+    public TickScheduler()
+    { slots = new ScheduledTask[levelCount * slotsPerLevel]; }
+    
+    public static final int ticksPerSecond = 20;
+    
+    static final int bitsPerLevel = 6;
+    static final int slotsPerLevel = 1 << bitsPerLevel;
+    static final int slotMask = slotsPerLevel - 1;
+    static final int levelCount = (64 + bitsPerLevel - 1) / bitsPerLevel; // Enough levels to cover any tick count.
+    
+    static final TickScheduler serverScheduler = new TickScheduler();
+    
+    // The head of the list of tasks in each slot, level by level.
+    final ScheduledTask[] slots;
+    
+    long currentTick = 0;
+    int scheduledCount = 0;
+    
+    final Object busy = new Object();
+    
+    /**
+     * Gets the scheduler advanced once per server tick.
+     * @return The server's tick scheduler.
+     */
+    public static TickScheduler getServerScheduler()
+    { return serverScheduler; }
+    
+    //<editor-fold defaultstate="collapsed" desc="Scheduling">
+    /**
+     * Schedules a task to be run once, after the passed number of ticks.
+     * @param delayInTicks The number of ticks to wait before running the task. Delays of less than one tick are run on
+     * the next tick.
+     * @param task The task to run.
+     * @return The scheduled task, which may be used to cancel it.
+     */
+    public ScheduledTask schedule(long delayInTicks, Runnable task)
+    { return schedule(delayInTicks, 0, task); }
+    
+    /**
+     * Schedules a task to be run repeatedly, first after the passed delay, and thereafter every period.
+     * @param delayInTicks The number of ticks to wait before first running the task. Delays of less than one tick are
+     * run on the next tick.
+     * @param periodInTicks The number of ticks between each run of the task. Must be at least 1.
+     * @param task The task to run.
+     * @return The scheduled task, which may be used to cancel it.
+     */
+    public ScheduledTask scheduleRepeating(long delayInTicks, long periodInTicks, Runnable task)
+    {
+        if(periodInTicks < 1)
+            throw new IllegalArgumentException("The period must be at least one tick. (was " + periodInTicks + ")");
+        
+        return schedule(delayInTicks, periodInTicks, task);
+    }
+    
+    public ScheduledTask scheduleInSeconds(int delayInSeconds, Runnable task)
+    { return schedule((long)delayInSeconds * ticksPerSecond, 0, task); }
+    
+    public ScheduledTask scheduleRepeatingInSeconds(int delayInSeconds, int periodInSeconds, Runnable task)
+    { return scheduleRepeating((long)delayInSeconds * ticksPerSecond, (long)periodInSeconds * ticksPerSecond, task); }
+    
+    ScheduledTask schedule(long delayInTicks, long period, Runnable task)
+    {
+        if(task == null)
+            throw new NullArgumentException("task");
+        
+        synchronized(busy)
+        {
+            long dueTick = currentTick + Math.max(1, Math.min(delayInTicks, Long.MAX_VALUE - currentTick));
+            ScheduledTask scheduled = new ScheduledTask(this, task, dueTick, period);
+            link(scheduled);
+            return scheduled;
+        }
+    }
+    
+    /**
+     * Cancels every task waiting to be run, as when the server they were scheduled for has stopped.
+     * @return The number of tasks cancelled.
+     */
+    public int cancelAll()
+    {
+        synchronized(busy)
+        {
+            int cancelled = scheduledCount;
+            
+            for(int slot = 0; slot < slots.length; slot++)
+            {
+                for(ScheduledTask i = slots[slot], next; i != null; i = next)
+                {
+                    next = i.next;
+                    i.cancelled = true;
+                    i.slot = -1;
+                    i.previous = i.next = null;
+                }
+                
+                slots[slot] = null;
+            }
+            
+            scheduledCount = 0;
+            return cancelled;
+        }
+    }
+    //</editor-fold>
+    
+    /**
+     * Advances the scheduler by one tick, running all tasks due on the new tick. Should be called once per tick, from
+     * one thread.
+     * 
+     * If any tasks throw, the remaining due tasks are still run, and the first exception thrown is rethrown afterwards.
+     */
+    public void tick()
+    {
+        ScheduledTask due;
+        
+        synchronized(busy)
+        {
+            currentTick++;
+            
+            // Move down tasks from the higher-level slots the current tick has just reached the start of.
+            for(int level = 1; level < levelCount; level++)
+            {
+                if((currentTick & ((1L << (bitsPerLevel * level)) - 1)) != 0)
+                    break;
+                
+                int slot = level * slotsPerLevel + (int)((currentTick >>> (bitsPerLevel * level)) & slotMask);
+                ScheduledTask toCascade = slots[slot];
+                slots[slot] = null;
+                
+                while(toCascade != null)
+                {
+                    ScheduledTask nextToCascade = toCascade.next;
+                    toCascade.slot = -1;
+                    scheduledCount--;
+                    link(toCascade);
+                    toCascade = nextToCascade;
+                }
+            }
+            
+            // Everything in the current tick's bottom-level slot is due now.
+            int slot = (int)(currentTick & slotMask);
+            due = slots[slot];
+            slots[slot] = null;
+            
+            for(ScheduledTask i = due; i != null; i = i.next)
+            {
+                i.slot = -1;
+                scheduledCount--;
+            }
+        }
+        
+        runDue(due);
+    }
+    
+    void runDue(ScheduledTask due)
+    {
+        RuntimeException thrown = null;
+        
+        while(due != null)
+        {
+            ScheduledTask current = due;
+            due = due.next;
+            
+            synchronized(busy)
+            {
+                // May have been cancelled since being taken out of the wheel.
+                if(current.cancelled)
+                    continue;
+                
+                if(current.period > 0)
+                {
+                    current.dueTick = current.dueTick + current.period;
+                    link(current);
+                }
+                else
+                    current.done = true;
+            }
+            
+            try
+            { current.task.run(); }
+            catch(RuntimeException exception)
+            {
+                if(thrown == null)
+                    thrown = exception;
+                else
+                    thrown.addSuppressed(exception);
+            }
+        }
+        
+        if(thrown != null)
+            throw thrown;
+    }
+    
+    /**
+     * Puts a task into the slot for its due tick. Should only be called while holding busy.
+     */
+    void link(ScheduledTask task)
+    {
+        // Due ticks are always after the current tick, as tasks are only ever linked with a due tick later than it.
+        long differingBits = task.dueTick ^ currentTick;
+        int level = (63 - Long.numberOfLeadingZeros(differingBits)) / bitsPerLevel;
+        int slot = level * slotsPerLevel + (int)((task.dueTick >>> (bitsPerLevel * level)) & slotMask);
+        
+        task.slot = slot;
+        task.previous = null;
+        task.next = slots[slot];
+        
+        if(task.next != null)
+            task.next.previous = task;
+        
+        slots[slot] = task;
+        scheduledCount++;
+    }
+    
+    /**
+     * Takes a task out of the slot it's in. Should only be called while holding busy.
+     */
+    void unlink(ScheduledTask task)
+    {
+        if(task.previous != null)
+            task.previous.next = task.next;
+        else
+            slots[task.slot] = task.next;
+        
+        if(task.next != null)
+            task.next.previous = task.previous;
+        
+        task.slot = -1;
+        task.previous = task.next = null;
+        scheduledCount--;
+    }
+    
+    public long getCurrentTick()
+    {
+        synchronized(busy)
+        { return currentTick; }
+    }
+    
+    /**
+     * Gets the number of tasks waiting to be run.
+     * @return The number of tasks currently scheduled.
+     */
+    public int getScheduledCount()
+    {
+        synchronized(busy)
+        { return scheduledCount; }
+    }
+}
@@ -0,0 +1,241 @@
+package com.enkigaming.mc.lib.pvp;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records which state each player in a game is in, along with the set of players in each state, so that getting or
+ * counting the players in a state doesn't need a scan of every player.
+ *
+ * Lookups don't take any locks, as the states and the sets of players in them are held in concurrent collections.
+ * Changes are made while holding changeLock, so that the two are always left consistent with one another.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <S> The type of the states players can be in.
+ */
+public class PlayerStateStore<S extends Enum<S>>
+{
+    /**
+     * Constructor.
+     * @param stateType The class of the states players can be in.
+     */
+    public PlayerStateStore(Class<S> stateType)
+    {
+        if(stateType == null)
+            throw new NullArgumentException("stateType");
+        
+        playersInStates = new EnumMap<S, Set<UUID>>(stateType);
+        
+        for(S state : stateType.getEnumConstants())
+            playersInStates.put(state, Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>()));
+    }
+    
+    protected final ConcurrentMap<UUID, S> states = new ConcurrentHashMap<UUID, S>();
+    
+    // Only ever read after construction, so needn't be concurrent itself.
+    protected final Map<S, Set<UUID>> playersInStates;
+    
+    // Only held while changing the store, lookups don't need it.
+    protected final Lock changeLock = new ReentrantLock();
+    
+    //<editor-fold defaultstate="collapsed" desc="Lookups">
+    /**
+     * Gets the state a player is in.
+     * @param playerId The ID of the player.
+     * @return The player's state, or null if they're not in the store.
+     */
+    public S getState(UUID playerId)
+    { return states.get(playerId); }
+    
+    public boolean contains(UUID playerId)
+    { return states.containsKey(playerId); }
+    
+    /**
+     * Gets the players in a state.
+     * @param state The state to get the players in.
+     * @return A read-only view of the IDs of the players in the state, which reflects later changes.
+     */
+    public Set<UUID> getPlayersInState(S state)
+    { return Collections.unmodifiableSet(playersInStates.get(state)); }
+    
+    public int getCountInState(S state)
+    { return playersInStates.get(state).size(); }
+    
+    /**
+     * Gets all of the players in the store.
+     * @return A read-only view of the IDs of the players in the store, which reflects later changes.
+     */
+    public Set<UUID> getPlayers()
+    { return Collections.unmodifiableSet(states.keySet()); }
+    
+    public int size()
+    { return states.size(); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Changes">
+    /**
+     * Puts a player in a state, adding them to the store if they're not already in it.
+     * @param playerId The ID of the player.
+     * @param state The state to put them in.
+     * @return The state the player was previously in, or null if they weren't in the store.
+     */
+    public S put(UUID playerId, S state)
+    {
+        if(playerId == null)
+            throw new NullArgumentException("playerId");
+        
+        if(state == null)
+            throw new NullArgumentException("state");
+        
+        changeLock.lock();
+        
+        try
+        { return putUnlocked(playerId, state); }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    /**
+     * Puts all of the passed players in a state, adding them to the store if they're not already in it.
+     * @param playerIds The IDs of the players.
+     * @param state The state to put them in.
+     */
+    public void putAll(Collection<UUID> playerIds, S state)
+    {
+        if(state == null)
+            throw new NullArgumentException("state");
+        
+        changeLock.lock();
+        
+        try
+        {
+            for(UUID playerId : playerIds)
+                putUnlocked(playerId, state);
+        }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    /**
+     * Moves a player from one state to another, if they're in the first state.
+     * @param playerId The ID of the player.
+     * @param from The state the player must be in to be moved.
+     * @param to The state to move the player to.
+     * @return True if the player was moved, or false if they weren't in the from state.
+     */
+    public boolean transition(UUID playerId, S from, S to)
+    {
+        if(to == null)
+            throw new NullArgumentException("to");
+        
+        changeLock.lock();
+        
+        try
+        {
+            if(states.get(playerId) != from)
+                return false;
+            
+            putUnlocked(playerId, to);
+            return true;
+        }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    /**
+     * Moves all of the players in one state to another.
+     * @param from The state to move players from.
+     * @param to The state to move players to.
+     * @return The IDs of the players that were moved.
+     */
+    public List<UUID> transitionAll(S from, S to)
+    {
+        if(from == null)
+            throw new NullArgumentException("from");
+        
+        if(to == null)
+            throw new NullArgumentException("to");
+        
+        changeLock.lock();
+        
+        try
+        {
+            List<UUID> moved = new ArrayList<UUID>(playersInStates.get(from));
+            
+            if(from == to)
+                return moved;
+            
+            playersInStates.get(to).addAll(moved);
+            
+            for(UUID playerId : moved)
+                states.put(playerId, to);
+            
+            playersInStates.get(from).clear();
+            return moved;
+        }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    /**
+     * Removes a player from the store.
+     * @param playerId The ID of the player.
+     * @return The state the player was in, or null if they weren't in the store.
+     */
+    public S remove(UUID playerId)
+    {
+        changeLock.lock();
+        
+        try
+        {
+            S previous = states.remove(playerId);
+            
+            if(previous != null)
+                playersInStates.get(previous).remove(playerId);
+            
+            return previous;
+        }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    public void clear()
+    {
+        changeLock.lock();
+        
+        try
+        {
+            states.clear();
+            
+            for(Set<UUID> players : playersInStates.values())
+                players.clear();
+        }
+        finally
+        { changeLock.unlock(); }
+    }
+    
+    S putUnlocked(UUID playerId, S state)
+    {
+        S previous = states.put(playerId, state);
+        
+        if(previous == state)
+            return previous;
+        
+        if(previous != null)
+            playersInStates.get(previous).remove(playerId);
+        
+        playersInStates.get(state).add(playerId);
+        return previous;
+    }
+    //</editor-fold>
+}
\ No newline at end of file
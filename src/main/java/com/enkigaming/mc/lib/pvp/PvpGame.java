@@ -5,13 +5,14 @@ import com.enkigaming.lib.events.StandardEvent;
 import com.enkigaming.lib.events.StandardEventArgs;
 import com.enkigaming.mc.lib.compatability.CompatabilityAccess;
 import com.enkigaming.mc.lib.misc.BlockCoOrdinate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class PvpGame
 {
@@ -29,34 +30,77 @@ public abstract class PvpGame
         protected String name;
         protected Set<GameState> subStates = new HashSet<GameState>();
         
+        /*
+        The transitive closures of subStates in both directions, kept up to date as substates are added so that
+        hasSubState and isSubStateOf don't need to walk the hierarchy. Changes to any state's substates are made while
+        holding hierarchyLock, as they affect the closures of other states.
+        */
+        protected final Set<GameState> allSubStates = Collections.newSetFromMap(new ConcurrentHashMap<GameState, Boolean>());
+        protected final Set<GameState> allSuperStates = Collections.newSetFromMap(new ConcurrentHashMap<GameState, Boolean>());
+        protected static final Object hierarchyLock = new Object();
+        
         public String getName()
         { return name; }
         
         protected void addSubState(GameState state)
-        { subStates.add(state); }
+        {
+            synchronized(hierarchyLock)
+            {
+                if(!subStates.add(state))
+                    return;
+                
+                Set<GameState> below = new HashSet<GameState>(state.allSubStates);
+                below.add(state);
+                
+                Set<GameState> above = new HashSet<GameState>(allSuperStates);
+                above.add(this);
+                
+                for(GameState i : above)
+                    i.allSubStates.addAll(below);
+                
+                for(GameState i : below)
+                    i.allSuperStates.addAll(above);
+            }
+        }
         
         protected void addSubStates(GameState... states)
-        { Collections.addAll(subStates, states); }
+        {
+            for(GameState i : states)
+                addSubState(i);
+        }
         
         public void addSubStates(Collection<? extends GameState> states)
-        { subStates.addAll(states); }
+        {
+            for(GameState i : states)
+                addSubState(i);
+        }
         
         public void addAsSubStateTo(GameState state)
         { state.addSubState(this); }
         
+        /**
+         * Gets whether the passed state is a substate of this one, directly or through other substates.
+         * @param state The state to check for.
+         * @return True if the passed state is a substate of this one. Otherwise, false.
+         */
         public boolean hasSubState(GameState state)
-        { 
-            for(GameState i : subStates)
-            {
-                if(i == state)
-                    return true;
-                
-                if(i.hasSubState(state))
-                    return true;
-            }
-            
-            return false;
-        }
+        { return allSubStates.contains(state); }
+        
+        /**
+         * Gets whether this state is a substate of the passed one, directly or through other substates.
+         * @param state The state to check for.
+         * @return True if this state is a substate of the passed one. Otherwise, false.
+         */
+        public boolean isSubStateOf(GameState state)
+        { return allSuperStates.contains(state); }
+        
+        /**
+         * Gets whether this state is the passed state, or a substate of it.
+         * @param state The state to check for.
+         * @return True if this state is, or is a substate of, the passed state. Otherwise, false.
+         */
+        public boolean isOrIsSubStateOf(GameState state)
+        { return this == state || allSuperStates.contains(state); }
     }
     
     public static class GameStates
@@ -100,13 +144,13 @@ public abstract class PvpGame
     
     public PvpGame()
     {
-        players = new HashMap<UUID, PlayerGameState>();
+        players = new PlayerStateStore<PlayerGameState>(PlayerGameState.class);
         lobbySpawn = new BlockCoOrdinate();
         possibleGameStates = getNewGameStatesObject();
         gameState = possibleGameStates.waitingForNewGame;
     }
     
-    Map<UUID, PlayerGameState> players;
+    PlayerStateStore<PlayerGameState> players;
     BlockCoOrdinate lobbySpawn;
     GameStates possibleGameStates;
     GameState gameState;
@@ -114,10 +158,10 @@ public abstract class PvpGame
     public static final Event<PlayerJoinedArgs> playerJoinedEvent = new StandardEvent<PlayerJoinedArgs>();
     
     public void teleportPlayersToLobby()
-    {
-        for(UUID playerId : players.keySet())
-            CompatabilityAccess.getPlayer(playerId).teleportTo(lobbySpawn);
-    }
+    { teleportPlayersTo(players.getPlayers(), lobbySpawn); }
+    
+    public void teleportPlayersToLobby(PlayerGameState state)
+    { teleportPlayersTo(players.getPlayersInState(state), lobbySpawn); }
     
     public void teleportPlayerToLobby(UUID playerId)
     { CompatabilityAccess.getPlayer(playerId).teleportTo(lobbySpawn); }
@@ -128,6 +172,62 @@ public abstract class PvpGame
     public GameState getCurrentGameState()
     { return gameState; }
     
+    /**
+     * Gets whether the game is in the passed state, or one of its substates.
+     * @param state The state to check for.
+     * @return True if the game's current state is, or is a substate of, the passed state. Otherwise, false.
+     */
+    public boolean isInGameState(GameState state)
+    { return gameState.isOrIsSubStateOf(state); }
+    
+    public PlayerGameState getPlayerState(UUID playerId)
+    { return players.getState(playerId); }
+    
+    public boolean hasPlayer(UUID playerId)
+    { return players.contains(playerId); }
+    
+    /**
+     * Gets the players in the game.
+     * @return A read-only view of the IDs of the players in the game, which reflects later changes.
+     */
+    public Set<UUID> getPlayers()
+    { return players.getPlayers(); }
+    
+    /**
+     * Gets the players in the game in a particular state.
+     * @param state The state to get the players in.
+     * @return A read-only view of the IDs of the players in the state, which reflects later changes.
+     */
+    public Set<UUID> getPlayersInState(PlayerGameState state)
+    { return players.getPlayersInState(state); }
+    
+    public int getPlayerCount()
+    { return players.size(); }
+    
+    public int getPlayerCount(PlayerGameState state)
+    { return players.getCountInState(state); }
+    
+    /**
+     * Puts a player in the game in a state.
+     * @param playerId The ID of the player.
+     * @param state The state to put them in.
+     * @return The state the player was previously in, or null if they weren't in the game.
+     */
+    public PlayerGameState setPlayerState(UUID playerId, PlayerGameState state)
+    { return players.put(playerId, state); }
+    
+    public void setPlayerStates(Collection<UUID> playerIds, PlayerGameState state)
+    { players.putAll(playerIds, state); }
+    
+    /**
+     * Moves all of the players in the game in one state to another.
+     * @param from The state to move players from.
+     * @param to The state to move players to.
+     * @return The IDs of the players that were moved.
+     */
+    public List<UUID> movePlayers(PlayerGameState from, PlayerGameState to)
+    { return players.transitionAll(from, to); }
+    
     public void addPlayer(UUID playerId)
     {
         PlayerJoinedArgs args = new PlayerJoinedArgs(playerId, lobbySpawn);
@@ -152,6 +252,20 @@ public abstract class PvpGame
         CompatabilityAccess.getPlayer(playerId).teleportTo(whereToTpThem);
     }
     
+    /**
+     * Teleports all of the passed players to the same destination, getting the destination's co-ordinates once and
+     * taking a copy of the players first, so that players joining or leaving part way through don't affect it.
+     * @param playerIds The IDs of the players to teleport.
+     * @param destination Where to teleport them to.
+     */
+    protected void teleportPlayersTo(Collection<UUID> playerIds, BlockCoOrdinate destination)
+    {
+        int worldId = destination.getWorldId(), x = destination.getX(), y = destination.getY(), z = destination.getZ();
+        
+        for(UUID playerId : new ArrayList<UUID>(playerIds))
+            CompatabilityAccess.getPlayer(playerId).teleportTo(worldId, x, y, z);
+    }
+    
     public abstract BlockCoOrdinate getNewSpawnPointForPlayer(UUID playerId);
     
     protected abstract GameStates getNewGameStatesObject();
@@ -1,31 +1,47 @@
 package com.enkigaming.mcforge.lib;
 
+import com.enkigaming.mcforge.lib.eventlisteners.OnlinePlayerIndexEventListener;
 import com.enkigaming.mcforge.lib.eventlisteners.PlayerLogInForCachingEventListener;
 import com.enkigaming.mcforge.lib.eventlisteners.WorldSaveEventListener;
+import com.enkigaming.mcforge.lib.eventlisteners.WorldUnloadEventListener;
 import com.enkigaming.lib.filehandling.FileHandlerRegistry;
+import com.enkigaming.mc.lib.compatability.CachingGetter;
 import com.enkigaming.mc.lib.compatability.CompatabilityAccess;
 import com.enkigaming.mc.lib.compatability.EnkiBlock;
 import com.enkigaming.mc.lib.compatability.EnkiPlayer;
 import com.enkigaming.mc.lib.compatability.EnkiWorld;
+import com.enkigaming.mc.lib.compatability.OfflineUsernameResolver;
+import com.enkigaming.mc.lib.compatability.UsernameResolutionService;
+import com.enkigaming.mc.lib.misc.TickProfiler;
+import com.enkigaming.mc.lib.misc.TickScheduler;
 import com.enkigaming.mcforge.lib.compatability.ForgeBlock;
 import com.enkigaming.mcforge.lib.compatability.ForgePlayer;
 import com.enkigaming.mcforge.lib.compatability.ForgeWorld;
 import com.enkigaming.mcforge.lib.eventlisteners.SecondPassedEventListener;
+import com.enkigaming.mcforge.lib.registry.OnlinePlayerRegistry;
 import com.enkigaming.mcforge.lib.registry.UsernameCache;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 
 @Mod(modid = EnkiLib.MODID, name = EnkiLib.NAME, version = EnkiLib.VERSION, acceptableRemoteVersions = "*")
 public class EnkiLib
 {
     public static final String NAME = "EnkiLib";
     public static final String MODID = "EnkiLib";
-    public static final String VERSION = "r1.0.1";
+    public static final String VERSION = "r2.0.0";
 
     /*
     Versioning:
@@ -47,6 +63,10 @@ public class EnkiLib
     protected static EnkiLib instance;
     File saveFolder;
     UsernameCache usernameCache;
+    OnlinePlayerRegistry onlinePlayers;
+    CachingGetter compatabilityCache;
+    UsernameResolutionService usernameResolution;
+    OfflineUsernameResolver offlineResolver;
     FileHandlerRegistry fileHandling;
     
     @EventHandler
@@ -55,27 +75,93 @@ public class EnkiLib
         instance = this;
         saveFolder = new File(event.getModConfigurationDirectory().getParentFile(), "plugins/EnkiLib");
         fileHandling = new FileHandlerRegistry();
-        usernameCache = new UsernameCache(saveFolder);
+        usernameCache = makeUsernameCache();
         fileHandling.register(usernameCache.getFileHandler());
         fileHandling.load();
+        onlinePlayers = new OnlinePlayerRegistry();
+        usernameResolution = new UsernameResolutionService(usernameCache, onlinePlayers);
+        initialiseCompatabilityAccess();
+        FMLCommonHandler.instance().bus().register(new OnlinePlayerIndexEventListener());
         FMLCommonHandler.instance().bus().register(new PlayerLogInForCachingEventListener());
         MinecraftForge.EVENT_BUS.register(new WorldSaveEventListener());
+        MinecraftForge.EVENT_BUS.register(new WorldUnloadEventListener());
         FMLCommonHandler.instance().bus().register(new SecondPassedEventListener());
         System.out.println("EnkiLib loaded!");
     }
     
+    @EventHandler
+    public void serverStarting(FMLServerStartingEvent event)
+    {
+        // Offline IDs are only the real IDs of players on servers in offline mode. On any other server, a name nobody's
+        // known by should fail to resolve rather than be given a made-up ID.
+        if(!event.getServer().isServerInOnlineMode())
+        {
+            offlineResolver = new OfflineUsernameResolver();
+            usernameResolution.addResolver(offlineResolver);
+        }
+    }
+    
+    @EventHandler
+    public void serverStopped(FMLServerStoppedEvent event)
+    {
+        if(offlineResolver != null)
+        {
+            usernameResolution.removeResolver(offlineResolver);
+            offlineResolver = null;
+        }
+        
+        // The resolution service isn't shut down, as it's only made once, in preInit, and on a client the integrated
+        // server can be started again. Its thread is a daemon, so doesn't keep the game from exiting.
+        onlinePlayers.clear();
+        compatabilityCache.clear();
+        TickScheduler.getServerScheduler().cancelAll();
+        
+        // Reset once written, so that the next session's report only covers that session.
+        try
+        { TickProfiler.getServerProfiler().writeReport(new File(saveFolder, "TickProfile.txt")); }
+        catch(FileNotFoundException exception)
+        { System.err.println("Unable to write EnkiLib's tick profile: " + exception.getMessage()); }
+        finally
+        { TickProfiler.getServerProfiler().reset(); }
+    }
+    
     public static EnkiLib getInstance()
     { return instance; }
     
     public UsernameCache getUsernameCache()
     { return usernameCache; }
     
+    public OnlinePlayerRegistry getOnlinePlayers()
+    { return onlinePlayers; }
+    
+    public CachingGetter getCompatabilityCache()
+    { return compatabilityCache; }
+    
+    public UsernameResolutionService getUsernameResolution()
+    { return usernameResolution; }
+    
     public FileHandlerRegistry getFileHandling()
     { return fileHandling; }
     
+    /**
+     * Makes the username cache, bounded to the number of entries in the enkilib.usernamecache.maxentries system
+     * property, and with the time-to-live in minutes in enkilib.usernamecache.ttlminutes, if they're set.
+     */
+    private UsernameCache makeUsernameCache()
+    {
+        int maxEntries = Integer.getInteger("enkilib.usernamecache.maxentries", 0);
+        long timeToLive = Long.getLong("enkilib.usernamecache.ttlminutes", 0L);
+        
+        if(maxEntries <= 0 && timeToLive <= 0)
+            return new UsernameCache(saveFolder);
+        
+        return new UsernameCache(saveFolder, maxEntries > 0 ? maxEntries : Integer.MAX_VALUE,
+                                 Math.max(timeToLive, 0), TimeUnit.MINUTES);
+    }
+    
     private void initialiseCompatabilityAccess()
     {
-        CompatabilityAccess.setGetter(new CompatabilityAccess.Getter()
+        compatabilityCache = new CachingGetter(new CompatabilityAccess.Getter()
         {
             @Override
             public EnkiPlayer getPlayer(UUID playerId)
@@ -89,6 +175,8 @@ public class EnkiLib
             public EnkiWorld getWorld(int worldId)
             { return new ForgeWorld(worldId); }
         });
+        
+        CompatabilityAccess.setGetter(compatabilityCache);
     }
     
     //========== Convenience Methods ==========
@@ -98,4 +186,25 @@ public class EnkiLib
     
     public static UUID getLastRecordedIDForName(String username)
     { return getInstance().getUsernameCache().getLastRecordedIDForName(username); }
+    
+    public static UUID getLastRecordedIDForNameIgnoreCase(String username)
+    { return getInstance().getUsernameCache().getLastRecordedIDForNameIgnoreCase(username); }
+    
+    public static Map<String, UUID> getRecordedNamesStartingWith(String prefix, int maxResults)
+    { return getInstance().getUsernameCache().getRecordedNamesStartingWith(prefix, maxResults); }
+    
+    public static Future<UUID> resolveIdAsync(String username)
+    { return getInstance().getUsernameResolution().resolveIdAsync(username); }
+    
+    public static Future<String> resolveNameAsync(UUID playerId)
+    { return getInstance().getUsernameResolution().resolveNameAsync(playerId); }
+    
+    public static Future<Map<String, UUID>> resolveIdsAsync(Collection<String> usernames)
+    { return getInstance().getUsernameResolution().resolveIdsAsync(usernames); }
+    
+    public static EntityPlayer getOnlinePlayer(UUID playerId)
+    { return getInstance().getOnlinePlayers().getPlayer(playerId); }
+    
+    public static EntityPlayer getOnlinePlayer(String username)
+    { return getInstance().getOnlinePlayers().getPlayer(username); }
 }
\ No newline at end of file
@@ -3,11 +3,8 @@ package com.enkigaming.mcforge.lib.compatability;
 import com.enkigaming.lib.events.exceptions.NoSuchUsernameException;
 import com.enkigaming.mc.lib.compatability.EnkiPlayer;
 import com.enkigaming.mcforge.lib.EnkiLib;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.server.MinecraftServer;
 import org.apache.commons.lang3.NotImplementedException;
 
 public class ForgePlayer extends EnkiPlayer
@@ -20,19 +17,23 @@ public class ForgePlayer extends EnkiPlayer
         // Attempt to get UUID from username cache.
         playerId = EnkiLib.getLastRecordedIDForName(Username);
         
+        if(playerId != null)
+            return;
+        
+        // Attempt to get UUID from username cache, ignoring case.
+        playerId = EnkiLib.getLastRecordedIDForNameIgnoreCase(Username);
+        
         if(playerId != null)
             return;
         
         // Attempt to get UUID from online players.
-        List<EntityPlayer> playersOnline
-            = new ArrayList<EntityPlayer>(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
+        EntityPlayer player = EnkiLib.getOnlinePlayer(Username);
         
-        for(EntityPlayer i : playersOnline)
-            if(i.getGameProfile().getName().equalsIgnoreCase(Username))
-            {
-                playerId = i.getGameProfile().getId();
-                return;
-            }
+        if(player != null)
+        {
+            playerId = player.getGameProfile().getId();
+            return;
+        }
         
         // Give up D:
         throw new NoSuchUsernameException(Username);
@@ -57,12 +58,10 @@ public class ForgePlayer extends EnkiPlayer
             return name;
         
         // Attempt to get name from online players.
-        List<EntityPlayer> playersOnline
-            = new ArrayList<EntityPlayer>(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
+        EntityPlayer player = getPlatformSpecificInstance();
         
-        for(EntityPlayer i : playersOnline)
-            if(i.getGameProfile().getId().equals(playerId))
-                return i.getGameProfile().getName();
+        if(player != null)
+            return player.getGameProfile().getName();
         
         // Give up D:
         return null;
@@ -74,16 +73,7 @@ public class ForgePlayer extends EnkiPlayer
 
     @Override
     public EntityPlayer getPlatformSpecificInstance()
-    {
-        List<EntityPlayer> playersOnline
-            = new ArrayList<EntityPlayer>(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
-        
-        for(EntityPlayer i : playersOnline)
-            if(i.getGameProfile().getId().equals(playerId))
-                return i;
-        
-        return null;
-    }
+    { return EnkiLib.getOnlinePlayer(playerId); }
 
     @Override
     public Integer getWorldId()
@@ -1,6 +1,8 @@
 package com.enkigaming.mcforge.lib.compatability;
 
 import com.enkigaming.mc.lib.compatability.EnkiWorld;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
 import net.minecraft.world.World;
 import net.minecraftforge.common.DimensionManager;
 
@@ -9,11 +11,60 @@ public class ForgeWorld extends EnkiWorld
     public ForgeWorld(int worldId)
     { super(worldId); }
     
+    /**
+     * The world looked up, and how many worlds had been unloaded when it was. Held weakly, so that a ForgeWorld doesn't
+     * keep an unloaded world from being garbage collected.
+     */
+    static final class WorldReference extends WeakReference<World>
+    {
+        WorldReference(World world, long unloadCount)
+        {
+            super(world);
+            this.unloadCount = unloadCount;
+        }
+        
+        final long unloadCount;
+    }
+    
+    /*
+    The number of worlds unloaded so far. A remembered world is only reused if no world has been unloaded since it was
+    looked up, so that no ForgeWorld, cached or not, returns a world that's been unloaded.
+    */
+    static final AtomicLong unloadCount = new AtomicLong();
+    
+    // The world this represents, remembered after the first lookup until any world is unloaded.
+    volatile WorldReference world;
+    
     @Override
     public World getPlatformSpecificInstance()
-    { return DimensionManager.getWorld(this.getWorldId()); }
+    {
+        long currentUnloadCount = unloadCount.get();
+        WorldReference reference = world;
+        World result = reference == null || reference.unloadCount != currentUnloadCount ? null : reference.get();
+        
+        if(result == null)
+        {
+            result = DimensionManager.getWorld(this.getWorldId());
+            world = result == null ? null : new WorldReference(result, currentUnloadCount);
+        }
+        
+        return result;
+    }
 
     @Override
     public String getName()
     { return getPlatformSpecificInstance().getWorldInfo().getWorldName(); }
-}
\ No newline at end of file
+    
+    /**
+     * Stops holding onto the world this represents. It's looked up again if needed.
+     */
+    public void forgetPlatformSpecificInstance()
+    { world = null; }
+    
+    /**
+     * Marks the worlds remembered by every ForgeWorld as out of date, to be looked up again when next needed. Should be
+     * called whenever a world is unloaded.
+     */
+    public static void worldUnloaded()
+    { unloadCount.incrementAndGet(); }
+}
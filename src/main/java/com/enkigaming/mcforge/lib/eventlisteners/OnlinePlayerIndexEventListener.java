@@ -0,0 +1,21 @@
+package com.enkigaming.mcforge.lib.eventlisteners;
+
+import com.enkigaming.mcforge.lib.EnkiLib;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+
+public class OnlinePlayerIndexEventListener
+{
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onPlayerLogIn(PlayerEvent.PlayerLoggedInEvent event)
+    { EnkiLib.getInstance().getOnlinePlayers().recordPlayer(event.player); }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onPlayerLogOut(PlayerEvent.PlayerLoggedOutEvent event)
+    { EnkiLib.getInstance().getOnlinePlayers().removePlayer(event.player); }
+    
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event)
+    { EnkiLib.getInstance().getOnlinePlayers().recordPlayer(event.player); }
+}
@@ -1,5 +1,6 @@
 package com.enkigaming.mcforge.lib.eventlisteners;
 
+import com.enkigaming.mc.lib.misc.TickProfiler;
 import com.enkigaming.mcforge.lib.EnkiLib;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
@@ -9,7 +10,14 @@ public class PlayerLogInForCachingEventListener
     @SubscribeEvent
     public void onPlayerLogIn(PlayerEvent.PlayerLoggedInEvent event)
     {
-        EnkiLib.getInstance().getUsernameCache().recordUsername(event.player.getGameProfile().getId(),
-                                                                event.player.getGameProfile().getName());
+        long start = TickProfiler.getServerProfiler().start();
+        
+        try
+        {
+            EnkiLib.getInstance().getUsernameCache().recordUsername(event.player.getGameProfile().getId(),
+                                                                    event.player.getGameProfile().getName());
+        }
+        finally
+        { TickProfiler.getServerProfiler().record("usernameCaching", start); }
     }
 }
\ No newline at end of file
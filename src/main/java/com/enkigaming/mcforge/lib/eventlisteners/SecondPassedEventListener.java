@@ -1,7 +1,10 @@
 package com.enkigaming.mcforge.lib.eventlisteners;
 
+import com.enkigaming.lib.events.EventSubmissionQueue;
 import com.enkigaming.mc.lib.compatability.CompatabilityEvents;
 import com.enkigaming.mc.lib.compatability.CompatabilityEvents.SecondTickArgs;
+import com.enkigaming.mc.lib.misc.TickProfiler;
+import com.enkigaming.mc.lib.misc.TickScheduler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
@@ -9,16 +12,86 @@ public class SecondPassedEventListener
 {
     byte tickCounter = 0;
     int secondCounter = 0;
+    long reportedOverflowCount = 0;
+    
+    // The most time each tick may spend raising events submitted from other threads. Any left over wait for the next.
+    static final long submittedEventsBudgetNanos = 5000000;
     
     @SubscribeEvent
     public void onTick(TickEvent.ServerTickEvent event)
     {
-        if(++tickCounter == 20)
+        // Raised at both the start and end of each tick.
+        if(event.phase != TickEvent.Phase.END)
+            return;
+        
+        TickProfiler profiler = TickProfiler.getServerProfiler();
+        long tickStart = profiler.start();
+        
+        try
         {
-            tickCounter = 0;
-            SecondTickArgs args = new SecondTickArgs(++secondCounter);
-            CompatabilityEvents.secondPassed.raise(this, args);
-            CompatabilityEvents.secondPassed.raisePostEvent(this, args);
+            // Neither a task nor a submitted event that throws may hold up the rest of the tick's work, or the counting
+            // of seconds.
+            try
+            { TickScheduler.getServerScheduler().tick(); }
+            catch(RuntimeException exception)
+            { reportFailure("scheduled tasks", exception); }
+            finally
+            { profiler.record("scheduler", tickStart); }
+            
+            EventSubmissionQueue submissions = EventSubmissionQueue.getMainQueue();
+            long submissionsStart = profiler.start();
+            try
+            { submissions.drain(submittedEventsBudgetNanos); }
+            catch(RuntimeException exception)
+            { reportFailure("submitted events", exception); }
+            finally
+            { profiler.record("submittedEvents", submissionsStart); }
+            
+            if(++tickCounter == 20)
+            {
+                long secondStart = profiler.start();
+                tickCounter = 0;
+                reportOverflows(submissions);
+                SecondTickArgs args = new SecondTickArgs(++secondCounter);
+                
+                try
+                {
+                    CompatabilityEvents.secondPassed.raise(this, args);
+                    CompatabilityEvents.secondPassed.raisePostEvent(this, args);
+                }
+                finally
+                { profiler.record("secondPassed", secondStart); }
+            }
         }
+        finally
+        { profiler.record("serverTick", tickStart); }
+    }
+    
+    /**
+     * Reports an exception thrown by part of the tick's work, which is caught so that the rest of the tick's work still
+     * happens.
+     */
+    void reportFailure(String work, RuntimeException exception)
+    {
+        System.err.println("EnkiLib's " + work + " threw an exception during a server tick:");
+        exception.printStackTrace();
+    }
+    
+    /**
+     * Reports any event submissions dropped since the last report because the queue was full. Reported at most once a
+     * second, so that a flood of submissions doesn't become a flood of reports.
+     */
+    void reportOverflows(EventSubmissionQueue submissions)
+    {
+        long overflowCount = submissions.getOverflowCount();
+        
+        if(overflowCount == reportedOverflowCount)
+            return;
+        
+        System.err.println("EnkiLib's event submission queue was full, and dropped "
+                           + (overflowCount - reportedOverflowCount) + " submitted events. (capacity "
+                           + submissions.getCapacity() + ", current depth " + submissions.getDepth() + ")");
+        
+        reportedOverflowCount = overflowCount;
     }
 }
\ No newline at end of file
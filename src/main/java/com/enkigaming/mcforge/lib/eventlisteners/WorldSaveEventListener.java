@@ -1,5 +1,6 @@
 package com.enkigaming.mcforge.lib.eventlisteners;
 
+import com.enkigaming.mc.lib.misc.TickProfiler;
 import com.enkigaming.mcforge.lib.EnkiLib;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -8,5 +9,12 @@ public class WorldSaveEventListener
 {
     @SubscribeEvent
     public void onWorldSave(WorldEvent.Save event)
-    { EnkiLib.getInstance().getFileHandling().save(); }
+    {
+        long start = TickProfiler.getServerProfiler().start();
+        
+        try
+        { EnkiLib.getInstance().getFileHandling().save(); }
+        finally
+        { TickProfiler.getServerProfiler().record("worldSave", start); }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.enkigaming.mcforge.lib.eventlisteners;
+
+import com.enkigaming.mc.lib.compatability.EnkiWorld;
+import com.enkigaming.mcforge.lib.EnkiLib;
+import com.enkigaming.mcforge.lib.compatability.ForgeWorld;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+public class WorldUnloadEventListener
+{
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        if(event.world.isRemote)
+            return;
+        
+        ForgeWorld.worldUnloaded();
+        
+        EnkiWorld world = EnkiLib.getInstance().getCompatabilityCache()
+                                 .invalidateWorld(event.world.provider.getDimensionId());
+        
+        if(world instanceof ForgeWorld)
+            ((ForgeWorld)world).forgetPlatformSpecificInstance();
+    }
+}
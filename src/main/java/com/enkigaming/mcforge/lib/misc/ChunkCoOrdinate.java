@@ -1,10 +1,9 @@
 package com.enkigaming.mcforge.lib.misc;
 
+import com.enkigaming.lib.misc.coordinates.PackedCoOrdinates;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.ChunkCoordIntPair;
@@ -129,14 +128,14 @@ public class ChunkCoOrdinate
      * @return The highest X coördinate.
      */
     public int getMaxXBlock()
-    { return zCoOrd * 16; }
+    { return xCoOrd * 16 + 15; }
     
     /**
      * Gets the lowest-value Z coördinate within the chunk.
      * @return The lowest z coördinate
      */
     public int getMinZBlock()
-    {  return xCoOrd * 16 + 15;  }
+    { return zCoOrd * 16; }
     
     /**
      * Gets the highest-value Z coördinate within the chunk.
@@ -182,33 +181,32 @@ public class ChunkCoOrdinate
                 new ChunkCoOrdinate(this.getXCoOrd(), this.getZCoOrd() - 1, this.getWorldID())));
     }
     
+    /**
+     * Gets whether the passed chunk is directly next to this one, along the x or z axis, in the same world.
+     * @param chunk The chunk to check.
+     * @return True if the chunk is next to this one. Otherwise, false.
+     */
     public boolean isNextTo(ChunkCoOrdinate chunk)
     {
-        if(chunk == null || equals(chunk))
+        if(chunk == null || getWorldID() != chunk.getWorldID())
             return false;
         
-        Collection<ChunkCoOrdinate> possibleChunks = chunk.getAdjacentChunks();
-        
-        for(ChunkCoOrdinate current : possibleChunks)
-            if(chunk.equals(current))
-                return true;
-        
-        return false;
+        return Math.abs((long)xCoOrd - chunk.xCoOrd) + Math.abs((long)zCoOrd - chunk.zCoOrd) == 1;
     }
     
+    /**
+     * Gets whether any of the passed chunks are directly next to this one. For repeated checks against the same set of
+     * chunks, ChunkIndex is faster.
+     * @param chunks The chunks to check.
+     * @return True if any of the chunks are next to this one. Otherwise, false.
+     */
     public boolean isNextTo(Collection<ChunkCoOrdinate> chunks)
     {
         if(chunks == null)
             return false;
         
-        Set<ChunkCoOrdinate> adjacentChunks = new HashSet<ChunkCoOrdinate>();
-        
         for(ChunkCoOrdinate chunk : chunks)
-            if(chunk != null)
-                adjacentChunks.addAll(getAdjacentChunks());
-        
-        for(ChunkCoOrdinate chunk : adjacentChunks)
-            if(equals(chunk))
+            if(isNextTo(chunk))
                 return true;
         
         return false;
@@ -216,6 +214,27 @@ public class ChunkCoOrdinate
     
     public boolean isNextTo(ChunkCoOrdinate... chunks)
     { return isNextTo(Arrays.asList(chunks)); }
+    
+    /**
+     * Packs this chunk's co-ordinates and world ID into a long. Chunks without a specified world are packed as being
+     * in world 0, in keeping with getWorldID.
+     * @return The packed co-ordinates.
+     * @see PackedCoOrdinates#packChunk(int, int, int)
+     */
+    public long toPackedLong()
+    { return PackedCoOrdinates.packChunk(getWorldID(), xCoOrd, zCoOrd); }
+    
+    /**
+     * Creates a chunk co-ordinate from co-ordinates packed by toPackedLong.
+     * @param packed The packed co-ordinates.
+     * @return A new chunk co-ordinate, with a specified world.
+     */
+    public static ChunkCoOrdinate fromPackedLong(long packed)
+    {
+        return new ChunkCoOrdinate(PackedCoOrdinates.unpackChunkX(packed),
+                                   PackedCoOrdinates.unpackChunkZ(packed),
+                                   PackedCoOrdinates.unpackChunkWorldId(packed));
+    }
 
     @Override
     public boolean equals(Object obj)
@@ -245,7 +264,7 @@ public class ChunkCoOrdinate
         int hash = 3;
         hash = 31 * hash + this.xCoOrd;
         hash = 31 * hash + this.zCoOrd;
-        hash = 31 * hash + this.worldID;
+        hash = 31 * hash + (this.worldID == null ? 0 : this.worldID.hashCode());
         return hash;
     }
 }
\ No newline at end of file
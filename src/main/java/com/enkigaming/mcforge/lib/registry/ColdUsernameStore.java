@@ -0,0 +1,368 @@
+package com.enkigaming.mcforge.lib.registry;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-disk store of the usernames a bounded UsernameCache has evicted, so that they can be faulted back in when they're
+ * next looked up rather than being forgotten.
+ *
+ * Entries are spread across a fixed number of small bucket files in each direction, (by player ID and by username) so
+ * that a lookup only reads the one bucket its key hashes to. Stored and removed entries are held in memory until the
+ * next flush, which rewrites each bucket they change once.
+ *
+ * An entry is only returned if the buckets in both directions agree on it, as entries left behind by players who've
+ * since changed their username, or whose username has since been taken by another player, aren't cleaned up
+ * otherwise.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class ColdUsernameStore
+{
+    /**
+     * Constructor.
+     * @param folder The folder to keep the bucket files in.
+     * @param bucketCount The number of bucket files to spread the entries across in each direction.
+     */
+    public ColdUsernameStore(File folder, int bucketCount)
+    {
+        if(folder == null)
+            throw new NullArgumentException("folder");
+        
+        if(bucketCount < 1)
+            throw new IllegalArgumentException("There must be at least one bucket. (was " + bucketCount + ")");
+        
+        this.idFolder = new File(folder, "ById");
+        this.nameFolder = new File(folder, "ByName");
+        this.bucketCount = bucketCount;
+    }
+    
+    final File idFolder;
+    final File nameFolder;
+    final int bucketCount;
+    
+    // Changes not yet written to the bucket files. A null value means the entry has been removed.
+    final Map<String, String> pendingById = new HashMap<String, String>();
+    final Map<String, String> pendingByName = new HashMap<String, String>();
+    final Lock lock = new ReentrantLock();
+    
+    /**
+     * Stores a player's username, replacing any previously stored for them.
+     * @param playerId The player's ID.
+     * @param username The player's username.
+     */
+    public void store(UUID playerId, String username)
+    {
+        lock.lock();
+        
+        try
+        {
+            pendingById.put(playerId.toString(), username);
+            pendingByName.put(username, playerId.toString());
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Removes any stored entries for the passed player and username, as where they've been recorded again and the
+     * stored entries may be out of date.
+     * @param playerId The player's ID.
+     * @param username The player's username.
+     */
+    public void forget(UUID playerId, String username)
+    {
+        lock.lock();
+        
+        try
+        {
+            pendingById.put(playerId.toString(), null);
+            pendingByName.put(username, null);
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Removes the stored entry for the passed username, and for the player that has it, if there is one.
+     * @param username The username to remove.
+     * @throws IOException If the bucket file couldn't be read to find the player with the username.
+     */
+    public void remove(String username) throws IOException
+    {
+        lock.lock();
+        
+        try
+        {
+            UUID playerId = getIdForName(username);
+            pendingByName.put(username, null);
+            
+            if(playerId != null)
+                pendingById.put(playerId.toString(), null);
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Gets the stored username of the player with the passed ID.
+     * @param playerId The ID to look up.
+     * @return The player's username, or null if there isn't one stored.
+     * @throws IOException If the bucket file couldn't be read.
+     */
+    public String getNameForId(UUID playerId) throws IOException
+    {
+        lock.lock();
+        
+        try
+        {
+            String id = playerId.toString();
+            String name = read(pendingById, idFolder, getBucket(playerId), id);
+            
+            if(name == null || !id.equals(read(pendingByName, nameFolder, getBucket(name), name)))
+                return null;
+            
+            return name;
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Gets the ID of the player with the passed stored username.
+     * @param username The username to look up.
+     * @return The player's ID, or null if there isn't one stored.
+     * @throws IOException If the bucket file couldn't be read.
+     */
+    public UUID getIdForName(String username) throws IOException
+    {
+        lock.lock();
+        
+        try
+        {
+            String id = read(pendingByName, nameFolder, getBucket(username), username);
+            
+            if(id == null)
+                return null;
+            
+            UUID playerId;
+            
+            try
+            { playerId = UUID.fromString(id); }
+            catch(IllegalArgumentException exception)
+            { return null; }
+            
+            if(!username.equals(read(pendingById, idFolder, getBucket(playerId), id)))
+                return null;
+            
+            return playerId;
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Writes all changes made since the last flush to the bucket files. Buckets that couldn't be written keep their
+     * changes pending until the next flush.
+     * @throws IOException If any of the bucket files couldn't be read or written.
+     */
+    public void flush() throws IOException
+    {
+        lock.lock();
+        
+        try
+        {
+            IOException failure = null;
+            
+            try
+            { flush(pendingById, idFolder, true); }
+            catch(IOException exception)
+            { failure = exception; }
+            
+            try
+            { flush(pendingByName, nameFolder, false); }
+            catch(IOException exception)
+            {
+                if(failure == null)
+                    failure = exception;
+            }
+            
+            if(failure != null)
+                throw failure;
+        }
+        finally
+        { lock.unlock(); }
+    }
+    
+    /**
+     * Gets the number of stored or removed entries not yet written to the bucket files.
+     * @return The number of pending changes, in both directions.
+     */
+    public int getPendingCount()
+    {
+        lock.lock();
+        
+        try
+        { return pendingById.size() + pendingByName.size(); }
+        finally
+        { lock.unlock(); }
+    }
+    
+    int getBucket(UUID playerId)
+    { return (playerId.hashCode() & 0x7fffffff) % bucketCount; }
+    
+    int getBucket(String username)
+    { return (username.toLowerCase(Locale.ROOT).hashCode() & 0x7fffffff) % bucketCount; }
+    
+    String read(Map<String, String> pending, File folder, int bucket, String key) throws IOException
+    {
+        if(pending.containsKey(key))
+            return pending.get(key);
+        
+        File file = getBucketFile(folder, bucket);
+        
+        if(!file.exists())
+            return null;
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+        
+        try
+        {
+            for(String line = reader.readLine(); line != null; line = reader.readLine())
+            {
+                int separator = line.indexOf('\t');
+                
+                if(separator == key.length() && line.startsWith(key))
+                    return line.substring(separator + 1);
+            }
+            
+            return null;
+        }
+        finally
+        { reader.close(); }
+    }
+    
+    void flush(Map<String, String> pending, File folder, boolean keysAreIds) throws IOException
+    {
+        Map<Integer, Map<String, String>> changesByBucket = new HashMap<Integer, Map<String, String>>();
+        
+        for(Map.Entry<String, String> change : pending.entrySet())
+        {
+            int bucket = keysAreIds ? getBucket(UUID.fromString(change.getKey())) : getBucket(change.getKey());
+            Map<String, String> changes = changesByBucket.get(bucket);
+            
+            if(changes == null)
+            {
+                changes = new HashMap<String, String>();
+                changesByBucket.put(bucket, changes);
+            }
+            
+            changes.put(change.getKey(), change.getValue());
+        }
+        
+        folder.mkdirs();
+        IOException failure = null;
+        
+        for(Map.Entry<Integer, Map<String, String>> bucketChanges : changesByBucket.entrySet())
+        {
+            try
+            {
+                rewriteBucket(getBucketFile(folder, bucketChanges.getKey()), bucketChanges.getValue());
+                pending.keySet().removeAll(bucketChanges.getValue().keySet());
+            }
+            catch(IOException exception)
+            {
+                if(failure == null)
+                    failure = exception;
+            }
+        }
+        
+        if(failure != null)
+            throw failure;
+    }
+    
+    static void rewriteBucket(File file, Map<String, String> changes) throws IOException
+    {
+        Map<String, String> entries = new LinkedHashMap<String, String>();
+        
+        if(file.exists())
+        {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+            
+            try
+            {
+                for(String line = reader.readLine(); line != null; line = reader.readLine())
+                {
+                    int separator = line.indexOf('\t');
+                    
+                    if(separator >= 0)
+                        entries.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+            finally
+            { reader.close(); }
+        }
+        
+        boolean changed = false;
+        
+        for(Map.Entry<String, String> change : changes.entrySet())
+        {
+            String previous = change.getValue() == null ? entries.remove(change.getKey())
+                                                        : entries.put(change.getKey(), change.getValue());
+            
+            if(previous == null ? change.getValue() != null : !previous.equals(change.getValue()))
+                changed = true;
+        }
+        
+        // Most changes are removals of entries that were never evicted, which leave the bucket as it was.
+        if(!changed)
+            return;
+        
+        // Written alongside and then moved over the bucket, so that a failed write or a crash doesn't lose the bucket's
+        // contents.
+        File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryFile), StandardCharsets.UTF_8));
+        
+        try
+        {
+            for(Map.Entry<String, String> entry : entries.entrySet())
+            {
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(entry.getValue());
+                writer.newLine();
+            }
+        }
+        finally
+        { writer.close(); }
+        
+        // Replaced in a single step, so that there's never a point at which neither the old nor the new bucket exists.
+        try
+        {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch(AtomicMoveNotSupportedException exception)
+        { Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING); }
+    }
+    
+    static File getBucketFile(File folder, int bucket)
+    { return new File(folder, bucket + ".txt"); }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.enkigaming.mcforge.lib.registry;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import com.enkigaming.mc.lib.compatability.UsernameResolver;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the players currently online, by ID and by username, independent of how the platform represents a player.
+ * 
+ * Usernames are indexed case-insensitively, in keeping with how Minecraft treats them.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ * @param <P> The type of the players indexed.
+ */
+public abstract class OnlinePlayerIndex<P> implements UsernameResolver
+{
+    protected final ConcurrentMap<UUID, P> playersById = new ConcurrentHashMap<UUID, P>();
+    protected final ConcurrentMap<String, P> playersByName = new ConcurrentHashMap<String, P>();
+    
+    /**
+     * Gets the ID of a player.
+     * @param player The player to get the ID of.
+     * @return The player's ID.
+     */
+    protected abstract UUID getIdOf(P player);
+    
+    /**
+     * Gets the username of a player.
+     * @param player The player to get the username of.
+     * @return The player's username.
+     */
+    protected abstract String getNameOf(P player);
+    
+    /**
+     * Records a player as being online, replacing any player previously recorded with the same ID.
+     * @param player The player.
+     */
+    public void recordPlayer(P player)
+    {
+        if(player == null)
+            throw new NullArgumentException("player");
+        
+        P previous = playersById.put(getIdOf(player), player);
+        
+        if(previous != null)
+            playersByName.remove(getIndexName(previous), previous);
+        
+        playersByName.put(getIndexName(player), player);
+    }
+    
+    /**
+     * Records a player as no longer being online. Does nothing if a different player has since been recorded with the
+     * same ID.
+     * @param player The player.
+     */
+    public void removePlayer(P player)
+    {
+        if(player == null)
+            throw new NullArgumentException("player");
+        
+        if(playersById.remove(getIdOf(player), player))
+            playersByName.remove(getIndexName(player), player);
+    }
+    
+    /**
+     * Forgets all online players, as when the server stops.
+     */
+    public void clear()
+    {
+        playersById.clear();
+        playersByName.clear();
+    }
+    
+    /**
+     * Gets an online player.
+     * @param playerId The ID of the player to get.
+     * @return The player, or null if they aren't online.
+     */
+    public P getPlayer(UUID playerId)
+    {
+        if(playerId == null)
+            throw new NullArgumentException("playerId");
+        
+        return playersById.get(playerId);
+    }
+    
+    /**
+     * Gets an online player by their username, ignoring case.
+     * @param username The username of the player to get.
+     * @return The player, or null if nobody by that name is online.
+     */
+    public P getPlayer(String username)
+    {
+        if(username == null)
+            throw new NullArgumentException("username");
+        
+        return playersByName.get(username.toLowerCase(Locale.ROOT));
+    }
+    
+    public boolean isOnline(UUID playerId)
+    {
+        if(playerId == null)
+            throw new NullArgumentException("playerId");
+        
+        return playersById.containsKey(playerId);
+    }
+    
+    public Collection<P> getPlayers()
+    { return Collections.unmodifiableCollection(playersById.values()); }
+    
+    public int getPlayerCount()
+    { return playersById.size(); }
+    
+    /**
+     * Gets the ID of the online player with the passed username, ignoring case, for use as a UsernameResolver.
+     * @param username The username to look up.
+     * @return The player's ID, or null if nobody by that name is online.
+     */
+    @Override
+    public UUID getIdForName(String username)
+    {
+        P player = getPlayer(username);
+        return player == null ? null : getIdOf(player);
+    }
+    
+    /**
+     * Gets the username of the online player with the passed ID, for use as a UsernameResolver.
+     * @param playerId The ID to look up.
+     * @return The player's username, or null if they aren't online.
+     */
+    @Override
+    public String getNameForId(UUID playerId)
+    {
+        P player = getPlayer(playerId);
+        return player == null ? null : getNameOf(player);
+    }
+    
+    String getIndexName(P player)
+    { return getNameOf(player).toLowerCase(Locale.ROOT); }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.enkigaming.mcforge.lib.registry;
+
+import java.util.UUID;
+import net.minecraft.entity.player.EntityPlayer;
+
+/**
+ * Index of the players currently online, by ID and by username, so that looking up an online player doesn't need a
+ * scan of the server's player list. Kept up to date by OnlinePlayerIndexEventListener as players log in, log out, and
+ * respawn. (Which replaces their player entity)
+ * 
+ * Usernames are indexed case-insensitively, in keeping with how Minecraft treats them.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class OnlinePlayerRegistry extends OnlinePlayerIndex<EntityPlayer>
+{
+    @Override
+    protected UUID getIdOf(EntityPlayer player)
+    { return player.getGameProfile().getId(); }
+    
+    @Override
+    protected String getNameOf(EntityPlayer player)
+    { return player.getGameProfile().getName(); }
+}
\ No newline at end of file
@@ -1,143 +1,694 @@
 package com.enkigaming.mcforge.lib.registry;
 
+import com.enkigaming.mc.lib.compatability.UsernameResolver;
 import com.enkigaming.lib.filehandling.CSVFileHandler;
-import com.enkigaming.lib.filehandling.CSVFileHandler.CSVRowMember;
+import com.enkigaming.lib.filehandling.CSVRowWriter;
 import com.enkigaming.lib.filehandling.FileHandler;
 import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
-public class UsernameCache
+/**
+ * Records the last known username of each player that's logged in, in both directions.
+ *
+ * Lookups don't take any locks, as both directions are held in concurrent maps. Changes are made while holding
+ * recordedUsernamesLock, so that the two maps are left consistent with one another once each change is complete. The
+ * maps are updated one after the other, though, so while a change is in progress, a lookup by ID and a lookup by name
+ * may disagree: one may already see the new name while the other still sees the old one, or finds nothing. Each lookup
+ * on its own only ever sees an ID and a name that were recorded together.
+ *
+ * By default, every username ever recorded is held in memory. A cache constructed with a maximum number of entries
+ * instead holds at most that many, evicting the least recently used when it fills up, and optionally any that haven't
+ * been used within a time-to-live when it's saved. Evicted usernames are moved to a ColdUsernameStore on disk and
+ * faulted back in when they're next looked up, so memory use follows the players that are active rather than every
+ * player that's ever logged in. The most recent player IDs and usernames found neither in memory nor on disk are
+ * remembered, so that repeatedly looking up a name nobody has doesn't read from disk each time.
+ * @author Hanii Puppy <hanii.puppy@googlemail.com>
+ */
+public class UsernameCache implements UsernameResolver
 {
+    /**
+     * A recorded username, shared between both directions of the cache.
+     */
+    protected static class CachedUsername
+    {
+        public CachedUsername(UUID playerId, String username, long lastUsed)
+        {
+            this.playerId = playerId;
+            this.username = username;
+            this.lastUsed = lastUsed;
+        }
+        
+        final UUID playerId;
+        final String username;
+        volatile long lastUsed;
+        
+        public UUID getPlayerId()
+        { return playerId; }
+        
+        public String getUsername()
+        { return username; }
+        
+        public long getLastUsed()
+        { return lastUsed; }
+    }
+    
+    /**
+     * A recorded username with when it was last used, as it was when it was considered for eviction.
+     */
+    static final class EvictionCandidate
+    {
+        EvictionCandidate(long lastUsed, CachedUsername entry)
+        {
+            this.lastUsed = lastUsed;
+            this.entry = entry;
+        }
+        
+        final long lastUsed;
+        final CachedUsername entry;
+    }
+    
+    /**
+     * Constructor, for a cache that holds every username recorded in memory.
+     * @param saveFolder The folder to save the cache in.
+     */
     public UsernameCache(File saveFolder)
-    { fileHandler = makeFileHandler(saveFolder); }
+    { this(saveFolder, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS); }
+    
+    /**
+     * Constructor, for a cache that holds at most the specified number of usernames in memory, evicting the least
+     * recently used to disk when it fills up.
+     * @param saveFolder The folder to save the cache in.
+     * @param maxEntries The maximum number of usernames to hold in memory.
+     */
+    public UsernameCache(File saveFolder, int maxEntries)
+    { this(saveFolder, maxEntries, 0, TimeUnit.MILLISECONDS); }
+    
+    /**
+     * Constructor, for a cache that holds at most the specified number of usernames in memory, evicting the least
+     * recently used to disk when it fills up, and evicting those that haven't been used within the time-to-live
+     * whenever it's saved.
+     * @param saveFolder The folder to save the cache in.
+     * @param maxEntries The maximum number of usernames to hold in memory.
+     * @param timeToLive How long a username can go unused before it's evicted, or 0 to only evict when full.
+     * @param unit The unit of timeToLive.
+     */
+    public UsernameCache(File saveFolder, int maxEntries, long timeToLive, TimeUnit unit)
+    {
+        if(maxEntries < 1)
+            throw new IllegalArgumentException("The cache must be able to hold at least one username. (was "
+                                               + maxEntries + ")");
+        
+        if(timeToLive < 0)
+            throw new IllegalArgumentException("The time-to-live can't be negative. (was " + timeToLive + ")");
+        
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = unit.toMillis(timeToLive);
+        fileHandler = makeFileHandler(saveFolder);
+        
+        coldStore = maxEntries == Integer.MAX_VALUE && timeToLive == 0
+                  ? null
+                  : new ColdUsernameStore(new File(saveFolder, "UsernameCacheArchive"), coldStoreBucketCount);
+    }
     
-    protected Map<UUID, String> recordedUsernames = new HashMap<UUID, String>();
-    protected Map<String, UUID> nameIndex = new HashMap<String, UUID>(); // for fast lookup of IDs by name.
+    protected final ConcurrentMap<UUID, CachedUsername> recordedUsernames
+        = new ConcurrentHashMap<UUID, CachedUsername>();
     
+    protected final ConcurrentMap<String, CachedUsername> nameIndex
+        = new ConcurrentHashMap<String, CachedUsername>(); // for fast lookup of IDs by name.
+    
+    // By lower-cased name followed by the name as recorded, for lookups ignoring case and by prefix. Names that differ
+    // only by case each have their own key, so removing one leaves the others.
+    protected final ConcurrentNavigableMap<String, CachedUsername> lowerCaseNameIndex
+        = new ConcurrentSkipListMap<String, CachedUsername>();
+    
+    // Only held while changing the cache, lookups don't need it.
     protected Lock recordedUsernamesLock = new ReentrantLock();
     protected FileHandler fileHandler;
     
+    // Null where the cache isn't bounded.
+    protected final ColdUsernameStore coldStore;
+    protected static final int coldStoreBucketCount = 256;
+    
+    protected final int maxEntries;
+    protected final long timeToLiveMillis;
+    
+    protected final AtomicLong hits = new AtomicLong();
+    protected final AtomicLong misses = new AtomicLong();
+    protected final AtomicLong coldHits = new AtomicLong();
+    protected final AtomicLong evictions = new AtomicLong();
+    protected final AtomicLong knownMisses = new AtomicLong();
+    
+    /*
+    The most recent player IDs and usernames that were looked up and found neither in memory nor on disk, so that
+    looking them up again doesn't read from disk again. An ID or username is removed from these when it's evicted to
+    disk, and coldStoreGeneration is incremented, under recordedUsernamesLock, so that a miss read from disk before an
+    eviction isn't remembered after it.
+    */
+    protected static final int maxRememberedMisses = 1024;
+    protected final Set<UUID> missingIds = makeMissSet();
+    protected final Set<String> missingNames = makeMissSet();
+    protected volatile long coldStoreGeneration = 0;
+    
     protected FileHandler makeFileHandler(File saveFolder)
     {
         return new CSVFileHandler("UsernameCache", new File(saveFolder, "UsernameCache.csv"), "Unable to load all cached usernames to UUIDs. ")
         {
-            List<Map.Entry<UUID, String>> entryList;
-            
             @Override
             protected void onNoFileToInterpret()
             {}
-
+            
             @Override
             protected List<String> getColumnNames()
-            { return Arrays.asList("Player ID", "Last recorded username"); }
-
+            { return Arrays.asList("Player ID", "Last recorded username", "Last used"); }
+            
             @Override
             protected void preInterpretation()
             { recordedUsernamesLock.lock(); }
-
+            
             @Override
             protected boolean interpretRow(List<String> row)
             {
-                if(row.size() != 2)
+                // Caches saved before the last-used column was added have two columns.
+                if(row.size() != 2 && row.size() != 3)
                     return false;
                 
                 UUID id;
+                long lastUsed = currentTimeMillis();
                 
                 try
-                { id = UUID.fromString(row.get(0)); }
+                {
+                    id = UUID.fromString(row.get(0));
+                    
+                    if(row.size() == 3)
+                        lastUsed = Long.parseLong(row.get(2));
+                }
                 catch(IllegalArgumentException e)
                 { return false; }
                 
-                recordedUsernames.put(id, row.get(1));
-                nameIndex.put(row.get(1), id);
+                record(id, row.get(1), lastUsed);
                 return true;
             }
-
+            
             @Override
             protected void postInterpretation()
             { recordedUsernamesLock.unlock(); }
-
+            
             @Override
             protected void preSave()
-            {
-                recordedUsernamesLock.lock();
-                entryList = new ArrayList<Map.Entry<UUID, String>>(recordedUsernames.entrySet());
-            }
-
+            { evictExpired(); }
+            
             @Override
-            protected List<CSVRowMember> getRow(int rowNumber)
+            protected void writeRows(CSVRowWriter writer)
             {
-                if(rowNumber >= entryList.size())
-                    return null;
-                
-                return Arrays.asList(new CSVRowMember(entryList.get(rowNumber).getKey().toString(), false),
-                                     new CSVRowMember(entryList.get(rowNumber).getValue(),          true));
+                writer.writeRows(snapshot().iterator(), new CSVRowWriter.RowFormatter<CachedUsername>()
+                {
+                    @Override
+                    public void writeFields(CachedUsername entry, CSVRowWriter writer)
+                    { writer.field(entry.playerId.toString()).field(entry.username, true).field(entry.lastUsed); }
+                });
             }
-
+            
             @Override
             protected void postSave()
-            { recordedUsernamesLock.lock(); }
+            {
+                if(coldStore != null)
+                {
+                    try
+                    { coldStore.flush(); }
+                    catch(IOException exception)
+                    { print("Unable to save all evicted usernames: " + exception.getMessage()); }
+                }
+            }
         };
     }
     
+    //<editor-fold defaultstate="collapsed" desc="Lookups">
     public String getLastRecordedNameOf(UUID playerId)
+    {
+        CachedUsername entry = recordedUsernames.get(playerId);
+        
+        if(entry == null)
+        {
+            misses.incrementAndGet();
+            return coldStore == null ? null : faultInName(playerId);
+        }
+        
+        hits.incrementAndGet();
+        touch(entry);
+        return entry.username;
+    }
+    
+    public UUID getLastRecordedIDForName(String username)
+    {
+        CachedUsername entry = nameIndex.get(username);
+        
+        if(entry == null)
+        {
+            misses.incrementAndGet();
+            return coldStore == null ? null : faultInId(username);
+        }
+        
+        hits.incrementAndGet();
+        touch(entry);
+        return entry.playerId;
+    }
+    
+    /**
+     * Gets the ID of the player with the passed username, ignoring case. Where more than one recorded username matches,
+     * prefers the one in the same case as passed. Where the username isn't held in memory in any case, falls back to looking up the username as passed, which may find it on disk.
+     * @param username The username to look up.
+     * @return The ID of the player with the username, or null if there isn't one recorded.
+     */
+    public UUID getLastRecordedIDForNameIgnoreCase(String username)
+    {
+        CachedUsername entry = nameIndex.get(username);
+        
+        if(entry == null)
+            entry = getAnyCaseOf(username);
+        
+        if(entry == null)
+            return getLastRecordedIDForName(username);
+        
+        hits.incrementAndGet();
+        touch(entry);
+        return entry.playerId;
+    }
+    
+    /**
+     * Gets the recorded usernames held in memory that start with the passed prefix, ignoring case. Takes time
+     * proportional to the length of the prefix and the number of usernames found, rather than to the size of the
+     * cache.
+     * @param prefix The start of the usernames to get.
+     * @return The IDs of the players with matching usernames, by username, in alphabetical order ignoring case.
+     */
+    public Map<String, UUID> getRecordedNamesStartingWith(String prefix)
+    { return getRecordedNamesStartingWith(prefix, Integer.MAX_VALUE); }
+    
+    /**
+     * Gets the first recorded usernames held in memory that start with the passed prefix, ignoring case, in
+     * alphabetical order. Takes time proportional to the length of the prefix and the number of usernames found,
+     * rather than to the size of the cache.
+     * @param prefix The start of the usernames to get.
+     * @param maxResults The maximum number of usernames to get.
+     * @return The IDs of the players with matching usernames, by username, in alphabetical order ignoring case.
+     */
+    public Map<String, UUID> getRecordedNamesStartingWith(String prefix, int maxResults)
+    {
+        if(maxResults < 0)
+            throw new IllegalArgumentException("maxResults can't be negative. (was " + maxResults + ")");
+        
+        String lowerCasePrefix = toLowerCase(prefix);
+        Map<String, UUID> found = new LinkedHashMap<String, UUID>();
+        
+        for(CachedUsername entry : lowerCaseNameIndex.subMap(lowerCasePrefix, true,
+                                                             lowerCasePrefix + Character.MAX_VALUE, false).values())
+        {
+            if(found.size() >= maxResults)
+                break;
+            
+            found.put(entry.username, entry.playerId);
+        }
+        
+        return found;
+    }
+    
+    @Override
+    public UUID getIdForName(String username)
+    { return getLastRecordedIDForName(username); }
+    
+    @Override
+    public String getNameForId(UUID playerId)
+    { return getLastRecordedNameOf(playerId); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Changes">
+    public void recordUsername(UUID playerId, String username)
+    { record(playerId, username, currentTimeMillis()); }
+    
+    public void removeCachedUsername(String username)
     {
         recordedUsernamesLock.lock();
         
         try
-        { return recordedUsernames.get(playerId); }
+        {
+            CachedUsername toRemove = nameIndex.remove(username);
+            
+            if(toRemove != null)
+            {
+                recordedUsernames.remove(toRemove.playerId, toRemove);
+                lowerCaseNameIndex.remove(caseInsensitiveKey(toRemove.username), toRemove);
+            }
+            
+            if(coldStore != null)
+                coldStore.remove(username);
+        }
+        catch(IOException exception)
+        { fileHandler.print("Unable to remove evicted username " + username + ": " + exception.getMessage()); }
         finally
         { recordedUsernamesLock.unlock(); }
     }
     
-    public UUID getLastRecordedIDForName(String username)
+    /**
+     * Evicts all usernames that haven't been used within the cache's time-to-live, if it has one.
+     * @return The number of usernames evicted.
+     */
+    public int evictExpired()
     {
+        if(timeToLiveMillis == 0)
+            return 0;
+        
         recordedUsernamesLock.lock();
         
         try
-        { return nameIndex.get(username); }
+        {
+            long expiry = currentTimeMillis() - timeToLiveMillis;
+            List<CachedUsername> expired = new ArrayList<CachedUsername>();
+            
+            for(CachedUsername entry : recordedUsernames.values())
+                if(entry.lastUsed < expiry)
+                    expired.add(entry);
+            
+            for(CachedUsername entry : expired)
+                evict(entry);
+            
+            return expired.size();
+        }
         finally
         { recordedUsernamesLock.unlock(); }
     }
     
-    public void recordUsername(UUID playerId, String username)
+    void record(UUID playerId, String username, long lastUsed)
     {
         recordedUsernamesLock.lock();
         
         try
         {
-            removeCachedUsername(username);
+            CachedUsername entry = new CachedUsername(playerId, username, lastUsed);
+            CachedUsername previousForName = nameIndex.put(username, entry);
+            CachedUsername previousForId = recordedUsernames.put(playerId, entry);
+            lowerCaseNameIndex.put(caseInsensitiveKey(username), entry);
+            
+            // Whoever previously had this name no longer does, and this player no longer has their previous name.
+            if(previousForName != null && !previousForName.playerId.equals(playerId))
+                recordedUsernames.remove(previousForName.playerId, previousForName);
+            
+            if(previousForId != null && !previousForId.username.equals(username))
+            {
+                nameIndex.remove(previousForId.username, previousForId);
+                lowerCaseNameIndex.remove(caseInsensitiveKey(previousForId.username), previousForId);
+            }
+            
+            // The player and username are in memory now, so anything on disk for either is out of date.
+            if(coldStore != null)
+                coldStore.forget(playerId, username);
             
-            nameIndex.put(username, playerId);
-            recordedUsernames.put(playerId, username);
+            if(recordedUsernames.size() > maxEntries)
+                evictLeastRecentlyUsed();
         }
         finally
         { recordedUsernamesLock.unlock(); }
     }
     
-    public void removeCachedUsername(String username)
+    /**
+     * Evicts the least recently used usernames, down to nine tenths of the cache's capacity, so that the sort this needs
+     * is spread over the next tenth of the capacity's worth of usernames recorded, rather than made for each one.
+     */
+    void evictLeastRecentlyUsed()
+    {
+        // Lookups update lastUsed without taking the lock, so it's copied before sorting. Sorting on the live values
+        // could see them change mid-sort, which breaks the sort's contract.
+        List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>(recordedUsernames.size());
+        
+        for(CachedUsername entry : recordedUsernames.values())
+            candidates.add(new EvictionCandidate(entry.lastUsed, entry));
+        
+        Collections.sort(candidates, new Comparator<EvictionCandidate>()
+        {
+            @Override
+            public int compare(EvictionCandidate first, EvictionCandidate second)
+            { return first.lastUsed < second.lastUsed ? -1 : (first.lastUsed == second.lastUsed ? 0 : 1); }
+        });
+        
+        int toEvict = candidates.size() - (maxEntries - maxEntries / 10);
+        
+        for(int i = 0; i < toEvict; i++)
+            evict(candidates.get(i).entry);
+    }
+    
+    void evict(CachedUsername entry)
+    {
+        if(!recordedUsernames.remove(entry.playerId, entry))
+            return;
+        
+        nameIndex.remove(entry.username, entry);
+        lowerCaseNameIndex.remove(caseInsensitiveKey(entry.username), entry);
+        coldStore.store(entry.playerId, entry.username);
+        coldStoreGeneration++;
+        missingIds.remove(entry.playerId);
+        missingNames.remove(entry.username);
+        evictions.incrementAndGet();
+    }
+    
+    String faultInName(UUID playerId)
+    {
+        if(missingIds.contains(playerId))
+        {
+            knownMisses.incrementAndGet();
+            return null;
+        }
+        
+        long generation = coldStoreGeneration;
+        String username;
+        
+        try
+        { username = coldStore.getNameForId(playerId); }
+        catch(IOException exception)
+        {
+            fileHandler.print("Unable to read evicted username of " + playerId + ": " + exception.getMessage());
+            return null;
+        }
+        
+        if(username == null)
+        {
+            rememberMiss(missingIds, playerId, generation);
+            return null;
+        }
+        
+        return faultIn(playerId, username) ? username : null;
+    }
+    
+    UUID faultInId(String username)
+    {
+        if(missingNames.contains(username))
+        {
+            knownMisses.incrementAndGet();
+            return null;
+        }
+        
+        long generation = coldStoreGeneration;
+        UUID playerId;
+        
+        try
+        { playerId = coldStore.getIdForName(username); }
+        catch(IOException exception)
+        {
+            fileHandler.print("Unable to read evicted username " + username + ": " + exception.getMessage());
+            return null;
+        }
+        
+        if(playerId == null)
+        {
+            rememberMiss(missingNames, username, generation);
+            return null;
+        }
+        
+        return faultIn(playerId, username) ? playerId : null;
+    }
+    
+    /**
+     * Remembers that a player ID or username wasn't found on disk, unless anything's been evicted to disk since it was
+     * looked up there, in which case it may be there now.
+     */
+    <K> void rememberMiss(Set<K> misses, K key, long generation)
     {
         recordedUsernamesLock.lock();
         
         try
         {
-            UUID toRemove = nameIndex.remove(username);
+            if(coldStoreGeneration == generation)
+                misses.add(key);
+        }
+        finally
+        { recordedUsernamesLock.unlock(); }
+    }
+    
+    static <K> Set<K> makeMissSet()
+    {
+        return Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<K, Boolean>()
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest)
+            { return size() > maxRememberedMisses; }
+        }));
+    }
+    
+    /**
+     * Moves a username from the cold store back into memory, unless either the player or the username have been
+     * recorded since it was read from the cold store.
+     * @return True if the username was faulted in or was already back in memory, or false if it was out of date.
+     */
+    boolean faultIn(UUID playerId, String username)
+    {
+        recordedUsernamesLock.lock();
+        
+        try
+        {
+            CachedUsername currentForId = recordedUsernames.get(playerId);
+            CachedUsername currentForName = nameIndex.get(username);
             
-            if(toRemove != null)
-                recordedUsernames.remove(toRemove);
+            if(currentForId != null || currentForName != null)
+                return currentForId != null && currentForId == currentForName;
+            
+            record(playerId, username, currentTimeMillis());
+            coldHits.incrementAndGet();
+            return true;
         }
         finally
         { recordedUsernamesLock.unlock(); }
     }
     
+    void touch(CachedUsername entry)
+    {
+        if(coldStore != null)
+            entry.lastUsed = currentTimeMillis();
+    }
+    
+    static String toLowerCase(String username)
+    { return username.toLowerCase(Locale.ROOT); }
+    
+    /*
+    Usernames can't contain the separator, and it sorts before any character that can follow a lower-cased name, so all
+    of the keys for a name in any case are next to one another, and sort by the lower-cased name first.
+    */
+    static final char caseSeparator = '\0';
+    
+    static String caseInsensitiveKey(String username)
+    { return toLowerCase(username) + caseSeparator + username; }
+    
+    CachedUsername getAnyCaseOf(String username)
+    {
+        String lowerCaseKey = toLowerCase(username) + caseSeparator;
+        Map.Entry<String, CachedUsername> found = lowerCaseNameIndex.ceilingEntry(lowerCaseKey);
+        return found != null && found.getKey().startsWith(lowerCaseKey) ? found.getValue() : null;
+    }
+    
+    protected long currentTimeMillis()
+    { return System.currentTimeMillis(); }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Snapshots">
+    List<CachedUsername> snapshot()
+    {
+        recordedUsernamesLock.lock();
+        
+        try
+        { return new ArrayList<CachedUsername>(recordedUsernames.values()); }
+        finally
+        { recordedUsernamesLock.unlock(); }
+    }
+    
+    /**
+     * Gets an iterator over a point-in-time copy of the recorded usernames held in memory, by player ID. Taking the
+     * copy briefly holds up changes to the cache, but not lookups, and the iterator isn't affected by any changes made
+     * afterwards.
+     * @return An iterator over the recorded player IDs and their usernames.
+     */
+    public Iterator<Map.Entry<UUID, String>> snapshotIterator()
+    {
+        List<CachedUsername> entries = snapshot();
+        List<Map.Entry<UUID, String>> snapshot = new ArrayList<Map.Entry<UUID, String>>(entries.size());
+        
+        for(CachedUsername entry : entries)
+            snapshot.add(new SimpleImmutableEntry<UUID, String>(entry.playerId, entry.username));
+        
+        return snapshot.iterator();
+    }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Statistics">
+    /**
+     * Gets the number of usernames currently held in memory.
+     * @return The number of usernames in memory.
+     */
+    public int getSize()
+    { return recordedUsernames.size(); }
+    
+    public int getMaxEntries()
+    { return maxEntries; }
+    
+    public long getTimeToLive(TimeUnit unit)
+    { return unit.convert(timeToLiveMillis, TimeUnit.MILLISECONDS); }
+    
+    public boolean isBounded()
+    { return coldStore != null; }
+    
+    /**
+     * Gets the number of lookups that found the username in memory.
+     * @return The number of hits.
+     */
+    public long getHitCount()
+    { return hits.get(); }
+    
+    /**
+     * Gets the number of lookups that didn't find the username in memory, including those then found on disk.
+     * @return The number of misses.
+     */
+    public long getMissCount()
+    { return misses.get(); }
+    
+    /**
+     * Gets the number of misses that were then found on disk and faulted back in.
+     * @return The number of cold hits.
+     */
+    public long getColdHitCount()
+    { return coldHits.get(); }
+    
+    /**
+     * Gets the number of misses answered without reading from disk, because the same player ID or username was
+     * recently looked up and found neither in memory nor on disk.
+     * @return The number of known misses.
+     */
+    public long getKnownMissCount()
+    { return knownMisses.get(); }
+    
+    /**
+     * Gets the number of usernames that have been evicted to disk.
+     * @return The number of evictions.
+     */
+    public long getEvictionCount()
+    { return evictions.get(); }
+    //</editor-fold>
+    
     public FileHandler getFileHandler()
     { return fileHandler; }
 }
\ No newline at end of file
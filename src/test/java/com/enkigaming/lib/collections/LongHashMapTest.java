@@ -0,0 +1,40 @@
+package com.enkigaming.lib.collections;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongHashMapTest
+{
+    @Test
+    public void testAgainstHashMap()
+    {
+        Random random = new Random(3333);
+        LongHashMap<String> map = new LongHashMap<String>();
+        Map<Long, String> expected = new HashMap<Long, String>();
+        
+        for(int i = 0; i < 200000; i++)
+        {
+            long key = random.nextInt(5000) - 2500;
+            
+            if(random.nextInt(3) == 0)
+                assertEquals("remove." + i, expected.remove(key), map.remove(key));
+            else
+            {
+                String value = "v" + i;
+                assertEquals("put." + i, expected.put(key, value), map.put(key, value));
+            }
+        }
+        
+        assertEquals("size", expected.size(), map.size());
+        
+        for(long i = -2500; i < 2500; i++)
+            assertEquals("get." + i, expected.get(i), map.get(i));
+        
+        assertEquals("keySet", expected.size(), map.keySet().size());
+        assertEquals("values", expected.size(), map.values().size());
+        assertTrue("values.contents", map.values().containsAll(expected.values()));
+    }
+}
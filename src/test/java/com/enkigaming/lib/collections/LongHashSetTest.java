@@ -0,0 +1,46 @@
+package com.enkigaming.lib.collections;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest
+{
+    @Test
+    public void testAgainstHashSet()
+    {
+        Random random = new Random(33);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<Long>();
+        
+        for(int i = 0; i < 200000; i++)
+        {
+            // A narrow range of values, so that adds and removes often hit values already present, including 0.
+            long value = random.nextInt(5000) - 2500;
+            
+            if(random.nextInt(3) == 0)
+                assertEquals("remove." + i, expected.remove(value), set.remove(value));
+            else
+                assertEquals("add." + i, expected.add(value), set.add(value));
+        }
+        
+        assertEquals("size", expected.size(), set.size());
+        
+        for(long i = -2500; i < 2500; i++)
+            assertEquals("contains." + i, expected.contains(i), set.contains(i));
+        
+        Set<Long> iterated = new HashSet<Long>();
+        
+        for(LongIterator i = set.iterator(); i.hasNext();)
+            assertTrue("unique", iterated.add(i.next()));
+        
+        assertEquals("iterator", expected, iterated);
+        assertEquals("toArray", expected.size(), set.toArray().length);
+        
+        set.clear();
+        assertTrue("clear", set.isEmpty());
+        assertFalse("clear.contains", set.contains(0));
+    }
+}
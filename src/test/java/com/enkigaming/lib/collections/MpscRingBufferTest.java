@@ -0,0 +1,102 @@
+package com.enkigaming.lib.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MpscRingBufferTest
+{
+    @Test
+    public void testOfferAndPoll()
+    {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(5);
+        
+        assertEquals("1.1", 8, buffer.getCapacity());
+        assertTrue  ("1.2", buffer.isEmpty());
+        assertNull  ("1.3", buffer.poll());
+        
+        for(int i = 0; i < 8; i++)
+            assertTrue("2.1." + i, buffer.offer(i));
+        
+        assertFalse ("2.2", buffer.offer(8));
+        assertEquals("2.3", 8, buffer.size());
+        
+        for(int i = 0; i < 8; i++)
+            assertEquals("2.4." + i, Integer.valueOf(i), buffer.poll());
+        
+        assertNull("2.5", buffer.poll());
+        
+        // Wrapping round the ring many times.
+        for(int i = 0; i < 100; i++)
+        {
+            assertTrue  ("3.1." + i, buffer.offer(i));
+            assertTrue  ("3.2." + i, buffer.offer(-i));
+            assertEquals("3.3." + i, Integer.valueOf(i), buffer.poll());
+            assertEquals("3.4." + i, Integer.valueOf(-i), buffer.poll());
+        }
+        
+        assertTrue("3.5", buffer.isEmpty());
+    }
+    
+    @Test
+    public void testConcurrentProducers() throws InterruptedException
+    {
+        final int producerCount = 4, perProducer = 20000;
+        final MpscRingBuffer<long[]> buffer = new MpscRingBuffer<long[]>(256);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<Thread>();
+        
+        for(int i = 0; i < producerCount; i++)
+        {
+            final int producer = i;
+            
+            Thread thread = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    { start.await(); }
+                    catch(InterruptedException exception)
+                    { return; }
+                    
+                    for(int j = 0; j < perProducer; j++)
+                        while(!buffer.offer(new long[] { producer, j }))
+                            Thread.yield();
+                }
+            };
+            
+            producers.add(thread);
+            thread.start();
+        }
+        
+        start.countDown();
+        long[] lastFromEach = new long[producerCount];
+        Arrays.fill(lastFromEach, -1);
+        int received = 0;
+        
+        while(received < producerCount * perProducer)
+        {
+            long[] element = buffer.poll();
+            
+            if(element == null)
+            {
+                Thread.yield();
+                continue;
+            }
+            
+            // Each producer's elements come out in the order it added them.
+            assertEquals("1", lastFromEach[(int)element[0]] + 1, element[1]);
+            lastFromEach[(int)element[0]] = element[1];
+            received++;
+        }
+        
+        for(Thread thread : producers)
+            thread.join();
+        
+        assertTrue("2", buffer.isEmpty());
+    }
+}
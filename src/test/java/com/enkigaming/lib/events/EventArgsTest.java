@@ -156,6 +156,55 @@ public abstract class EventArgsTest
         assertSame("8", master1, master1.getMasterArgs());
     }
     
+    @Test
+    public void testStateSharedThroughHierarchy()
+    {
+        EventArgs master = getNewArgs(), otherMaster = getNewArgs();
+        EventArgs[] chain = new EventArgs[50];
+        
+        for(int i = 0; i < chain.length; i++)
+        {
+            chain[i] = getNewArgs();
+            makeRelationship(i == 0 ? master : chain[i - 1], chain[i]);
+        }
+        
+        final EventArgs deepest = chain[chain.length - 1];
+        assertSame("1.1", master, deepest.getMasterArgs());
+        
+        assertFalse("1.2", deepest.setCancelled(true));
+        assertTrue ("1.3", master.isCancelled());
+        assertTrue ("1.4", chain[10].isCancelled());
+        
+        master.setCancelled(false);
+        assertFalse("1.5", deepest.isCancelled());
+        
+        // Moving part of the hierarchy under another master should move everything below it too.
+        makeRelationship(otherMaster, chain[20]);
+        assertSame ("2.1", otherMaster, deepest.getMasterArgs());
+        assertSame ("2.2", master, chain[19].getMasterArgs());
+        
+        otherMaster.setCancelled(true);
+        assertTrue ("2.3", deepest.isCancelled());
+        assertFalse("2.4", master.isCancelled());
+        assertFalse("2.5", chain[19].isCancelled());
+        
+        otherMaster.getTechnicalAccessor().makeImmutable();
+        assertFalse("3.1", deepest.shouldBeMutable());
+        assertTrue ("3.2", chain[19].shouldBeMutable());
+        
+        new ThrowableAssertion("3.3", EventArgsModifiedWhenImmutableException.class)
+        {
+            @Override
+            public void code() throws Exception
+            { deepest.setCancelled(false); }
+        };
+        
+        chain[20].getTechnicalAccessor().setParentArgs(null);
+        assertSame ("4.1", chain[20], deepest.getMasterArgs());
+        assertTrue ("4.2", deepest.shouldBeMutable());
+        assertFalse("4.3", deepest.isCancelled());
+    }
+    
     @Test
     public void testParentArgsAndDependentArgs()
     {
@@ -313,6 +362,39 @@ public abstract class EventArgsTest
         ensureArgsHasDependencies("6.4", otherParentArgs, otherArgs);
     }
     
+    @Test
+    public void testRelationGroups()
+    {
+        EventArgs first = getNewArgs(), second = getNewArgs(), third = getNewArgs(), fourth = getNewArgs();
+        EventArgs secondDependant = getNewArgs();
+        
+        makeRelationship(second, secondDependant);
+        
+        assertNull           ("1.1", first.getRelationGroup());
+        assertCollectionEmpty("1.2", first.getRelatedMasterArgs());
+        
+        EventMethods.relateArgs(first, second);
+        EventMethods.relateArgs(third, fourth);
+        
+        assertSame   ("2.1", first.getRelationGroup(), second.getRelationGroup());
+        assertSame   ("2.2", second.getRelationGroup(), secondDependant.getRelationGroup());
+        assertNotSame("2.3", first.getRelationGroup(), third.getRelationGroup());
+        assertCollectionEquals("2.4", first.getRelatedMasterArgs(), Arrays.asList(second));
+        assertCollectionEquals("2.5", first.getRelatedArgs(), Arrays.asList(second, secondDependant));
+        assertCollectionEquals("2.6", secondDependant.getRelatedArgs(), Arrays.asList(first, second));
+        
+        // Relating args from two groups merges them.
+        EventMethods.relateArgs(second, third);
+        ArgsRelationGroup group = first.getRelationGroup();
+        
+        assertEquals("3.1", 4, group.size());
+        assertSame  ("3.2", group, fourth.getRelationGroup());
+        assertTrue  ("3.3", group.contains(fourth));
+        assertFalse ("3.4", group.contains(secondDependant));
+        assertCollectionEquals("3.5", fourth.getRelatedMasterArgs(), Arrays.asList(first, second, third));
+        assertCollectionEquals("3.6", group.getMembers(), Arrays.asList(first, second, third, fourth));
+    }
+    
     @Test
     public void testUsageState()
     {
@@ -0,0 +1,200 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.encapsulatedfunctions.Converger;
+import com.enkigaming.lib.testing.ThrowableAssertion;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventGroupTest
+{
+    static final Converger<Object, EventArgs, EventArgs> argsGetter = new Converger<Object, EventArgs, EventArgs>()
+    {
+        @Override
+        public EventArgs get(Object sender, EventArgs parentArgs)
+        { return new StandardEventArgs(); }
+    };
+    
+    EventListener<EventArgs> getRecordingListener(final List<String> calls, final String name)
+    {
+        return new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs args)
+            { calls.add(name); }
+        };
+    }
+    
+    @Test
+    public void testRaise()
+    {
+        List<String> calls = new ArrayList<String>();
+        StandardEvent<EventArgs> first = new StandardEvent<EventArgs>();
+        StandardEvent<EventArgs> second = new StandardEvent<EventArgs>();
+        StandardEvent<EventArgs> dependant = new StandardEvent<EventArgs>();
+        
+        second.register(dependant, argsGetter);
+        first.register(getRecordingListener(calls, "first late"), ListenerPriority.Late);
+        first.register(getRecordingListener(calls, "first post"), ListenerPriority.Post);
+        second.register(getRecordingListener(calls, "second early"), ListenerPriority.Early);
+        dependant.register(getRecordingListener(calls, "dependant normal"), ListenerPriority.Normal);
+        
+        EventGroup group = new EventGroup(first, second);
+        
+        for(int i = 0; i < 3; i++)
+        {
+            calls.clear();
+            EventArgs firstArgs = new StandardEventArgs(), secondArgs = new StandardEventArgs();
+            group.raise(this, firstArgs, secondArgs);
+            
+            assertEquals("1.1", Arrays.asList("second early", "dependant normal", "first late"), calls);
+            
+            group.raisePostEvent(this, firstArgs, secondArgs);
+            
+            assertEquals("1.2", "first post", calls.get(3));
+        }
+        
+        assertEquals("1.3", 1, group.getPlanBuildCount());
+        
+        // Registering to a dependant of a member replans the group.
+        dependant.register(getRecordingListener(calls, "dependant very early"), ListenerPriority.VeryEarly);
+        calls.clear();
+        group.raise(this, new StandardEventArgs(), new StandardEventArgs());
+        
+        assertEquals("2.1", Arrays.asList("dependant very early", "second early", "dependant normal", "first late"),
+                            calls);
+        assertEquals("2.2", 2, group.getPlanBuildCount());
+        
+        second.deregister(dependant);
+        calls.clear();
+        group.raise(this, new StandardEventArgs(), new StandardEventArgs());
+        
+        assertEquals("3.1", Arrays.asList("second early", "first late"), calls);
+        assertEquals("3.2", 3, group.getPlanBuildCount());
+    }
+    
+    @Test
+    public void testCollectedListeners()
+    {
+        List<String> calls = new ArrayList<String>();
+        StandardEvent<EventArgs> event = new StandardEvent<EventArgs>();
+        StandardEvent<EventArgs> dependant = new StandardEvent<EventArgs>();
+        EventListener<EventArgs> collectedListener = getRecordingListener(calls, "collected");
+        WeakReference<EventListener<EventArgs>> collectedProbe = new WeakReference<EventListener<EventArgs>>(collectedListener);
+        
+        event.register(dependant, argsGetter);
+        event.register(getRecordingListener(calls, "kept"));
+        dependant.registerWeakly(collectedListener);
+        
+        EventGroup group = new EventGroup(event);
+        group.raise(this, new StandardEventArgs());
+        
+        assertEquals("1.1", Arrays.asList("kept", "collected"), calls);
+        assertEquals("1.2", 1, group.getPlanBuildCount());
+        
+        collectedListener = null;
+        
+        for(int i = 0; i < 50 && collectedProbe.get() != null; i++)
+            System.gc();
+        
+        assertNull("2.1", collectedProbe.get());
+        
+        // The dependant's collected listener is purged by the group's next raise, even though its plan hasn't otherwise
+        // changed.
+        for(int i = 0; i < 50 && dependant.getCollectedListenerCount() == 0; i++)
+        {
+            group.raise(this, new StandardEventArgs());
+            
+            try
+            { Thread.sleep(10); }
+            catch(InterruptedException exception)
+            { Thread.currentThread().interrupt(); }
+        }
+        
+        assertEquals("2.2", 1, dependant.getCollectedListenerCount());
+        assertEquals("2.3", 1, event.getReachableListenerCount());
+        
+        calls.clear();
+        group.raise(this, new StandardEventArgs());
+        
+        assertEquals("3.1", Arrays.asList("kept"), calls);
+        assertEquals("3.2", 2, group.getPlanBuildCount());
+    }
+    
+    @Test
+    public void testDependentArgs()
+    {
+        final StandardEvent<EventArgs> event = new StandardEvent<EventArgs>();
+        final StandardEvent<EventArgs> dependant = new StandardEvent<EventArgs>();
+        final EventArgs args = new StandardEventArgs();
+        final List<EventArgs> seen = new ArrayList<EventArgs>();
+        
+        event.register(dependant, argsGetter);
+        dependant.register(new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs dependantArgs)
+            {
+                seen.add(dependantArgs);
+                assertSame("1.1", dependant, dependantArgs.getEvent());
+                assertSame("1.2", args, dependantArgs.getParentArgs());
+            }
+        });
+        
+        new EventGroup(event).raise(this, args);
+        
+        assertEquals("2.1", 1, seen.size());
+        assertTrue  ("2.2", args.getDependentArgs().contains(seen.get(0)));
+    }
+    
+    @Test
+    public void testSharedCancellation()
+    {
+        StandardEvent<EventArgs> first = new StandardEvent<EventArgs>();
+        StandardEvent<EventArgs> second = new StandardEvent<EventArgs>();
+        final List<Boolean> cancellationStates = new ArrayList<Boolean>();
+        
+        first.register(new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs args)
+            { args.setCancelled(true); }
+        }, ListenerPriority.Early);
+        
+        second.register(new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs args)
+            { cancellationStates.add(args.isCancelled()); }
+        }, ListenerPriority.Monitor);
+        
+        EventGroup group = new EventGroup(first, second);
+        group.raise(this, new StandardEventArgs(), new StandardEventArgs());
+        group.raise(this, false, new StandardEventArgs(), new StandardEventArgs());
+        
+        assertEquals("1", Arrays.asList(true, false), cancellationStates);
+    }
+    
+    @Test
+    public void testInvalidArgs()
+    {
+        final EventGroup group = new EventGroup(new StandardEvent<EventArgs>(), new StandardEvent<EventArgs>());
+        
+        new ThrowableAssertion("1", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { group.raise(this, new StandardEventArgs()); }
+        };
+        
+        new ThrowableAssertion("2", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { new EventGroup(new ArrayList<Event<?>>()); }
+        };
+    }
+}
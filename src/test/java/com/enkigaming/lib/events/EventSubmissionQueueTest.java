@@ -0,0 +1,123 @@
+package com.enkigaming.lib.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventSubmissionQueueTest
+{
+    public static class NumberedArgs extends StandardEventArgs
+    {
+        public NumberedArgs(int number)
+        { this.number = number; }
+        
+        final int number;
+    }
+    
+    @Test
+    public void testSubmitAndDrain() throws InterruptedException
+    {
+        final EventSubmissionQueue queue = new EventSubmissionQueue(1024);
+        final Event<NumberedArgs> event = new StandardEvent<NumberedArgs>();
+        final List<Integer> raised = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> raisedPost = new ArrayList<Integer>();
+        
+        event.register(new EventListener<NumberedArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, NumberedArgs args)
+            { raised.add(args.number); }
+        });
+        
+        event.register(new EventListener<NumberedArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, NumberedArgs args)
+            { raisedPost.add(args.number); }
+        }, ListenerPriority.Post);
+        
+        Thread submitter = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for(int i = 0; i < 100; i++)
+                    queue.submit(event, this, new NumberedArgs(i));
+            }
+        };
+        
+        submitter.start();
+        submitter.join();
+        
+        // Nothing's raised until the queue is drained, on the draining thread.
+        assertTrue  ("1.1", raised.isEmpty());
+        assertEquals("1.2", 100, queue.getDepth());
+        assertEquals("1.3", 100, queue.getSubmittedCount());
+        
+        assertEquals("2.1", 100, queue.drainAll());
+        assertEquals("2.2", 0, queue.getDepth());
+        assertEquals("2.3", 100, queue.getPeakDepth());
+        assertEquals("2.4", 100, queue.getDeliveredCount());
+        
+        for(int i = 0; i < 100; i++)
+        {
+            assertEquals("2.5." + i, Integer.valueOf(i), raised.get(i));
+            assertEquals("2.6." + i, Integer.valueOf(i), raisedPost.get(i));
+        }
+    }
+    
+    @Test
+    public void testBudgetAndOverflow()
+    {
+        EventSubmissionQueue queue = new EventSubmissionQueue(4);
+        Event<NumberedArgs> event = new StandardEvent<NumberedArgs>();
+        
+        for(int i = 0; i < 4; i++)
+            assertTrue("1." + i, queue.submit(event, this, new NumberedArgs(i)));
+        
+        assertFalse ("2.1", queue.submit(event, this, new NumberedArgs(4)));
+        assertEquals("2.2", 1, queue.getOverflowCount());
+        assertEquals("2.3", 4, queue.getSubmittedCount());
+        
+        // A used-up budget still raises one submission, so that the queue always makes progress.
+        assertEquals("3.1", 1, queue.drain(0));
+        assertEquals("3.2", 3, queue.getDepth());
+        assertTrue  ("3.3", queue.submit(event, this, new NumberedArgs(5)));
+        assertEquals("3.4", 4, queue.drainAll());
+    }
+    
+    @Test
+    public void testDrainContinuesPastExceptions()
+    {
+        EventSubmissionQueue queue = new EventSubmissionQueue(16);
+        Event<NumberedArgs> event = new StandardEvent<NumberedArgs>();
+        final List<Integer> raised = new ArrayList<Integer>();
+        
+        event.register(new EventListener<NumberedArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, NumberedArgs args)
+            {
+                raised.add(args.number);
+                
+                if(args.number == 1)
+                    throw new IllegalStateException("Listener failure.");
+            }
+        });
+        
+        for(int i = 0; i < 3; i++)
+            queue.submit(event, this, new NumberedArgs(i));
+        
+        try
+        {
+            queue.drainAll();
+            fail("1");
+        }
+        catch(IllegalStateException exception)
+        { }
+        
+        assertEquals("2", 3, raised.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.enkigaming.lib.events;
+
+import com.enkigaming.lib.testing.ThrowableAssertion;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventSubscriptionsTest
+{
+    public static class CountedArgs extends StandardEventArgs
+    {
+        int count = 0;
+    }
+    
+    public static class OtherArgs extends StandardEventArgs
+    { }
+    
+    static class Subscriber
+    {
+        final List<String> calls = new ArrayList<String>();
+        Object lastSender = null;
+        
+        @EnkiSubscribe(priority = ListenerPriority.Late)
+        void late(Object sender, CountedArgs args)
+        {
+            calls.add("late");
+            lastSender = sender;
+            args.count++;
+        }
+        
+        @EnkiSubscribe(priority = ListenerPriority.Early)
+        private void early(EventArgs args)
+        { calls.add("early"); }
+        
+        @EnkiSubscribe
+        public void other(OtherArgs args)
+        { calls.add("other"); }
+        
+        public void notSubscribed(CountedArgs args)
+        { calls.add("notSubscribed"); }
+    }
+    
+    static class SubSubscriber extends Subscriber
+    {
+        @Override
+        @EnkiSubscribe(priority = ListenerPriority.VeryEarly)
+        void late(Object sender, CountedArgs args)
+        { calls.add("overridden"); }
+    }
+    
+    static class BadSubscriber
+    {
+        @EnkiSubscribe
+        public void wrongParameters(String text)
+        { }
+    }
+    
+    void raise(Event<CountedArgs> event, CountedArgs args)
+    {
+        event.raise(this, args);
+        event.raisePostEvent(this, args);
+    }
+    
+    @Test
+    public void testSubscribe()
+    {
+        Event<CountedArgs> event = new StandardEvent<CountedArgs>();
+        Subscriber subscriber = new Subscriber();
+        Collection<EventListener<CountedArgs>> listeners
+            = EventSubscriptions.subscribe(event, CountedArgs.class, subscriber);
+        
+        assertEquals("1.1", 2, listeners.size());
+        assertEquals("1.2", 2, event.getListeners().size());
+        
+        CountedArgs args = new CountedArgs();
+        raise(event, args);
+        
+        assertEquals("2.1", Arrays.asList("early", "late"), subscriber.calls);
+        assertEquals("2.2", 1, args.count);
+        assertSame  ("2.3", this, subscriber.lastSender);
+        
+        // Another instance of the same class gets its own listeners.
+        Subscriber otherSubscriber = new Subscriber();
+        EventSubscriptions.subscribe(event, CountedArgs.class, otherSubscriber);
+        assertEquals("3.1", 4, event.getListeners().size());
+        
+        args = new CountedArgs();
+        raise(event, args);
+        assertEquals("3.2", 2, args.count);
+        
+        assertEquals("4.1", 2, EventSubscriptions.unsubscribe(event, CountedArgs.class, subscriber).size());
+        assertEquals("4.2", 2, event.getListeners().size());
+        
+        subscriber.calls.clear();
+        raise(event, new CountedArgs());
+        assertTrue("4.3", subscriber.calls.isEmpty());
+        assertEquals("4.4", Arrays.asList("early", "late", "early", "late"), otherSubscriber.calls);
+    }
+    
+    @Test
+    public void testInheritance()
+    {
+        Event<CountedArgs> event = new StandardEvent<CountedArgs>();
+        SubSubscriber subscriber = new SubSubscriber();
+        EventSubscriptions.subscribe(event, CountedArgs.class, subscriber);
+        
+        raise(event, new CountedArgs());
+        assertEquals("1", Arrays.asList("overridden", "early"), subscriber.calls);
+    }
+    
+    @Test
+    public void testMethodsAreCachedPerClass()
+    {
+        assertSame("1", EventSubscriptions.getSubscriberMethods(Subscriber.class),
+                        EventSubscriptions.getSubscriberMethods(Subscriber.class));
+        
+        assertEquals("2", 3, EventSubscriptions.getSubscriberMethods(Subscriber.class).size());
+    }
+    
+    @Test
+    public void testInvalidMethods()
+    {
+        final Event<CountedArgs> event = new StandardEvent<CountedArgs>();
+        
+        new ThrowableAssertion("1", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { EventSubscriptions.subscribe(event, CountedArgs.class, new BadSubscriber()); }
+        };
+    }
+}
\ No newline at end of file
@@ -1065,6 +1065,173 @@ public abstract class EventTest
         assertTrue ("1.3.2.8", eventRaisePostFlags[3].get());
     }
     
+    @Test
+    public void testReachableListenerPruning()
+    {
+        Event<EventArgs> event = getNewEvent(), child = getNewEvent(), grandchild = getNewEvent();
+        final MutableWrapper<Boolean> childArgsMade = new MutableWrapper<Boolean>(false);
+        final MutableWrapper<Boolean> grandchildArgsMade = new MutableWrapper<Boolean>(false);
+        final MutableWrapper<Boolean> grandchildListenedTo = new MutableWrapper<Boolean>(false);
+        
+        Converger<Object, EventArgs, EventArgs> childArgsGetter = new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { childArgsMade.set(true); return getNewArgs(); }
+        };
+        
+        Converger<Object, EventArgs, EventArgs> grandchildArgsGetter = new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { grandchildArgsMade.set(true); return getNewArgs(); }
+        };
+        
+        event.register(child, childArgsGetter);
+        child.register(grandchild, grandchildArgsGetter);
+        
+        assertEquals("1.1", 0, event.getReachableListenerCount());
+        assertEquals("1.2", 0, child.getReachableListenerCount());
+        
+        EventArgs args = getNewArgs();
+        event.raise(this, args);
+        event.raisePostEvent(this, args);
+        
+        assertFalse("1.3", childArgsMade.get());
+        assertFalse("1.4", grandchildArgsMade.get());
+        
+        EventListener<EventArgs> listener = getListenerThatSetsFlagToTrue(grandchildListenedTo);
+        grandchild.register(listener);
+        event.register(getListener());
+        
+        assertEquals("2.1", 2, event.getReachableListenerCount());
+        assertEquals("2.2", 1, child.getReachableListenerCount());
+        assertEquals("2.3", 1, grandchild.getReachableListenerCount());
+        
+        args = getNewArgs();
+        event.raise(this, args);
+        event.raisePostEvent(this, args);
+        
+        assertTrue("2.4", childArgsMade.get());
+        assertTrue("2.5", grandchildArgsMade.get());
+        assertTrue("2.6", grandchildListenedTo.get());
+        
+        grandchild.deregister(listener);
+        assertEquals("3.1", 1, event.getReachableListenerCount());
+        assertEquals("3.2", 0, child.getReachableListenerCount());
+        
+        childArgsMade.set(false);
+        grandchildArgsMade.set(false);
+        args = getNewArgs();
+        event.raise(this, args);
+        event.raisePostEvent(this, args);
+        
+        assertFalse("3.3", childArgsMade.get());
+        assertFalse("3.4", grandchildArgsMade.get());
+        
+        grandchild.register(listener);
+        event.deregister(child);
+        assertEquals("4.1", 1, event.getReachableListenerCount());
+        assertEquals("4.2", 1, child.getReachableListenerCount());
+    }
+    
+    @Test
+    public void testDependencyCycles()
+    {
+        final Event<EventArgs> event = getNewEvent(), child = getNewEvent(), grandchild = getNewEvent();
+        
+        final Converger<Object, EventArgs, EventArgs> argsGetter = new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { return getNewArgs(); }
+        };
+        
+        event.register(child, argsGetter);
+        child.register(grandchild, argsGetter);
+        
+        new ThrowableAssertion("1.1", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { event.register(event, argsGetter); }
+        };
+        
+        new ThrowableAssertion("1.2", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { grandchild.register(event, argsGetter); }
+        };
+        
+        new ThrowableAssertion("1.3", IllegalArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { child.register(argsGetter, grandchild, event); }
+        };
+        
+        assertThatEventDoesntHaveDependants("2.1", grandchild);
+        assertCollectionEquals("2.2", child.getDirectlyDependentEvents(), Arrays.<Event<?>>asList(grandchild));
+        
+        event.deregister(child);
+        grandchild.register(event, argsGetter);
+        assertCollectionEquals("3", grandchild.getDependentEvents(), Arrays.<Event<?>>asList(event));
+    }
+    
+    @Test
+    public void testDependencyCachesAreKeptUpToDate()
+    {
+        Event<EventArgs> event = getNewEvent(), child = getNewEvent(), grandchild = getNewEvent();
+        EventListener<EventArgs> listener = getListener(), otherListener = getListener();
+        
+        Converger<Object, EventArgs, EventArgs> argsGetter = new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { return getNewArgs(); }
+        };
+        
+        event.register(child, argsGetter);
+        assertCollectionEquals("1.1", event.getDependentEvents(), Arrays.<Event<?>>asList(child));
+        assertCollectionEmpty ("1.2", event.getDependentListeners());
+        
+        // Changes further down have to be seen by events further up.
+        child.register(grandchild, argsGetter);
+        grandchild.register(listener);
+        assertCollectionEquals("2.1", event.getDependentEvents(), Arrays.<Event<?>>asList(child, grandchild));
+        assertCollectionEquals("2.2", event.getDependentListeners(), Arrays.<EventListener<?>>asList(listener));
+        
+        grandchild.register(otherListener);
+        assertCollectionEquals("3.1", event.getDependentListeners(), Arrays.<EventListener<?>>asList(listener, otherListener));
+        
+        grandchild.deregister(listener);
+        child.register(listener);
+        assertCollectionEquals("3.2", event.getThisAndDependentListeners(), Arrays.<EventListener<?>>asList(listener, otherListener));
+        assertCollectionEquals("3.3", event.getDirectlyDependentListeners(), Arrays.<EventListener<?>>asList(listener));
+        
+        child.deregister(grandchild);
+        assertCollectionEquals("4.1", event.getDependentEvents(), Arrays.<Event<?>>asList(child));
+        assertCollectionEquals("4.2", event.getDependentListeners(), Arrays.<EventListener<?>>asList(listener));
+        
+        final Collection<Event<? extends EventArgs>> dependants = event.getDependentEvents();
+        final Collection<EventListener<EventArgs>> listeners = child.getListeners();
+        
+        new ThrowableAssertion("5.1", UnsupportedOperationException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { dependants.clear(); }
+        };
+        
+        new ThrowableAssertion("5.2", UnsupportedOperationException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { listeners.clear(); }
+        };
+    }
+    
     public EventListener<EventArgs> getCancellingListener()
     {
         return new EventListener<EventArgs>()
@@ -1,5 +1,17 @@
 package com.enkigaming.lib.events;
 
+import com.enkigaming.lib.encapsulatedfunctions.Converger;
+import com.enkigaming.lib.misc.MutableWrapper;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.junit.Ignore;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
 public class StandardEventTest extends EventTest
 {
     @Override
@@ -9,4 +21,228 @@ public class StandardEventTest extends EventTest
     @Override
     public EventArgs getNewArgs()
     { return new StandardEventArgs(); }
-}
\ No newline at end of file
+    
+    void raise(Event<EventArgs> event)
+    {
+        EventArgs args = getNewArgs();
+        event.raise(this, args);
+        event.raisePostEvent(this, args);
+    }
+    
+    @Test
+    public void testWeakListeners()
+    {
+        StandardEvent<EventArgs> event = new StandardEvent<EventArgs>();
+        StandardEvent<EventArgs> parentEvent = new StandardEvent<EventArgs>();
+        parentEvent.register(event, new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { return getNewArgs(); }
+        });
+        
+        MutableWrapper<Boolean> kept = new MutableWrapper<Boolean>(false);
+        EventListener<EventArgs> keptListener = getListenerThatSetsFlagToTrue(kept);
+        EventListener<EventArgs> collectedListener = getListener();
+        WeakReference<EventListener<EventArgs>> collectedProbe = new WeakReference<EventListener<EventArgs>>(collectedListener);
+        
+        event.registerWeakly(keptListener);
+        event.registerWeakly(collectedListener, ListenerPriority.Late);
+        event.registerWeakly(collectedListener, ListenerPriority.Late);
+        
+        assertEquals("1.1", 2, event.getListeners().size());
+        assertEquals("1.2", 2, parentEvent.getReachableListenerCount());
+        
+        raise(parentEvent);
+        assertTrue("1.3", kept.get());
+        
+        // Weakly registered listeners can be deregistered by the listener itself.
+        assertSame  ("2.1", keptListener, event.deregister(keptListener));
+        assertEquals("2.2", 1, event.getListeners().size());
+        
+        collectedListener = null;
+        
+        for(int i = 0; i < 50 && collectedProbe.get() != null; i++)
+            System.gc();
+        
+        assertNull("3.1", collectedProbe.get());
+        
+        // Garbage collected listeners are purged when the event's listeners are next gathered for a raise.
+        for(int i = 0; i < 50 && event.getCollectedListenerCount() == 0; i++)
+        {
+            raise(parentEvent);
+            
+            try
+            { Thread.sleep(10); }
+            catch(InterruptedException exception)
+            { Thread.currentThread().interrupt(); }
+        }
+        
+        assertEquals("3.2", 1, event.getCollectedListenerCount());
+        assertEquals("3.3", 0, event.getListeners().size());
+        assertEquals("3.4", 0, parentEvent.getReachableListenerCount());
+        assertEquals("3.5", 0, event.getReachableListenerCount());
+    }
+    
+    @Test
+    public void testDiamondDependencies()
+    {
+        Converger<Object, EventArgs, EventArgs> argsGetter = new Converger<Object, EventArgs, EventArgs>()
+        {
+            @Override
+            public EventArgs get(Object first, EventArgs second)
+            { return getNewArgs(); }
+        };
+        
+        // A stack of diamonds: each level's event has two dependants, which share a single dependant of their own. The
+        // bottom event is reachable from the top by 2^levels paths.
+        int levels = 24;
+        StandardEvent<EventArgs> top = new StandardEvent<EventArgs>(), bottom = top;
+        
+        for(int i = 0; i < levels; i++)
+        {
+            StandardEvent<EventArgs> left = new StandardEvent<EventArgs>(), right = new StandardEvent<EventArgs>();
+            StandardEvent<EventArgs> next = new StandardEvent<EventArgs>();
+            bottom.register(left, argsGetter);
+            bottom.register(right, argsGetter);
+            left.register(next, argsGetter);
+            right.register(next, argsGetter);
+            bottom = next;
+        }
+        
+        long topVersion = top.dependencyVersion;
+        EventListener<EventArgs> listener = getListener();
+        bottom.register(listener);
+        
+        // Listeners are counted once per path, but each event's version only moves on once per change.
+        assertEquals("1.1", 1 << levels, top.getReachableListenerCount());
+        assertEquals("1.2", 1, bottom.getReachableListenerCount());
+        assertEquals("1.3", topVersion + 1, top.dependencyVersion);
+        
+        bottom.deregister(listener);
+        
+        assertEquals("2.1", 0, top.getReachableListenerCount());
+        assertEquals("2.2", topVersion + 2, top.dependencyVersion);
+    }
+    
+    EventListener<EventArgs> getListenerThatRecords(final List<String> calls, final String name, final long sleepMillis)
+    {
+        return new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs args)
+            {
+                if(sleepMillis > 0)
+                {
+                    try
+                    { Thread.sleep(sleepMillis); }
+                    catch(InterruptedException exception)
+                    { Thread.currentThread().interrupt(); }
+                }
+                
+                calls.add(name + (Thread.currentThread() instanceof ForkJoinWorkerThread ? "@pool" : ""));
+            }
+        };
+    }
+    
+    @Test
+    public void testParallelMonitorListeners()
+    {
+        final StandardEvent<EventArgs> event = new StandardEvent<EventArgs>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ListenerTimings timings = new ListenerTimings();
+        List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+        
+        event.setMonitorListenerPool(pool);
+        event.setListenerTimings(timings);
+        assertTrue("1.1", event.isCallingMonitorListenersInParallel());
+        
+        EventListener<EventArgs> slowMonitor = getListenerThatRecords(calls, "monitor", 20);
+        event.register(getListenerThatRecords(calls, "normal", 0), ListenerPriority.Normal);
+        event.register(slowMonitor, ListenerPriority.Monitor);
+        event.register(getListenerThatRecords(calls, "monitor", 0), ListenerPriority.Monitor);
+        event.register(getListenerThatRecords(calls, "laterMonitor", 0), 5.5);
+        event.register(getListenerThatRecords(calls, "laterMonitor", 0), 5.5);
+        event.register(getListenerThatRecords(calls, "post", 0), ListenerPriority.Post);
+        
+        raise(event);
+        
+        // The slow Monitor listener's band has to finish before the next band starts.
+        assertEquals("2.1", 6, calls.size());
+        assertEquals("2.2", "normal", calls.get(0));
+        assertEquals("2.3", Collections.nCopies(2, "monitor@pool"), calls.subList(1, 3));
+        assertEquals("2.4", Collections.nCopies(2, "laterMonitor@pool"), calls.subList(3, 5));
+        assertEquals("2.5", "post", calls.get(5));
+        
+        assertEquals("3.1", 6, timings.getTimings().size());
+        assertEquals("3.2", 1, timings.getTiming(slowMonitor).getCallCount());
+        assertTrue  ("3.3", timings.getTiming(slowMonitor).getMaxNanos() >= 20000000L);
+        assertEquals("3.4", 2, timings.getParallelBandCount());
+        
+        final RuntimeException thrown = new IllegalStateException();
+        event.register(new EventListener<EventArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, EventArgs args)
+            { throw thrown; }
+        }, ListenerPriority.Monitor);
+        
+        try
+        {
+            raise(event);
+            fail("4.1");
+        }
+        catch(IllegalStateException exception)
+        { assertSame("4.2", thrown, exception); }
+        
+        event.setMonitorListenerPool(null);
+        assertFalse("5.1", event.isCallingMonitorListenersInParallel());
+        calls.clear();
+        event.deregister(slowMonitor);
+        
+        try
+        { raise(event); }
+        catch(IllegalStateException exception)
+        { }
+        
+        assertFalse("5.2", calls.contains("monitor@pool"));
+        pool.shutdown();
+    }
+    
+    @Test
+    @Ignore("Benchmark, timing dependent. Run by hand.")
+    public void benchmarkParallelMonitorListeners()
+    {
+        int listenerCount = 8, raiseCount = 20;
+        StandardEvent<EventArgs> event = new StandardEvent<EventArgs>();
+        ForkJoinPool pool = new ForkJoinPool(listenerCount);
+        ListenerTimings timings = new ListenerTimings();
+        List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+        
+        for(int i = 0; i < listenerCount; i++)
+            event.register(getListenerThatRecords(calls, "monitor", 2), ListenerPriority.Monitor);
+        
+        long start = System.nanoTime();
+        
+        for(int i = 0; i < raiseCount; i++)
+            raise(event);
+        
+        long sequentialNanos = System.nanoTime() - start;
+        
+        event.setMonitorListenerPool(pool);
+        event.setListenerTimings(timings);
+        start = System.nanoTime();
+        
+        for(int i = 0; i < raiseCount; i++)
+            raise(event);
+        
+        long parallelNanos = System.nanoTime() - start;
+        pool.shutdown();
+        
+        assertEquals("1", listenerCount * raiseCount * 2, calls.size());
+        assertEquals("2", raiseCount, timings.getParallelBandCount());
+        assertTrue("3: sequential " + sequentialNanos / 1000000 + "ms, parallel " + parallelNanos / 1000000
+                   + "ms, recorded speedup " + String.format("%.2f", timings.getParallelSpeedup()) + "x",
+                   parallelNanos < sequentialNanos);
+    }
+}
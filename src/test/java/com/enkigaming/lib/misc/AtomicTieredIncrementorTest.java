@@ -0,0 +1,131 @@
+package com.enkigaming.lib.misc;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.math.BigInteger;
+import java.util.Random;
+
+public class AtomicTieredIncrementorTest
+{
+    /**
+     * Gets the expected tier values for the passed linear value, wrapping around the product of the tiers' radices.
+     */
+    static int[] expectedValues(int[] mins, int[] maxes, BigInteger linearValue)
+    {
+        BigInteger total = BigInteger.ONE;
+        
+        for(int i = 0; i < mins.length; i++)
+            total = total.multiply(BigInteger.valueOf((long)maxes[i] - mins[i] + 1));
+        
+        BigInteger remaining = linearValue.mod(total);
+        int[] values = new int[mins.length];
+        
+        for(int i = 0; i < mins.length; i++)
+        {
+            BigInteger[] divided = remaining.divideAndRemainder(BigInteger.valueOf((long)maxes[i] - mins[i] + 1));
+            values[i] = divided[1].intValue() + mins[i];
+            remaining = divided[0];
+        }
+        
+        return values;
+    }
+    
+    static void checkAgainstModel(String msg, int[] mins, int[] maxes, boolean shouldBePacked)
+    {
+        AtomicTieredIncrementor incrementor = new AtomicTieredIncrementor(mins, maxes);
+        Random random = new Random(28);
+        BigInteger linearValue = BigInteger.ZERO;
+        
+        assertEquals(msg + ".packed", shouldBePacked, incrementor.isPacked());
+        
+        for(int i = 0; i < 2000; i++)
+        {
+            switch(random.nextInt(4))
+            {
+                case 0:
+                    incrementor.increment();
+                    linearValue = linearValue.add(BigInteger.ONE);
+                    break;
+                case 1:
+                    incrementor.decrement();
+                    linearValue = linearValue.subtract(BigInteger.ONE);
+                    break;
+                case 2:
+                {
+                    long amount = random.nextLong();
+                    incrementor.add(amount);
+                    linearValue = linearValue.add(BigInteger.valueOf(amount));
+                } break;
+                case 3:
+                {
+                    int tier = random.nextInt(mins.length);
+                    long amount = random.nextInt();
+                    incrementor.add(tier, amount);
+                    
+                    BigInteger weight = BigInteger.ONE;
+                    
+                    for(int j = 0; j < tier; j++)
+                        weight = weight.multiply(BigInteger.valueOf((long)maxes[j] - mins[j] + 1));
+                    
+                    linearValue = linearValue.add(weight.multiply(BigInteger.valueOf(amount)));
+                } break;
+            }
+            
+            assertArrayEquals(msg + "." + i, expectedValues(mins, maxes, linearValue),
+                              incrementor.getValuesAsArray());
+        }
+    }
+    
+    @Test
+    public void testPacked()
+    {
+        checkAgainstModel("1", new int[] { 0, 0, 0 }, new int[] { 19, 59, 23 }, true);
+        checkAgainstModel("2", new int[] { -5, 10, 0 }, new int[] { 5, 10, Integer.MAX_VALUE }, true);
+    }
+    
+    @Test
+    public void testSegmented()
+    {
+        checkAgainstModel("1", new int[] { 0, 0, 0 }, new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE,
+                                                                  Integer.MAX_VALUE }, false);
+        
+        checkAgainstModel("2", new int[] { Integer.MIN_VALUE, 0, Integer.MIN_VALUE, 3 },
+                               new int[] { Integer.MAX_VALUE, 1, Integer.MAX_VALUE, 7 }, false);
+    }
+    
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException
+    {
+        final AtomicTieredIncrementor packed = new AtomicTieredIncrementor(new int[] { 9, 9, 9, 9, 9, 9 });
+        final AtomicTieredIncrementor segmented
+            = new AtomicTieredIncrementor(new int[] { 9, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE });
+        
+        Thread[] threads = new Thread[4];
+        
+        for(int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    for(int j = 0; j < 25000; j++)
+                    {
+                        packed.increment();
+                        segmented.increment();
+                        segmented.getValuesAsArray();
+                    }
+                }
+            };
+            
+            threads[i].start();
+        }
+        
+        for(Thread i : threads)
+            i.join();
+        
+        assertArrayEquals("1", new int[] { 0, 0, 0, 0, 0, 1 }, packed.getValuesAsArray());
+        assertArrayEquals("2", new int[] { 0, 10000, 0, 0 }, segmented.getValuesAsArray());
+        assertEquals("3", "1.0.0.0.0.0", packed.toString());
+    }
+}
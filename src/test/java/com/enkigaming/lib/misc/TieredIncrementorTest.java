@@ -0,0 +1,134 @@
+package com.enkigaming.lib.misc;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Random;
+
+public class TieredIncrementorTest
+{
+    static TieredIncrementor randomIncrementor(Random random)
+    {
+        int tierCount = 1 + random.nextInt(4);
+        int[] mins = new int[tierCount];
+        int[] maxes = new int[tierCount];
+        
+        for(int i = 0; i < tierCount; i++)
+        {
+            mins[i] = random.nextInt(11) - 5;
+            maxes[i] = mins[i] + random.nextInt(6);
+        }
+        
+        return new TieredIncrementor(mins, maxes);
+    }
+    
+    static TieredIncrementor copyOf(TieredIncrementor source)
+    {
+        int tierCount = source.getTierCount();
+        int[] mins = new int[tierCount];
+        int[] maxes = new int[tierCount];
+        
+        for(int i = 0; i < tierCount; i++)
+        {
+            mins[i] = source.getMin(i);
+            maxes[i] = source.getMax(i);
+        }
+        
+        TieredIncrementor copy = new TieredIncrementor(mins, maxes);
+        
+        for(int i = 0; i < tierCount; i++)
+            copy.setValue(i, source.getValue(i));
+        
+        return copy;
+    }
+    
+    @Test
+    public void testAddMatchesRepeatedIncrements()
+    {
+        Random random = new Random(29);
+        
+        for(int i = 0; i < 500; i++)
+        {
+            TieredIncrementor incremented = randomIncrementor(random);
+            incremented.fromLinearValue(random.nextInt(1000));
+            TieredIncrementor added = copyOf(incremented);
+            
+            int tier = random.nextInt(incremented.getTierCount());
+            int amount = random.nextInt(2000);
+            
+            for(int j = 0; j < amount; j++)
+                incremented.increment(tier);
+            
+            added.add(tier, amount);
+            assertEquals("add." + i, incremented.getValues(), added.getValues());
+            
+            TieredIncrementor subtracted = copyOf(added);
+            
+            for(int j = 0; j < amount; j++)
+                incremented.decrement(tier);
+            
+            subtracted.subtract(tier, amount);
+            added.add(tier, -amount);
+            assertEquals("subtract." + i, incremented.getValues(), subtracted.getValues());
+            assertEquals("negativeAdd." + i, incremented.getValues(), added.getValues());
+        }
+    }
+    
+    @Test
+    public void testLinearValue()
+    {
+        Random random = new Random(2929);
+        
+        for(int i = 0; i < 500; i++)
+        {
+            TieredIncrementor incrementor = randomIncrementor(random);
+            TieredIncrementor incremented = copyOf(incrementor);
+            
+            long totalStates = 1;
+            
+            for(int j = 0; j < incrementor.getTierCount(); j++)
+                totalStates *= incrementor.getMax(j) - incrementor.getMin(j) + 1;
+            
+            int amount = random.nextInt(2000);
+            
+            for(int j = 0; j < amount; j++)
+                incremented.increment();
+            
+            incrementor.fromLinearValue(amount);
+            assertEquals("from." + i, incremented.getValues(), incrementor.getValues());
+            assertEquals("to." + i, amount % totalStates, incrementor.toLinearValue());
+            
+            incrementor.fromLinearValue(-1);
+            assertEquals("negative." + i, totalStates - 1, incrementor.toLinearValue());
+        }
+    }
+    
+    @Test
+    public void testLargeAmounts()
+    {
+        TieredIncrementor clock = new TieredIncrementor(new int[] { 59, 59, 23, 6 });
+        
+        clock.add(Long.MAX_VALUE);
+        assertEquals("1", Long.MAX_VALUE % (60 * 60 * 24 * 7), clock.toLinearValue());
+        
+        TieredIncrementor incrementor = new TieredIncrementor(3);
+        
+        incrementor.add(Long.MAX_VALUE);
+        assertEquals("2", Long.MAX_VALUE, incrementor.toLinearValue());
+        
+        incrementor.subtract(Long.MIN_VALUE);
+        incrementor.add(Long.MIN_VALUE);
+        assertEquals("3", Long.MAX_VALUE, incrementor.toLinearValue());
+        
+        incrementor.add(2, 1);
+        
+        try
+        {
+            incrementor.toLinearValue();
+            fail("4");
+        }
+        catch(ArithmeticException e)
+        { }
+        
+        assertEquals("5", "2.2147483647.2147483647", incrementor.toString());
+    }
+}
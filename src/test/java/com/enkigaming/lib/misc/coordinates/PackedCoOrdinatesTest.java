@@ -0,0 +1,42 @@
+package com.enkigaming.lib.misc.coordinates;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.enkigaming.lib.misc.coordinates.PackedCoOrdinates.*;
+import java.util.Random;
+
+public class PackedCoOrdinatesTest
+{
+    @Test
+    public void testRoundTrips()
+    {
+        Random random = new Random(333);
+        
+        int[][] blocks = { { 0, 0, 0 }, { -1, -1, -1 }, { 30000000, 255, -30000000 },
+                           { (1 << 25) - 1, (1 << 11) - 1, -(1 << 25) }, { -(1 << 25), -(1 << 11), (1 << 25) - 1 } };
+        
+        for(int[] i : blocks)
+        {
+            long packed = packBlock(i[0], i[1], i[2]);
+            assertArrayEquals("block", i, new int[] { unpackBlockX(packed), unpackBlockY(packed), unpackBlockZ(packed) });
+        }
+        
+        for(int i = 0; i < 10000; i++)
+        {
+            int world = random.nextInt(1 << 20) - (1 << 19);
+            int x = random.nextInt(1 << 22) - (1 << 21);
+            int z = random.nextInt(1 << 22) - (1 << 21);
+            long packed = packChunk(world, x, z);
+            
+            assertEquals("chunk.world." + i, world, unpackChunkWorldId(packed));
+            assertEquals("chunk.x." + i, x, unpackChunkX(packed));
+            assertEquals("chunk.z." + i, z, unpackChunkZ(packed));
+        }
+        
+        assertEquals("offset", packChunk(-1, 5, -7), offsetChunk(packChunk(-1, 4, -6), 1, -1));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfRange()
+    { packBlock(0, 1 << 11, 0); }
+}
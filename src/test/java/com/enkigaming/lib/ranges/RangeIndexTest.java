@@ -0,0 +1,142 @@
+package com.enkigaming.lib.ranges;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.enkigaming.lib.testing.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+public class RangeIndexTest
+{
+    static List<Range<Integer>> makeRandomRanges(Random random, int count, int spread, int maxLength)
+    {
+        List<Range<Integer>> ranges = new ArrayList<Range<Integer>>();
+        
+        for(int i = 0; i < count; i++)
+        {
+            int min = random.nextInt(spread);
+            int max = min + random.nextInt(maxLength) + 1;
+            
+            ranges.add(new ValueRange<Integer>(min, random.nextBoolean(), max, random.nextBoolean()));
+        }
+        
+        return ranges;
+    }
+    
+    static Collection<Range<Integer>> linearScanContaining(Collection<Range<Integer>> ranges, int value)
+    {
+        Collection<Range<Integer>> results = new ArrayList<Range<Integer>>();
+        
+        for(Range<Integer> i : ranges)
+            if(i.contains(value))
+                results.add(i);
+        
+        return results;
+    }
+    
+    static Collection<Range<Integer>> linearScanOverlapping(Collection<Range<Integer>> ranges, Range<Integer> other)
+    {
+        Collection<Range<Integer>> results = new ArrayList<Range<Integer>>();
+        
+        for(Range<Integer> i : ranges)
+            if(i.overlapsWith(other))
+                results.add(i);
+        
+        return results;
+    }
+    
+    @Test
+    public void testStabbingQueries()
+    {
+        Range<Integer> low  = new ValueRange<Integer>(0, 10);
+        Range<Integer> mid  = new ValueRange<Integer>(5, false, 15, true);
+        Range<Integer> high = new ValueRange<Integer>(15, 20);
+        Range<Integer> gap  = new ExclusiveRange<Integer>(Arrays.<FlatRange<Integer>>asList(
+                                  new ValueRange<Integer>(0, 2), new ValueRange<Integer>(18, 30)));
+        
+        RangeIndex<Integer> index = new RangeIndex<Integer>(Arrays.asList(low, mid, high, gap));
+        
+        assertEquals("1", 4, index.size());
+        assertCollectionEquals("2", index.getRangesContaining(1),  Arrays.asList(low, gap));
+        assertCollectionEquals("3", index.getRangesContaining(5),  Arrays.asList(low));
+        assertCollectionEquals("4", index.getRangesContaining(6),  Arrays.asList(low, mid));
+        assertCollectionEquals("5", index.getRangesContaining(15), Arrays.asList(mid, high));
+        assertCollectionEquals("6", index.getRangesContaining(19), Arrays.asList(high, gap));
+        assertCollectionEmpty ("7", index.getRangesContaining(31));
+        assertFalse           ("8", index.anyContain(-1));
+        assertTrue            ("9", index.anyContain(25));
+        
+        assertTrue            ("10", index.remove(mid));
+        assertFalse           ("11", index.remove(mid));
+        assertCollectionEquals("12", index.getRangesContaining(15), Arrays.asList(high));
+        assertTrue            ("13", index.remove(gap));
+        assertCollectionEmpty ("14", index.getRangesContaining(25));
+    }
+    
+    @Test
+    public void testAgainstLinearScan()
+    {
+        Random random = new Random(26);
+        List<Range<Integer>> ranges = makeRandomRanges(random, 2000, 10000, 200);
+        RangeIndex<Integer> index = new RangeIndex<Integer>(ranges);
+        
+        for(int i = 0; i < 500; i++)
+        {
+            // Remove and re-add some ranges as we go, to exercise rebalancing.
+            Range<Integer> toReplace = ranges.remove(random.nextInt(ranges.size()));
+            assertTrue(index.remove(toReplace));
+            
+            if(random.nextBoolean())
+            {
+                Range<Integer> replacement = makeRandomRanges(random, 1, 10000, 200).get(0);
+                ranges.add(replacement);
+                index.add(replacement);
+            }
+            
+            int value = random.nextInt(10400) - 200;
+            assertCollectionEquals("Containing " + value, index.getRangesContaining(value),
+                                   linearScanContaining(ranges, value));
+            
+            Range<Integer> other = makeRandomRanges(random, 1, 10000, 50).get(0);
+            assertCollectionEquals("Overlapping " + i, index.getRangesOverlapping(other),
+                                   linearScanOverlapping(ranges, other));
+        }
+        
+        assertEquals(ranges.size(), index.size());
+    }
+    
+    @Test
+    @Ignore("Benchmark, timing dependent. Run by hand.")
+    public void benchmarkAgainstLinearScan()
+    {
+        Random random = new Random(2600);
+        List<Range<Integer>> ranges = makeRandomRanges(random, 20000, 1000000, 500);
+        RangeIndex<Integer> index = new RangeIndex<Integer>(ranges);
+        int[] values = new int[2000];
+        
+        for(int i = 0; i < values.length; i++)
+            values[i] = random.nextInt(1000000);
+        
+        long matches = 0;
+        long start = System.nanoTime();
+        
+        for(int i : values)
+            matches += linearScanContaining(ranges, i).size();
+        
+        long linearTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        
+        for(int i : values)
+            matches -= index.getRangesContaining(i).size();
+        
+        long indexTime = System.nanoTime() - start;
+        
+        assertEquals("1", 0, matches);
+        assertTrue("2: linear scan " + (linearTime / 1000000) + "ms, index " + (indexTime / 1000000) + "ms",
+                   indexTime < linearTime);
+    }
+}
@@ -0,0 +1,70 @@
+package com.enkigaming.lib.ranges;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RangeSplitIteratorTest
+{
+    static <T extends Comparable<T>> void assertPiecesEqual(String msg, List<Range<T>> pieces, List<Range<T>> expected)
+    {
+        assertEquals(msg + ".size", expected.size(), pieces.size());
+        
+        for(int i = 0; i < expected.size(); i++)
+            assertTrue(msg + "." + i, expected.get(i).coversTheSameValuesAs(pieces.get(i)));
+    }
+    
+    @Test
+    public void testPieces()
+    {
+        ValueRange<Integer> range = new ValueRange<Integer>(0, false, 100, true);
+        
+        assertPiecesEqual("1", range.splitLazilyBy(-5, 0, 10, 50, 100, 150).toList(),
+                          Arrays.<Range<Integer>>asList(new ValueRange<Integer>(0, false, 10, true),
+                                                        new ValueRange<Integer>(10, 50),
+                                                        new ValueRange<Integer>(50, true, 100, true)));
+        
+        assertPiecesEqual("2", range.splitLazilyBy(new ArrayList<Integer>()).toList(),
+                          Arrays.<Range<Integer>>asList(range));
+        
+        assertPiecesEqual("3", range.splitBy(50, 10), range.splitLazilyBy(10, 50).toList());
+        assertPiecesEqual("4", range.splitBy(Arrays.asList(50, 10)), range.splitLazilyBy(10, 50).toList());
+        
+        ValueRange<Long> longRange = new ValueRange<Long>(0L, 1000L);
+        
+        assertPiecesEqual("5", RangeSplitIterator.ofSorted(longRange, new long[] { 250, 500, 750 }).toList(),
+                          Arrays.<Range<Long>>asList(new ValueRange<Long>(0L, 250L),
+                                                     new ValueRange<Long>(250L, 500L),
+                                                     new ValueRange<Long>(500L, 750L),
+                                                     new ValueRange<Long>(750L, 1000L)));
+    }
+    
+    @Test
+    public void testTrySplit()
+    {
+        int[] splitPoints = new int[999];
+        
+        for(int i = 0; i < splitPoints.length; i++)
+            splitPoints[i] = (i + 1) * 10;
+        
+        ValueRange<Integer> range = new ValueRange<Integer>(0, 10000);
+        List<Range<Integer>> expected = RangeSplitIterator.ofSorted(range, splitPoints).toList();
+        
+        RangeSplitIterator<Integer> suffix = RangeSplitIterator.ofSorted(range, splitPoints);
+        RangeSplitIterator<Integer> prefix = suffix.trySplit();
+        RangeSplitIterator<Integer> prefixOfPrefix = prefix.trySplit();
+        
+        assertEquals("1", 1000, prefixOfPrefix.getRemainingCount() + prefix.getRemainingCount()
+                                + suffix.getRemainingCount());
+        
+        List<Range<Integer>> pieces = new ArrayList<Range<Integer>>();
+        pieces.addAll(prefixOfPrefix.toList());
+        pieces.addAll(prefix.toList());
+        pieces.addAll(suffix.toList());
+        
+        assertPiecesEqual("2", pieces, expected);
+        assertNull("3", suffix.trySplit());
+    }
+}
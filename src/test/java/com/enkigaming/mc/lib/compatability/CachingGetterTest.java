@@ -0,0 +1,138 @@
+package com.enkigaming.mc.lib.compatability;
+
+import java.util.UUID;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CachingGetterTest
+{
+    static class CountingGetter implements CompatabilityAccess.Getter
+    {
+        int playersMade = 0, blocksMade = 0, worldsMade = 0;
+        
+        @Override
+        public EnkiPlayer getPlayer(final UUID playerId)
+        {
+            playersMade++;
+            
+            return new EnkiPlayer()
+            {
+                @Override
+                public UUID getId()
+                { return playerId; }
+                
+                @Override
+                public String getUsername()
+                { return null; }
+                
+                @Override
+                public String getDisplayName()
+                { return null; }
+                
+                @Override
+                public Object getPlatformSpecificInstance()
+                { return null; }
+                
+                @Override
+                public Integer getWorldId()
+                { return 0; }
+                
+                @Override
+                public void teleportTo(int worldId, int x, int y, int z)
+                { }
+            };
+        }
+        
+        @Override
+        public EnkiBlock getBlock(int worldId, int x, int y, int z)
+        {
+            blocksMade++;
+            return new EnkiBlock(worldId, x, y, z) { };
+        }
+        
+        @Override
+        public EnkiWorld getWorld(int worldId)
+        {
+            worldsMade++;
+            
+            return new EnkiWorld(worldId)
+            {
+                @Override
+                public Object getPlatformSpecificInstance()
+                { return null; }
+                
+                @Override
+                public String getName()
+                { return null; }
+            };
+        }
+    }
+    
+    @Test
+    public void testCacheHits()
+    {
+        CountingGetter source = new CountingGetter();
+        CachingGetter getter = new CachingGetter(source, 64);
+        UUID playerId = UUID.randomUUID();
+        
+        EnkiPlayer player = getter.getPlayer(playerId);
+        assertSame  ("1.1", player, getter.getPlayer(playerId));
+        assertEquals("1.2", 1, source.playersMade);
+        
+        EnkiWorld world = getter.getWorld(3);
+        assertSame  ("2.1", world, getter.getWorld(3));
+        assertNotSame("2.2", world, getter.getWorld(4));
+        assertEquals("2.3", 2, source.worldsMade);
+        
+        EnkiBlock block = getter.getBlock(3, 10, 64, -20);
+        assertSame  ("3.1", block, getter.getBlock(3, 10, 64, -20));
+        assertEquals("3.2", 1, source.blocksMade);
+        
+        // A different block in the same world, or the same position in another world, is a different block.
+        assertEquals("3.3", 11, getter.getBlock(3, 11, 64, -20).getX());
+        assertEquals("3.4", 4, getter.getBlock(4, 10, 64, -20).getWorldId());
+        assertEquals("3.5", 3, source.blocksMade);
+    }
+    
+    @Test
+    public void testWorldInvalidation()
+    {
+        CountingGetter source = new CountingGetter();
+        CachingGetter getter = new CachingGetter(source, 64);
+        
+        EnkiWorld unloaded = getter.getWorld(3), kept = getter.getWorld(4);
+        EnkiBlock unloadedBlock = getter.getBlock(3, 1, 2, 3), keptBlock = getter.getBlock(4, 5, 6, 7);
+        
+        assertSame("1.1", unloaded, getter.invalidateWorld(3));
+        assertNull("1.2", getter.invalidateWorld(3));
+        
+        // The unloaded world and its blocks are gotten anew, and the other world's are kept.
+        assertNotSame("2.1", unloaded, getter.getWorld(3));
+        assertNotSame("2.2", unloadedBlock, getter.getBlock(3, 1, 2, 3));
+        assertSame   ("2.3", kept, getter.getWorld(4));
+        assertSame   ("2.4", keptBlock, getter.getBlock(4, 5, 6, 7));
+        assertEquals ("2.5", 3, source.worldsMade);
+        assertEquals ("2.6", 3, source.blocksMade);
+    }
+    
+    @Test
+    public void testClear()
+    {
+        CountingGetter source = new CountingGetter();
+        CachingGetter getter = new CachingGetter(source, 64);
+        UUID playerId = UUID.randomUUID();
+        
+        EnkiPlayer player = getter.getPlayer(playerId);
+        EnkiWorld world = getter.getWorld(0);
+        EnkiBlock block = getter.getBlock(0, 1, 2, 3);
+        
+        getter.clear();
+        
+        assertNotSame("1", player, getter.getPlayer(playerId));
+        assertNotSame("2", world, getter.getWorld(0));
+        assertNotSame("3", block, getter.getBlock(0, 1, 2, 3));
+        assertEquals ("4", 2, source.playersMade);
+        assertEquals ("5", 2, source.worldsMade);
+        assertEquals ("6", 2, source.blocksMade);
+    }
+}
@@ -0,0 +1,116 @@
+package com.enkigaming.mc.lib.compatability;
+
+import com.enkigaming.lib.events.exceptions.NoSuchUsernameException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class UsernameResolutionServiceTest
+{
+    static class MapResolver implements UsernameResolver
+    {
+        final Map<String, UUID> ids = new HashMap<String, UUID>();
+        final Map<UUID, String> names = new HashMap<UUID, String>();
+        int lookups = 0;
+        
+        MapResolver with(String name, UUID id)
+        {
+            ids.put(name, id);
+            names.put(id, name);
+            return this;
+        }
+        
+        @Override
+        public UUID getIdForName(String username)
+        {
+            lookups++;
+            return ids.get(username);
+        }
+        
+        @Override
+        public String getNameForId(UUID playerId)
+        {
+            lookups++;
+            return names.get(playerId);
+        }
+    }
+    
+    @Test
+    public void testChain() throws Exception
+    {
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        MapResolver first = new MapResolver().with("Alice", alice);
+        MapResolver second = new MapResolver().with("Bob", bob).with("Alice", UUID.randomUUID());
+        UsernameResolutionService service = new UsernameResolutionService(Executors.newSingleThreadExecutor(),
+                                                                          first, second);
+        
+        assertEquals("1", alice, service.resolveId("Alice"));
+        assertEquals("2", bob, service.resolveId("Bob"));
+        assertEquals("3", "Bob", service.resolveName(bob));
+        assertNull("4", service.resolveName(UUID.randomUUID()));
+        
+        try
+        {
+            service.resolveId("Carol");
+            fail("5");
+        }
+        catch(NoSuchUsernameException exception)
+        { assertEquals("6", "Carol", exception.getName()); }
+        
+        assertEquals("7", alice, service.resolveIdAsync("Alice").get());
+        assertEquals("8", "Alice", service.resolveNameAsync(alice).get());
+        
+        try
+        {
+            service.resolveIdAsync("Carol").get();
+            fail("9");
+        }
+        catch(ExecutionException exception)
+        { assertTrue("10", exception.getCause() instanceof NoSuchUsernameException); }
+        
+        service.addResolver(new OfflineUsernameResolver());
+        assertEquals("11", new OfflineUsernameResolver().getIdForName("Carol"), service.resolveId("Carol"));
+        assertEquals("12", 3, service.getResolvers().size());
+        service.shutdown();
+    }
+    
+    @Test
+    public void testBatch() throws Exception
+    {
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        MapResolver first = new MapResolver().with("Alice", alice);
+        MapResolver second = new MapResolver().with("Bob", bob);
+        UsernameResolutionService service = new UsernameResolutionService(Executors.newSingleThreadExecutor(),
+                                                                          first, second);
+        
+        Map<String, UUID> ids = service.resolveIdsAsync(Arrays.asList("Alice", "Bob", "Carol")).get();
+        assertEquals("1", 2, ids.size());
+        assertEquals("2", alice, ids.get("Alice"));
+        assertEquals("3", bob, ids.get("Bob"));
+        
+        // The second resolver is only asked about the names the first couldn't resolve.
+        assertEquals("4", 3, first.lookups);
+        assertEquals("5", 2, second.lookups);
+        
+        Map<UUID, String> names = service.resolveNamesAsync(Arrays.asList(alice, bob)).get();
+        assertEquals("6", "Alice", names.get(alice));
+        assertEquals("7", "Bob", names.get(bob));
+        service.shutdown();
+    }
+    
+    @Test
+    public void testOfflineResolver()
+    {
+        OfflineUsernameResolver resolver = new OfflineUsernameResolver();
+        UUID id = resolver.getIdForName("Notch");
+        
+        assertEquals("1", 3, id.version());
+        assertEquals("2", id, resolver.getIdForName("Notch"));
+        assertNull("3", resolver.getNameForId(id));
+    }
+}
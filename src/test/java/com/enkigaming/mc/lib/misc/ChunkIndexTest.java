@@ -0,0 +1,71 @@
+package com.enkigaming.mc.lib.misc;
+
+import com.enkigaming.lib.collections.LongHashSet;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.enkigaming.lib.misc.coordinates.PackedCoOrdinates.packChunk;
+import java.util.Random;
+
+public class ChunkIndexTest
+{
+    @Test
+    public void testAdjacencyAndRegions()
+    {
+        ChunkIndex index = new ChunkIndex();
+        
+        // Two separate regions in world 0, an L shape and a single chunk, and a chunk in world 1 next to the L.
+        index.add(0, 0, 0);
+        index.add(0, 1, 0);
+        index.add(0, 2, 0);
+        index.add(0, 2, 1);
+        index.add(0, 5, 5);
+        index.add(1, 0, 1);
+        
+        assertTrue("1", index.isNextToAny(0, 0, 1));
+        assertEquals("2", 2, index.countNeighbours(0, 1, 1));
+        assertEquals("3", 3, index.countNeighbours(0, 1, 0) + index.countNeighbours(0, 2, 1));
+        assertFalse("4", index.isNextToAny(0, 4, 4));
+        assertFalse("5", index.isNextToAny(2, 0, 1));
+        
+        assertEquals("6", new LongHashSet(packChunk(0, 0, 0), packChunk(0, 1, 0), packChunk(0, 2, 0),
+                                          packChunk(0, 2, 1)), index.getConnectedRegion(0, 0, 0));
+        assertEquals("7", new LongHashSet(packChunk(0, 5, 5)), index.getConnectedRegion(0, 5, 5));
+        assertTrue("8", index.getConnectedRegion(0, 3, 3).isEmpty());
+    }
+    
+    @Test
+    public void testAreaQueriesAgainstLinearScan()
+    {
+        Random random = new Random(34);
+        ChunkIndex index = new ChunkIndex();
+        
+        for(int i = 0; i < 3000; i++)
+            index.add(random.nextInt(2), random.nextInt(200) - 100, random.nextInt(200) - 100);
+        
+        for(int i = 0; i < 200; i++)
+        {
+            int world = random.nextInt(2);
+            int x = random.nextInt(240) - 120, z = random.nextInt(240) - 120;
+            
+            // Alternate between small areas, which are checked position by position, and large ones, which are
+            // checked chunk by chunk.
+            int size = i % 2 == 0 ? random.nextInt(10) : 60 + random.nextInt(60);
+            
+            LongHashSet expectedBox = new LongHashSet(), expectedRadius = new LongHashSet();
+            
+            for(int cx = -120; cx <= 120; cx++)
+                for(int cz = -120; cz <= 120; cz++)
+                    if(index.contains(world, cx, cz))
+                    {
+                        if(cx >= x && cx <= x + size && cz >= z && cz <= z + size)
+                            expectedBox.add(packChunk(world, cx, cz));
+                        
+                        if((cx - x) * (cx - x) + (cz - z) * (cz - z) <= size * size)
+                            expectedRadius.add(packChunk(world, cx, cz));
+                    }
+            
+            assertEquals("box." + i, expectedBox, index.getChunksInBox(world, x, z, x + size, z + size));
+            assertEquals("radius." + i, expectedRadius, index.getChunksInRadius(world, x, z, size));
+        }
+    }
+}
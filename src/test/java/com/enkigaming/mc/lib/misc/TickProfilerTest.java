@@ -0,0 +1,41 @@
+package com.enkigaming.mc.lib.misc;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TickProfilerTest
+{
+    @Test
+    public void testStats()
+    {
+        TickProfiler profiler = new TickProfiler(100);
+        
+        // 1ms to 200ms, so that only the last 100 (101ms to 200ms) are in the window.
+        for(int i = 1; i <= 200; i++)
+            profiler.recordDuration("phase", i * 1000000L);
+        
+        TickProfiler.PhaseStats stats = profiler.getStats("phase");
+        
+        assertEquals("1", 200, stats.getTotalCount());
+        assertEquals("2", 100, stats.getSampleCount());
+        assertEquals("3", 150.0, stats.getP50Millis(), 0.0001);
+        assertEquals("4", 199.0, stats.getP99Millis(), 0.0001);
+        assertEquals("5", 200.0, stats.getMaxMillis(), 0.0001);
+        assertNull("6", profiler.getStats("other"));
+        
+        profiler.setEnabled(false);
+        profiler.record("other", profiler.start());
+        assertNull("7", profiler.getStats("other"));
+        
+        profiler.setEnabled(true);
+        profiler.record("other", profiler.start());
+        assertEquals("8", 1, profiler.getStats("other").getTotalCount());
+        
+        String report = profiler.getReport();
+        assertEquals("9", 3, report.split(System.lineSeparator()).length);
+        assertTrue("10", report.contains("phase"));
+        
+        profiler.reset();
+        assertTrue("11", profiler.getAllStats().isEmpty());
+    }
+}
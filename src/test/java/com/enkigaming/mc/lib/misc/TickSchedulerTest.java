@@ -0,0 +1,162 @@
+package com.enkigaming.mc.lib.misc;
+
+import com.enkigaming.lib.events.EventListener;
+import com.enkigaming.mc.lib.misc.TickCountdownTimer.FinishedArgs;
+import com.enkigaming.mc.lib.misc.TickCountdownTimer.TickedArgs;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class TickSchedulerTest
+{
+    static class RecordingTask implements Runnable
+    {
+        RecordingTask(TickScheduler scheduler)
+        { this.scheduler = scheduler; }
+        
+        final TickScheduler scheduler;
+        final List<Long> ranOn = new ArrayList<Long>();
+        
+        @Override
+        public void run()
+        { ranOn.add(scheduler.getCurrentTick()); }
+    }
+    
+    @Test
+    public void testTasksRunWhenDue()
+    {
+        Random random = new Random(35);
+        TickScheduler scheduler = new TickScheduler();
+        List<RecordingTask> tasks = new ArrayList<RecordingTask>();
+        List<Long> delays = new ArrayList<Long>();
+        List<TickScheduler.ScheduledTask> cancelled = new ArrayList<TickScheduler.ScheduledTask>();
+        
+        // Delays spread across several levels of the wheel, scheduled at different points in its rotation.
+        for(int round = 0; round < 3; round++)
+        {
+            for(int i = 0; i < 2000; i++)
+            {
+                RecordingTask task = new RecordingTask(scheduler);
+                long delay = 1 + random.nextInt(random.nextBoolean() ? 100 : 300000);
+                TickScheduler.ScheduledTask scheduled = scheduler.schedule(delay, task);
+                
+                if(i % 10 == 0)
+                {
+                    assertTrue("cancel", scheduled.cancel());
+                    cancelled.add(scheduled);
+                    delays.add(-1L);
+                }
+                else
+                    delays.add(scheduler.getCurrentTick() + delay);
+                
+                tasks.add(task);
+            }
+            
+            for(int i = 0; i < 4099; i++)
+                scheduler.tick();
+        }
+        
+        while(scheduler.getScheduledCount() > 0)
+            scheduler.tick();
+        
+        for(int i = 0; i < tasks.size(); i++)
+        {
+            if(delays.get(i) < 0)
+                assertTrue("cancelled." + i, tasks.get(i).ranOn.isEmpty());
+            else
+                assertEquals("ran." + i, delays.subList(i, i + 1), tasks.get(i).ranOn);
+        }
+        
+        for(TickScheduler.ScheduledTask i : cancelled)
+            assertFalse("cancelTwice", i.cancel());
+    }
+    
+    @Test
+    public void testRepeatingTasks()
+    {
+        TickScheduler scheduler = new TickScheduler();
+        RecordingTask task = new RecordingTask(scheduler);
+        TickScheduler.ScheduledTask scheduled = scheduler.scheduleRepeating(5, 100, task);
+        
+        for(int i = 0; i < 405; i++)
+            scheduler.tick();
+        
+        scheduled.cancel();
+        
+        for(int i = 0; i < 500; i++)
+            scheduler.tick();
+        
+        assertEquals("1", Arrays.asList(5L, 105L, 205L, 305L, 405L), task.ranOn);
+        assertEquals("2", 0, scheduler.getScheduledCount());
+    }
+    
+    @Test
+    public void testCancelAll()
+    {
+        TickScheduler scheduler = new TickScheduler();
+        RecordingTask once = new RecordingTask(scheduler), repeating = new RecordingTask(scheduler);
+        TickScheduler.ScheduledTask scheduledOnce = scheduler.schedule(100000, once);
+        TickScheduler.ScheduledTask scheduledRepeating = scheduler.scheduleRepeating(3, 5, repeating);
+        TickCountdownTimer timer = new TickCountdownTimer(3, scheduler);
+        timer.start();
+        
+        for(int i = 0; i < 10; i++)
+            scheduler.tick();
+        
+        assertEquals("1.1", 3, scheduler.cancelAll());
+        assertEquals("1.2", 0, scheduler.getScheduledCount());
+        assertTrue  ("1.3", scheduledOnce.isCancelled());
+        assertFalse ("1.4", scheduledRepeating.cancel());
+        assertEquals("1.5", 0, scheduledRepeating.getTicksRemaining());
+        
+        for(int i = 0; i < 200000; i++)
+            scheduler.tick();
+        
+        assertTrue  ("2.1", once.ranOn.isEmpty());
+        assertEquals("2.2", Arrays.asList(3L, 8L), repeating.ranOn);
+        
+        // Still usable afterwards, including by timers whose ticks were cancelled.
+        scheduler.schedule(2, once);
+        timer.start();
+        assertEquals("3.1", 2, scheduler.getScheduledCount());
+        scheduler.tick();
+        scheduler.tick();
+        assertEquals("3.2", Arrays.asList(scheduler.getCurrentTick()), once.ranOn);
+    }
+    
+    @Test
+    public void testCountdownTimer()
+    {
+        final TickScheduler scheduler = new TickScheduler();
+        TickCountdownTimer timer = new TickCountdownTimer(3, scheduler);
+        final List<Integer> secondsLeft = new ArrayList<Integer>();
+        final List<Long> finishedOn = new ArrayList<Long>();
+        
+        timer.timerTicked.register(new EventListener<TickedArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, TickedArgs args)
+            { secondsLeft.add(args.getNumberOfSecondsLeft()); }
+        });
+        
+        timer.timerFinished.register(new EventListener<FinishedArgs>()
+        {
+            @Override
+            public void onEvent(Object sender, FinishedArgs args)
+            { finishedOn.add(scheduler.getCurrentTick()); }
+        });
+        
+        timer.start();
+        timer.start();
+        
+        for(int i = 0; i < 200; i++)
+            scheduler.tick();
+        
+        assertEquals("1", Arrays.asList(2, 1, 0), secondsLeft);
+        assertEquals("2", Arrays.asList(60L), finishedOn);
+        assertEquals("3", 0, scheduler.getScheduledCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.enkigaming.mc.lib.pvp;
+
+import com.enkigaming.mc.lib.pvp.PvpGame.PlayerGameState;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PlayerStateStoreTest
+{
+    @Test
+    public void testStates()
+    {
+        PlayerStateStore<PlayerGameState> store = new PlayerStateStore<PlayerGameState>(PlayerGameState.class);
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID(), third = UUID.randomUUID();
+        
+        assertNull("1", store.put(first, PlayerGameState.inLobby));
+        store.putAll(Arrays.asList(second, third), PlayerGameState.inLobby);
+        assertEquals("2", 3, store.getCountInState(PlayerGameState.inLobby));
+        assertEquals("3", 0, store.getCountInState(PlayerGameState.inGame));
+        
+        assertEquals("4", PlayerGameState.inLobby, store.put(first, PlayerGameState.inGame));
+        assertEquals("5", new HashSet<UUID>(Arrays.asList(first)), store.getPlayersInState(PlayerGameState.inGame));
+        assertEquals("6", 2, store.getCountInState(PlayerGameState.inLobby));
+        
+        assertFalse("7", store.transition(first, PlayerGameState.inLobby, PlayerGameState.inGame));
+        assertTrue("8", store.transition(second, PlayerGameState.inLobby, PlayerGameState.inGame));
+        assertEquals("9", PlayerGameState.inGame, store.getState(second));
+        
+        List<UUID> moved = store.transitionAll(PlayerGameState.inGame, PlayerGameState.inLobby);
+        assertEquals("10", new HashSet<UUID>(Arrays.asList(first, second)), new HashSet<UUID>(moved));
+        assertEquals("11", 3, store.getCountInState(PlayerGameState.inLobby));
+        assertTrue("12", store.getPlayersInState(PlayerGameState.inGame).isEmpty());
+        assertEquals("13", PlayerGameState.inLobby, store.getState(first));
+        
+        assertEquals("14", PlayerGameState.inLobby, store.remove(third));
+        assertNull("15", store.remove(third));
+        assertFalse("16", store.contains(third));
+        assertEquals("17", 2, store.size());
+        assertEquals("18", 2, store.getCountInState(PlayerGameState.inLobby));
+        
+        store.clear();
+        assertEquals("19", 0, store.size());
+        assertEquals("20", 0, store.getCountInState(PlayerGameState.inLobby));
+    }
+    
+    @Test
+    public void testConcurrentChanges() throws InterruptedException
+    {
+        final PlayerStateStore<PlayerGameState> store = new PlayerStateStore<PlayerGameState>(PlayerGameState.class);
+        Thread[] threads = new Thread[4];
+        
+        for(int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for(int j = 0; j < 1000; j++)
+                    {
+                        UUID playerId = UUID.randomUUID();
+                        store.put(playerId, PlayerGameState.inLobby);
+                        
+                        if(j % 2 == 0)
+                            store.transition(playerId, PlayerGameState.inLobby, PlayerGameState.inGame);
+                        
+                        if(j % 5 == 0)
+                            store.remove(playerId);
+                    }
+                }
+            });
+            
+            threads[i].start();
+        }
+        
+        for(Thread thread : threads)
+            thread.join();
+        
+        assertEquals("1", 3200, store.size());
+        assertEquals("2", 1600, store.getCountInState(PlayerGameState.inLobby));
+        assertEquals("3", 1600, store.getCountInState(PlayerGameState.inGame));
+    }
+}
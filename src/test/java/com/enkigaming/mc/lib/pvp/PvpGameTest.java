@@ -0,0 +1,44 @@
+package com.enkigaming.mc.lib.pvp;
+
+import com.enkigaming.mc.lib.pvp.PvpGame.GameState;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PvpGameTest
+{
+    @Test
+    public void testSubStates()
+    {
+        GameState inGame = new GameState("InGame");
+        GameState inRound = new GameState("InRound");
+        GameState inDeathMatch = new GameState("InDeathMatch");
+        GameState inSuddenDeath = new GameState("InSuddenDeath");
+        GameState waiting = new GameState("Waiting");
+        
+        inDeathMatch.addAsSubStateTo(inRound);
+        inSuddenDeath.addAsSubStateTo(inDeathMatch);
+        
+        // Added after the lower levels, so the closure of everything below has to be carried up.
+        inGame.addSubStates(Arrays.asList(inRound));
+        
+        assertTrue("1", inGame.hasSubState(inRound));
+        assertTrue("2", inGame.hasSubState(inDeathMatch));
+        assertTrue("3", inGame.hasSubState(inSuddenDeath));
+        assertTrue("4", inRound.hasSubState(inSuddenDeath));
+        assertFalse("5", inSuddenDeath.hasSubState(inGame));
+        assertFalse("6", inGame.hasSubState(inGame));
+        assertFalse("7", inGame.hasSubState(waiting));
+        
+        assertTrue("8", inSuddenDeath.isSubStateOf(inGame));
+        assertTrue("9", inSuddenDeath.isOrIsSubStateOf(inSuddenDeath));
+        assertFalse("10", waiting.isOrIsSubStateOf(inGame));
+        
+        // A state added to a second parent gains that parent's ancestors too.
+        GameState inOvertime = new GameState("InOvertime");
+        inDeathMatch.addAsSubStateTo(inOvertime);
+        assertTrue("11", inOvertime.hasSubState(inSuddenDeath));
+        assertTrue("12", inSuddenDeath.isSubStateOf(inOvertime));
+        assertFalse("13", inOvertime.hasSubState(inRound));
+    }
+}
@@ -0,0 +1,107 @@
+package com.enkigaming.mcforge.lib.registry;
+
+import com.enkigaming.lib.exceptions.NullArgumentException;
+import com.enkigaming.lib.testing.ThrowableAssertion;
+import java.util.UUID;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OnlinePlayerIndexTest
+{
+    static class Player
+    {
+        Player(UUID id, String name)
+        {
+            this.id = id;
+            this.name = name;
+        }
+        
+        final UUID id;
+        final String name;
+    }
+    
+    static class PlayerIndex extends OnlinePlayerIndex<Player>
+    {
+        @Override
+        protected UUID getIdOf(Player player)
+        { return player.id; }
+        
+        @Override
+        protected String getNameOf(Player player)
+        { return player.name; }
+    }
+    
+    @Test
+    public void testLookups()
+    {
+        PlayerIndex index = new PlayerIndex();
+        Player alice = new Player(UUID.randomUUID(), "Alice"), bob = new Player(UUID.randomUUID(), "Bob");
+        
+        index.recordPlayer(alice);
+        index.recordPlayer(bob);
+        
+        assertSame  ("1.1", alice, index.getPlayer(alice.id));
+        assertSame  ("1.2", alice, index.getPlayer("ALICE"));
+        assertEquals("1.3", bob.id, index.getIdForName("bob"));
+        assertEquals("1.4", "Bob", index.getNameForId(bob.id));
+        assertEquals("1.5", 2, index.getPlayerCount());
+        assertNull  ("1.6", index.getPlayer("Carol"));
+        assertNull  ("1.7", index.getIdForName("Carol"));
+        assertNull  ("1.8", index.getNameForId(UUID.randomUUID()));
+        
+        index.removePlayer(alice);
+        assertFalse("2.1", index.isOnline(alice.id));
+        assertNull ("2.2", index.getPlayer("Alice"));
+        
+        index.clear();
+        assertEquals("3", 0, index.getPlayerCount());
+    }
+    
+    @Test
+    public void testReplacedPlayers()
+    {
+        PlayerIndex index = new PlayerIndex();
+        UUID id = UUID.randomUUID();
+        Player before = new Player(id, "Alice"), respawned = new Player(id, "Alice"), renamed = new Player(id, "Alicia");
+        
+        index.recordPlayer(before);
+        index.recordPlayer(respawned);
+        
+        // Removing the entity the player had before respawning doesn't remove the one they have now.
+        index.removePlayer(before);
+        assertSame("1.1", respawned, index.getPlayer(id));
+        assertSame("1.2", respawned, index.getPlayer("alice"));
+        
+        index.recordPlayer(renamed);
+        assertNull("2.1", index.getPlayer("Alice"));
+        assertSame("2.2", renamed, index.getPlayer("Alicia"));
+        assertEquals("2.3", 1, index.getPlayerCount());
+    }
+    
+    @Test
+    public void testNullLookups()
+    {
+        final PlayerIndex index = new PlayerIndex();
+        
+        new ThrowableAssertion("1", NullArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { index.getPlayer((String)null); }
+        };
+        
+        new ThrowableAssertion("2", NullArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { index.getPlayer((UUID)null); }
+        };
+        
+        new ThrowableAssertion("3", NullArgumentException.class)
+        {
+            @Override
+            public void code() throws Throwable
+            { index.getIdForName(null); }
+        };
+    }
+}
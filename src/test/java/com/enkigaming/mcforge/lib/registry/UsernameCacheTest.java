@@ -0,0 +1,291 @@
+package com.enkigaming.mcforge.lib.registry;
+
+import com.enkigaming.lib.events.exceptions.NoSuchUsernameException;
+import com.enkigaming.mc.lib.compatability.UsernameResolutionService;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class UsernameCacheTest
+{
+    static class ClockedCache extends UsernameCache
+    {
+        public ClockedCache(File saveFolder, int maxEntries, long timeToLive)
+        { super(saveFolder, maxEntries, timeToLive, TimeUnit.MILLISECONDS); }
+        
+        long time = 1000;
+        
+        @Override
+        protected long currentTimeMillis()
+        { return time; }
+    }
+    
+    final List<File> folders = new ArrayList<File>();
+    
+    File makeFolder() throws IOException
+    {
+        File folder = File.createTempFile("UsernameCacheTest", "");
+        folder.delete();
+        folder.mkdirs();
+        folders.add(folder);
+        return folder;
+    }
+    
+    static void delete(File file)
+    {
+        File[] children = file.listFiles();
+        
+        if(children != null)
+            for(File child : children)
+                delete(child);
+        
+        file.delete();
+    }
+    
+    @After
+    public void deleteFolders()
+    {
+        for(File folder : folders)
+            delete(folder);
+        
+        folders.clear();
+    }
+    
+    @Test
+    public void testUnbounded() throws IOException
+    {
+        UsernameCache cache = new UsernameCache(makeFolder());
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        
+        cache.recordUsername(alice, "Alice");
+        cache.recordUsername(bob, "Bob");
+        cache.recordUsername(alice, "Alicia");
+        
+        assertFalse("1", cache.isBounded());
+        assertEquals("2", "Alicia", cache.getLastRecordedNameOf(alice));
+        assertNull("3", cache.getLastRecordedIDForName("Alice"));
+        assertEquals("4", bob, cache.getLastRecordedIDForName("Bob"));
+        assertEquals("5", 2, cache.getSize());
+        
+        // Bob's name is taken by Alice.
+        cache.recordUsername(alice, "Bob");
+        assertNull("6", cache.getLastRecordedNameOf(bob));
+        assertEquals("7", 1, cache.getSize());
+        assertEquals("8", 2, cache.getHitCount());
+        assertEquals("9", 2, cache.getMissCount());
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedEviction() throws IOException
+    {
+        ClockedCache cache = new ClockedCache(makeFolder(), 10, 0);
+        UUID[] ids = new UUID[11];
+        
+        for(int i = 0; i < 10; i++)
+        {
+            ids[i] = UUID.randomUUID();
+            cache.recordUsername(ids[i], "Player" + i);
+            cache.time++;
+        }
+        
+        // Player0 was recorded first, but is used most recently.
+        assertEquals("1", "Player0", cache.getLastRecordedNameOf(ids[0]));
+        cache.time++;
+        
+        ids[10] = UUID.randomUUID();
+        cache.recordUsername(ids[10], "Player10");
+        
+        // Evicts down to nine, so the two least recently used are evicted.
+        assertEquals("2", 9, cache.getSize());
+        assertEquals("3", 2, cache.getEvictionCount());
+        assertNotNull("4", cache.recordedUsernames.get(ids[0]));
+        assertNull("5", cache.recordedUsernames.get(ids[1]));
+        assertNull("6", cache.recordedUsernames.get(ids[2]));
+        
+        // Faulted back in from the cold store, both before and after it's written to disk.
+        assertEquals("7", "Player1", cache.getLastRecordedNameOf(ids[1]));
+        assertEquals("8", 1, cache.getColdHitCount());
+        cache.getFileHandler().save();
+        assertEquals("9", 0, cache.coldStore.getPendingCount());
+        assertEquals("10", ids[2], cache.getLastRecordedIDForName("Player2"));
+        assertEquals("11", 2, cache.getColdHitCount());
+        assertNull("12", cache.getLastRecordedIDForName("Nobody"));
+    }
+    
+    @Test
+    public void testOutOfDateColdEntries() throws IOException
+    {
+        ClockedCache cache = new ClockedCache(makeFolder(), 1, 0);
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        
+        cache.recordUsername(alice, "Alice");
+        cache.time++;
+        cache.recordUsername(bob, "Bob");
+        cache.getFileHandler().save();
+        
+        // Alice is evicted, then renamed, then evicted again. Her old name shouldn't be faulted back in.
+        cache.time++;
+        cache.recordUsername(alice, "Alicia");
+        cache.time++;
+        cache.recordUsername(bob, "Bob");
+        assertNull("1", cache.getLastRecordedIDForName("Alice"));
+        assertEquals("2", "Alicia", cache.getLastRecordedNameOf(alice));
+        
+        // Bob takes Alice's old name while she's in memory, so the cold store's entry for him is out of date.
+        cache.time++;
+        cache.recordUsername(bob, "Alicia");
+        assertNull("3", cache.getLastRecordedNameOf(alice));
+        
+        cache.removeCachedUsername("Alicia");
+        assertNull("4", cache.getLastRecordedNameOf(bob));
+        assertNull("5", cache.getLastRecordedIDForName("Bob"));
+    }
+    
+    @Test
+    public void testKnownMisses() throws IOException
+    {
+        ClockedCache cache = new ClockedCache(makeFolder(), 1, 0);
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        
+        cache.recordUsername(alice, "Alice");
+        
+        // Only the first lookup of a name that's nowhere reads from disk.
+        assertNull("1.1", cache.getLastRecordedIDForName("Bob"));
+        assertEquals("1.2", 0, cache.getKnownMissCount());
+        assertNull("1.3", cache.getLastRecordedIDForName("Bob"));
+        assertNull("1.4", cache.getLastRecordedNameOf(bob));
+        assertNull("1.5", cache.getLastRecordedNameOf(bob));
+        assertEquals("1.6", 2, cache.getKnownMissCount());
+        
+        // Once Bob is recorded and evicted to disk, he's no longer a known miss.
+        cache.time++;
+        cache.recordUsername(bob, "Bob");
+        cache.time++;
+        cache.recordUsername(alice, "Alice");
+        assertNull("2.1", cache.recordedUsernames.get(bob));
+        assertEquals("2.2", bob, cache.getLastRecordedIDForName("Bob"));
+        assertEquals("2.3", 1, cache.getColdHitCount());
+        assertEquals("2.4", 2, cache.getKnownMissCount());
+    }
+    
+    @Test
+    public void testTimeToLive() throws IOException
+    {
+        File folder = makeFolder();
+        ClockedCache cache = new ClockedCache(folder, 100, 50);
+        UUID alice = UUID.randomUUID(), bob = UUID.randomUUID();
+        
+        cache.recordUsername(alice, "Alice");
+        cache.time += 40;
+        cache.recordUsername(bob, "Bob");
+        cache.time += 20;
+        cache.getFileHandler().save();
+        
+        assertEquals("1", 1, cache.getSize());
+        assertEquals("2", 1, cache.getEvictionCount());
+        
+        // Reloaded from the saved cache, with Alice on disk.
+        ClockedCache reloaded = new ClockedCache(folder, 100, 50);
+        reloaded.getFileHandler().load();
+        assertEquals("3", 1, reloaded.getSize());
+        assertEquals("4", bob, reloaded.getLastRecordedIDForName("Bob"));
+        assertEquals("5", alice, reloaded.getLastRecordedIDForName("Alice"));
+        assertEquals("6", 2, reloaded.getSize());
+    }
+    
+    @Test
+    public void testCaseInsensitiveAndPrefixLookups() throws IOException
+    {
+        UsernameCache cache = new UsernameCache(makeFolder());
+        UUID alice = UUID.randomUUID(), alfred = UUID.randomUUID(), bob = UUID.randomUUID();
+        
+        cache.recordUsername(alice, "Alice");
+        cache.recordUsername(alfred, "alfred");
+        cache.recordUsername(bob, "Bob");
+        
+        assertNull("1", cache.getLastRecordedIDForName("ALICE"));
+        assertEquals("2", alice, cache.getLastRecordedIDForNameIgnoreCase("ALICE"));
+        assertEquals("3", alfred, cache.getLastRecordedIDForNameIgnoreCase("Alfred"));
+        
+        Map<String, UUID> found = cache.getRecordedNamesStartingWith("AL");
+        assertEquals("4", Arrays.asList("alfred", "Alice"), new ArrayList<String>(found.keySet()));
+        assertEquals("5", alice, found.get("Alice"));
+        assertEquals("6", Arrays.asList("alfred"), new ArrayList<String>(cache.getRecordedNamesStartingWith("a", 1).keySet()));
+        assertEquals("7", 3, cache.getRecordedNamesStartingWith("").size());
+        assertTrue("8", cache.getRecordedNamesStartingWith("c").isEmpty());
+        
+        // Kept up to date as names change and are removed.
+        cache.recordUsername(alice, "Alicia");
+        assertNull("9", cache.getLastRecordedIDForNameIgnoreCase("alice"));
+        assertEquals("10", alice, cache.getLastRecordedIDForNameIgnoreCase("ALICIA"));
+        
+        cache.removeCachedUsername("Alicia");
+        assertNull("11", cache.getLastRecordedIDForNameIgnoreCase("alicia"));
+        assertEquals("12", 1, cache.getRecordedNamesStartingWith("al").size());
+    }
+    
+    @Test
+    public void testNamesDifferingOnlyByCase() throws IOException
+    {
+        UsernameCache cache = new UsernameCache(makeFolder());
+        UUID upper = UUID.randomUUID(), lower = UUID.randomUUID();
+        
+        cache.recordUsername(upper, "Bob");
+        cache.recordUsername(lower, "bob");
+        
+        assertEquals("1.1", upper, cache.getLastRecordedIDForNameIgnoreCase("Bob"));
+        assertEquals("1.2", lower, cache.getLastRecordedIDForNameIgnoreCase("bob"));
+        assertNotNull("1.3", cache.getLastRecordedIDForNameIgnoreCase("BOB"));
+        assertEquals("1.4", 2, cache.getRecordedNamesStartingWith("b").size());
+        
+        // Renaming one leaves the other findable in any case.
+        cache.recordUsername(lower, "Robert");
+        assertEquals("2.1", upper, cache.getLastRecordedIDForNameIgnoreCase("bob"));
+        assertEquals("2.2", upper, cache.getLastRecordedIDForNameIgnoreCase("BOB"));
+        assertEquals("2.3", Arrays.asList("Bob"), new ArrayList<String>(cache.getRecordedNamesStartingWith("b").keySet()));
+        
+        cache.recordUsername(lower, "bob");
+        cache.removeCachedUsername("Bob");
+        assertEquals("3", lower, cache.getLastRecordedIDForNameIgnoreCase("BOB"));
+    }
+    
+    @Test
+    public void testUnknownNamesFailToResolve() throws Exception
+    {
+        // As in EnkiLib's default chain, which only ends with an offline resolver on servers in offline mode.
+        UsernameCache cache = new UsernameCache(makeFolder());
+        UsernameResolutionService service = new UsernameResolutionService(Executors.newSingleThreadExecutor(), cache);
+        UUID alice = UUID.randomUUID();
+        cache.recordUsername(alice, "Alice");
+        
+        assertEquals("1", alice, service.resolveId("Alice"));
+        
+        try
+        {
+            service.resolveId("Alcie");
+            fail("2.1");
+        }
+        catch(NoSuchUsernameException exception)
+        { assertEquals("2.2", "Alcie", exception.getName()); }
+        
+        try
+        {
+            service.resolveIdAsync("Alcie").get();
+            fail("3.1");
+        }
+        catch(ExecutionException exception)
+        { assertTrue("3.2", exception.getCause() instanceof NoSuchUsernameException); }
+        
+        service.shutdown();
+    }
+}